@@ -0,0 +1,126 @@
+package dev.rynko.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.GenerateRequest;
+import dev.rynko.models.ListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how {@code HttpClient} used to (de)serialize JSON, resolving the
+ * type and looking up the root (de)serializer on every call, with the cached
+ * {@link ObjectReader}s and {@link ObjectWriter}s it uses now.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec}; the default
+ * {@code -prof gc} reports allocation per operation as
+ * {@code gc.alloc.rate.norm}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final TypeReference<ListResponse<FlowRun>> RUN_LIST_TYPE =
+            new TypeReference<ListResponse<FlowRun>>() {};
+
+    private ObjectMapper objectMapper;
+    private ObjectReader runListReader;
+    private ObjectWriter generateWriter;
+    private byte[] runList;
+    private GenerateRequest generateRequest;
+
+    @Setup
+    public void setUp() {
+        // Configured like the SDK's mapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        runListReader = objectMapper.readerFor(RUN_LIST_TYPE);
+        generateWriter = objectMapper.writerFor(GenerateRequest.class);
+
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"run_").append(i).append("\",\"shortId\":\"r").append(i)
+                    .append("\",\"gateId\":\"gate_abc123\",\"status\":\"approved\",\"success\":true,")
+                    .append("\"input\":{\"amount\":").append(i * 10).append(",\"currency\":\"EUR\"},")
+                    .append("\"createdAt\":\"2026-01-01T00:00:00Z\",\"updatedAt\":\"2026-01-01T00:00:01Z\"}");
+        }
+        json.append("],\"meta\":{\"page\":1,\"limit\":20,\"total\":20,\"totalPages\":1}}");
+        runList = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("invoiceNumber", "INV-001");
+        variables.put("customerName", "Acme Corp");
+        variables.put("total", 1234.5);
+        generateRequest = GenerateRequest.builder()
+                .templateId("tmpl_invoice")
+                .format("pdf")
+                .variables(variables)
+                .build();
+    }
+
+    /**
+     * The old path: a new anonymous {@code TypeReference} per call, resolved
+     * to a {@code JavaType} and passed to the mapper.
+     */
+    @Benchmark
+    public ListResponse<FlowRun> readPerCallType() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(runList)) {
+            parser.nextToken();
+            return objectMapper.readValue(parser, objectMapper.getTypeFactory()
+                    .constructType(new TypeReference<ListResponse<FlowRun>>() {}));
+        }
+    }
+
+    @Benchmark
+    public ListResponse<FlowRun> readCachedReader() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(runList)) {
+            parser.nextToken();
+            return runListReader.readValue(parser);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeMapper() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        objectMapper.writeValue(out, generateRequest);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCachedWriter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generateWriter.writeValue(out, generateRequest);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,165 @@
+package dev.rynko.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.rynko.Rynko;
+import dev.rynko.RynkoConfig;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.ValidateGateRequest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code validateGate} and {@code waitForRun} calls from the executor of
+ * {@link Rynko#newVirtualThreadExecutor()} against a local server, with the
+ * default client and with {@code virtualThreads(true)}, and counts
+ * carrier-thread pinning with JFR.
+ *
+ * <p>Run on Java 21 with
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args=VirtualThreadPinningBenchmark};
+ * older JVMs run the calls on platform threads and record no pinning. The
+ * number of {@code jdk.VirtualThreadPinned} events is printed at the end of
+ * each trial. The server answers after a short delay so that many calls are
+ * blocked at the same time, and the SDK's concurrency limit keeps all but
+ * {@value #CONCURRENCY} of them parked in the client.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadPinningBenchmark {
+
+    private static final long SERVER_DELAY_MS = 20;
+    private static final int CONCURRENCY = 256;
+    private static final int CALLS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService executor;
+    private Rynko client;
+    private ValidateGateRequest request;
+    private Recording recording;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Rynko.newVirtualThreadExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/flow/", VirtualThreadPinningBenchmark::handle);
+        server.start();
+
+        RynkoConfig.Builder config = RynkoConfig.builder()
+                .apiKey("benchmark")
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1")
+                .virtualThreads(virtualThreads)
+                // Callers beyond the limit park in the SDK instead of opening more connections
+                .adaptiveConcurrency(true)
+                .initialConcurrencyLimit(CONCURRENCY)
+                .maxConcurrencyLimit(CONCURRENCY);
+        if (!virtualThreads) {
+            config.maxIdleConnections(CONCURRENCY);
+        }
+        client = new Rynko(config.build());
+        request = ValidateGateRequest.builder().payloadField("amount", 42).build();
+        executor = Rynko.newVirtualThreadExecutor();
+
+        recording = new Recording();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+        recording.start();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void validateAndWait() throws InterruptedException, ExecutionException {
+        List<Future<FlowRun>> results = new ArrayList<>(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            results.add(executor.submit(() -> {
+                FlowRun run = client.flow().validateGate("gate_bench", request);
+                return client.flow().waitForRun(run.getId(), 10, 10_000);
+            }));
+        }
+        for (Future<FlowRun> result : results) {
+            result.get();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        recording.stop();
+        Path file = Files.createTempFile("rynko-pinning", ".jfr");
+        try {
+            recording.dump(file);
+            long pinned = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if ("jdk.VirtualThreadPinned".equals(event.getEventType().getName())) {
+                    pinned++;
+                }
+            }
+            System.out.printf("%nvirtualThreads=%s: %d jdk.VirtualThreadPinned events%n", virtualThreads, pinned);
+        } finally {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        server.stop(0);
+        serverExecutor.shutdown();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(SERVER_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] discard = new byte[8192];
+            while (in.read(discard) != -1) {
+                // Read the request fully so the connection can be reused
+            }
+        }
+        String status = "POST".equals(exchange.getRequestMethod()) ? "validating" : "validated";
+        byte[] body = ("{\"id\":\"run_bench\",\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
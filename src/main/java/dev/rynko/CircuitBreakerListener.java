@@ -0,0 +1,24 @@
+package dev.rynko;
+
+/**
+ * Callback for circuit breaker state changes, for example to shed load
+ * upstream while an endpoint group is failing.
+ *
+ * <p>Called on the thread that caused the transition, which may be an
+ * OkHttp dispatcher thread. Implementations must be fast and must not
+ * block; exceptions they throw are ignored.</p>
+ *
+ * @since 1.5.0
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * Invoked after the circuit of an endpoint group changed state.
+     *
+     * @param group The endpoint group
+     * @param from  The previous state
+     * @param to    The new state
+     */
+    void onStateChange(EndpointGroup group, CircuitState from, CircuitState to);
+}
@@ -0,0 +1,18 @@
+package dev.rynko;
+
+/**
+ * States of a per-endpoint-group circuit breaker.
+ *
+ * @since 1.5.0
+ */
+public enum CircuitState {
+
+    /** Requests flow normally and outcomes are recorded. */
+    CLOSED,
+
+    /** Requests fail fast with a {@link dev.rynko.exceptions.CircuitBreakerOpenException}. */
+    OPEN,
+
+    /** A limited number of probe requests are let through to test recovery. */
+    HALF_OPEN
+}
@@ -0,0 +1,57 @@
+package dev.rynko;
+
+/**
+ * Point-in-time view of the adaptive concurrency limit of one endpoint group.
+ *
+ * @since 1.5.0
+ */
+public class ConcurrencyStats {
+
+    private final EndpointGroup group;
+    private final int limit;
+    private final int inFlight;
+    private final int waiting;
+
+    public ConcurrencyStats(EndpointGroup group, int limit, int inFlight, int waiting) {
+        this.group = group;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.waiting = waiting;
+    }
+
+    public EndpointGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * Returns the current concurrency limit, or 0 when adaptive concurrency
+     * is disabled and requests are not limited.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of requests waiting for a free slot.
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyStats{" +
+                "group=" + group +
+                ", limit=" + limit +
+                ", inFlight=" + inFlight +
+                ", waiting=" + waiting +
+                '}';
+    }
+}
@@ -0,0 +1,50 @@
+package dev.rynko;
+
+import java.net.URI;
+
+/**
+ * Groups of API endpoints that share client-side traffic controls.
+ *
+ * <p>Rate limits and other per-group settings in {@link RynkoConfig} are
+ * keyed by group, so heavy document generation cannot starve Flow or
+ * Extract traffic sent through the same client.</p>
+ *
+ * @since 1.5.0
+ */
+public enum EndpointGroup {
+
+    /** Document generation, jobs and batches ({@code /documents/...}). */
+    DOCUMENTS,
+
+    /** Flow gates, runs and approvals ({@code /api/flow/...}). */
+    FLOW,
+
+    /** Extract jobs, configs and discovery ({@code /api/extract/...}). */
+    EXTRACT,
+
+    /** Everything else, such as templates, webhooks and authentication. */
+    OTHER;
+
+    /**
+     * Returns the group a request URL belongs to.
+     *
+     * @param url The request URL
+     * @return The endpoint group, never null
+     */
+    public static EndpointGroup of(URI url) {
+        String path = url.getRawPath();
+        for (String segment : path != null ? path.split("/") : new String[0]) {
+            switch (segment) {
+                case "documents":
+                    return DOCUMENTS;
+                case "flow":
+                    return FLOW;
+                case "extract":
+                    return EXTRACT;
+                default:
+                    break;
+            }
+        }
+        return OTHER;
+    }
+}
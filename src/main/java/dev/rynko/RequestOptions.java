@@ -0,0 +1,248 @@
+package dev.rynko;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings that override the client configuration for some calls only, such
+ * as a short read timeout for status polls or a long write timeout for large
+ * uploads. Apply them with {@link Rynko#withOptions(RequestOptions)}.
+ *
+ * <pre>{@code
+ * Rynko polling = client.withOptions(RequestOptions.builder()
+ *         .readTimeoutMs(500)
+ *         .deadlineMs(2000)
+ *         .build());
+ * FlowRun run = polling.flow().getRun(runId);
+ * }</pre>
+ *
+ * <p>Settings left unset fall back to the {@link RynkoConfig} of the client.</p>
+ *
+ * @since 1.5.0
+ */
+public final class RequestOptions {
+
+    private final int readTimeoutMs;
+    private final int writeTimeoutMs;
+    private final long deadlineMs;
+    private final Map<String, String> headers;
+    private final Integer maxRetries;
+    private final Boolean retryEnabled;
+    private final String apiKey;
+    private final String workspaceId;
+
+    private RequestOptions(Builder builder) {
+        this.readTimeoutMs = builder.readTimeoutMs;
+        this.writeTimeoutMs = builder.writeTimeoutMs;
+        this.deadlineMs = builder.deadlineMs;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.maxRetries = builder.maxRetries;
+        this.retryEnabled = builder.retryEnabled;
+        this.apiKey = builder.apiKey;
+        this.workspaceId = builder.workspaceId;
+    }
+
+    /**
+     * Returns the read timeout of each attempt in milliseconds, or 0 to use
+     * the client's timeout.
+     */
+    public int getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    /**
+     * Returns the write timeout of each attempt in milliseconds, or 0 to use
+     * the client's timeout.
+     */
+    public int getWriteTimeoutMs() {
+        return writeTimeoutMs;
+    }
+
+    /**
+     * Returns the time a call may take across all attempts and backoff in
+     * milliseconds, or 0 to use the client's deadline.
+     */
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    /**
+     * Returns the headers added to every request.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the maximum number of attempts, or null to use the client's.
+     */
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns whether failed requests are retried, or null to use the
+     * client's setting.
+     */
+    public Boolean getRetryEnabled() {
+        return retryEnabled;
+    }
+
+    /**
+     * Returns the API key calls are made with, or null to use the client's.
+     */
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Returns the workspace requests default to, or null for the API key's
+     * current workspace.
+     */
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    /**
+     * Returns a builder initialized with these options.
+     */
+    public Builder newBuilder() {
+        Builder builder = new Builder();
+        builder.readTimeoutMs = readTimeoutMs;
+        builder.writeTimeoutMs = writeTimeoutMs;
+        builder.deadlineMs = deadlineMs;
+        builder.headers.putAll(headers);
+        builder.maxRetries = maxRetries;
+        builder.retryEnabled = retryEnabled;
+        builder.apiKey = apiKey;
+        builder.workspaceId = workspaceId;
+        return builder;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestOptions{" +
+                "readTimeoutMs=" + readTimeoutMs +
+                ", writeTimeoutMs=" + writeTimeoutMs +
+                ", deadlineMs=" + deadlineMs +
+                ", headers=" + headers.keySet() +
+                ", maxRetries=" + maxRetries +
+                ", retryEnabled=" + retryEnabled +
+                ", apiKey=" + (apiKey != null ? "***" : null) +
+                ", workspaceId=" + workspaceId +
+                '}';
+    }
+
+    public static class Builder {
+        private int readTimeoutMs;
+        private int writeTimeoutMs;
+        private long deadlineMs;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private Integer maxRetries;
+        private Boolean retryEnabled;
+        private String apiKey;
+        private String workspaceId;
+
+        /**
+         * Sets how long each attempt may wait for response data in
+         * milliseconds, overriding {@link RynkoConfig.Builder#timeoutMs(int)}.
+         */
+        public Builder readTimeoutMs(int readTimeoutMs) {
+            if (readTimeoutMs < 0) {
+                throw new IllegalArgumentException("readTimeoutMs must not be negative");
+            }
+            this.readTimeoutMs = readTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Sets how long each attempt may block sending request data in
+         * milliseconds, overriding {@link RynkoConfig.Builder#timeoutMs(int)}.
+         * Not every transport supports a write timeout.
+         */
+        public Builder writeTimeoutMs(int writeTimeoutMs) {
+            if (writeTimeoutMs < 0) {
+                throw new IllegalArgumentException("writeTimeoutMs must not be negative");
+            }
+            this.writeTimeoutMs = writeTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Limits each call, including all retries and the backoff between
+         * them, to this many milliseconds, overriding
+         * {@link RynkoConfig.Builder#deadlineMs(long)}.
+         */
+        public Builder deadlineMs(long deadlineMs) {
+            if (deadlineMs < 0) {
+                throw new IllegalArgumentException("deadlineMs must not be negative");
+            }
+            this.deadlineMs = deadlineMs;
+            return this;
+        }
+
+        /**
+         * Adds a header to every request, replacing a header of the same
+         * name set by the client.
+         */
+        public Builder header(String name, String value) {
+            headers.keySet().removeIf(name::equalsIgnoreCase);
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of retry attempts, overriding
+         * {@link RynkoConfig.Builder#maxRetries(int)}.
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 1) {
+                throw new IllegalArgumentException("maxRetries must be at least 1");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Enables or disables automatic retry, overriding
+         * {@link RynkoConfig.Builder#retryEnabled(boolean)}.
+         */
+        public Builder retryEnabled(boolean retryEnabled) {
+            this.retryEnabled = retryEnabled;
+            return this;
+        }
+
+        /**
+         * Makes calls with this API key instead of the client's, for
+         * example to act for one tenant of a multi-tenant client. See
+         * {@link Rynko#forTenant(String, String)}.
+         */
+        public Builder apiKey(String apiKey) {
+            if (apiKey == null || apiKey.isEmpty()) {
+                throw new IllegalArgumentException("apiKey must not be empty");
+            }
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Sets the workspace that requests with a {@code workspaceId} field,
+         * such as {@link dev.rynko.models.GenerateRequest} and
+         * {@link dev.rynko.models.CreateGateRequest}, default to when they
+         * leave it unset.
+         */
+        public Builder workspaceId(String workspaceId) {
+            this.workspaceId = workspaceId;
+            return this;
+        }
+
+        public RequestOptions build() {
+            return new RequestOptions(this);
+        }
+    }
+}
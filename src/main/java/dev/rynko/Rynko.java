@@ -8,6 +8,9 @@ import dev.rynko.resources.FlowResource;
 import dev.rynko.resources.TemplatesResource;
 import dev.rynko.resources.WebhooksResource;
 import dev.rynko.utils.HttpClient;
+import dev.rynko.utils.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
 
 /**
  * Rynko Java SDK client.
@@ -47,6 +50,7 @@ public class Rynko {
     private final FlowResource flow;
     private final TemplatesResource templates;
     private final WebhooksResource webhooks;
+    private final RynkoAsync async;
 
     /**
      * Creates a new Rynko client with the specified API key.
@@ -73,16 +77,129 @@ public class Rynko {
      * @param config Client configuration
      */
     public Rynko(RynkoConfig config) {
-        if (config.getApiKey() == null || config.getApiKey().isEmpty()) {
-            throw new IllegalArgumentException("API key is required");
-        }
+        this(newHttpClient(config));
+        httpClient.prewarm();
+    }
 
-        this.httpClient = new HttpClient(config);
+    private Rynko(HttpClient httpClient) {
+        this.httpClient = httpClient;
         this.documents = new DocumentsResource(httpClient);
         this.extract = new ExtractResource(httpClient);
         this.flow = new FlowResource(httpClient);
         this.templates = new TemplatesResource(httpClient);
         this.webhooks = new WebhooksResource(httpClient);
+        this.async = new RynkoAsync(httpClient);
+    }
+
+    /**
+     * Creates a client shared by many tenants, each with its own API key.
+     *
+     * <p>Unlike the constructors, this does not require an API key; make
+     * calls through {@link #forTenant(String, String)} views. All tenants share one
+     * connection pool, one set of dispatcher threads and one set of JSON
+     * serializers, and the views cost a few small objects each, so they can
+     * be created per call. Rate limits are tracked per API key, while the
+     * circuit breaker and retry budget, which protect the API as a whole,
+     * are shared. If {@code config} has an API key, calls made on the
+     * client itself use it.</p>
+     *
+     * <pre>{@code
+     * Rynko shared = Rynko.multiTenant(RynkoConfig.builder()
+     *         .maxIdleConnections(50)
+     *         .build());
+     *
+     * GenerateResult result = shared.forTenant(tenant.getApiKey(), tenant.getWorkspaceId())
+     *     .documents().generate(request);
+     * }</pre>
+     *
+     * @param config Client configuration
+     * @return A client whose calls, without an API key in {@code config},
+     *         throw {@link IllegalStateException} unless made through a tenant view
+     *         (async calls return a future failed with it)
+     * @since 1.5.0
+     */
+    public static Rynko multiTenant(RynkoConfig config) {
+        HttpClient httpClient = new HttpClient(config);
+        httpClient.prewarm();
+        return new Rynko(httpClient);
+    }
+
+    private static HttpClient newHttpClient(RynkoConfig config) {
+        if (config.getApiKey() == null || config.getApiKey().isEmpty()) {
+            throw new IllegalArgumentException("API key is required");
+        }
+        return new HttpClient(config);
+    }
+
+    /**
+     * Opens connections to the API and prepares the JSON (de)serializers of
+     * the common models, so that the first calls after startup do not pay
+     * for handshakes and reflection. Blocks until done.
+     *
+     * <p>Opens as many connections as
+     * {@link RynkoConfig.Builder#prewarmConnections(int)}, or one if that is
+     * not set. Network failures are ignored.</p>
+     *
+     * @since 1.5.0
+     */
+    public void warmUp() {
+        async.warmUp().join();
+    }
+
+    /**
+     * Returns a view of this client that applies the given options to every
+     * call made through it, for example a short read timeout for status
+     * polls or a long write timeout for large uploads.
+     *
+     * <p>The view shares this client's connection pool, limiters and
+     * settings, so it is cheap to create per call or keep per use case.
+     * Options replace those of this client, if it is itself a view.</p>
+     *
+     * <pre>{@code
+     * ExtractJob job = client.withOptions(RequestOptions.builder()
+     *         .writeTimeoutMs(300_000)
+     *         .header("X-Request-Id", requestId)
+     *         .build())
+     *     .extract().createJob(request);
+     * }</pre>
+     *
+     * @param options Options for calls made through the view
+     * @return A client view; its {@link #async()} view applies the options too
+     * @since 1.5.0
+     */
+    public Rynko withOptions(RequestOptions options) {
+        return new Rynko(httpClient.withOptions(options));
+    }
+
+    /**
+     * Returns a view of this client that makes calls with the given API key.
+     *
+     * @param apiKey The tenant's API key
+     * @return A client view sharing this client's connection pool and settings
+     * @see #forTenant(String, String)
+     * @since 1.5.0
+     */
+    public Rynko forTenant(String apiKey) {
+        return forTenant(apiKey, null);
+    }
+
+    /**
+     * Returns a view of this client that makes calls with the given API key
+     * and creates documents, gates and webhooks in the given workspace
+     * unless a request names another one.
+     *
+     * <p>The view keeps this client's {@link #withOptions(RequestOptions)
+     * options} and is cheap to create per call. Its {@link #async()} view
+     * uses the same API key.</p>
+     *
+     * @param apiKey      The tenant's API key
+     * @param workspaceId The tenant's default workspace, or null for the
+     *                    key's current workspace
+     * @return A client view sharing this client's connection pool and settings
+     * @since 1.5.0
+     */
+    public Rynko forTenant(String apiKey, String workspaceId) {
+        return new Rynko(httpClient.forTenant(apiKey, workspaceId));
     }
 
     /**
@@ -130,6 +247,19 @@ public class Rynko {
         return webhooks;
     }
 
+    /**
+     * Returns the asynchronous view of this client.
+     *
+     * <p>Async resources mirror the blocking ones but return
+     * {@link java.util.concurrent.CompletableFuture}s and never block the
+     * calling thread.</p>
+     *
+     * @return Async client sharing this client's connection pool and settings
+     */
+    public RynkoAsync async() {
+        return async;
+    }
+
     /**
      * Gets the current authenticated user.
      *
@@ -155,6 +285,56 @@ public class Rynko {
         }
     }
 
+    /**
+     * Returns the live adaptive concurrency counters of an endpoint group.
+     *
+     * @param group The endpoint group
+     * @return Current concurrency limit, in-flight and waiting request counts
+     * @see RynkoConfig.Builder#adaptiveConcurrency(boolean)
+     */
+    public ConcurrencyStats concurrencyStats(EndpointGroup group) {
+        return httpClient.getConcurrencyStats(group);
+    }
+
+    /**
+     * Returns the circuit breaker state of an endpoint group.
+     *
+     * @param group The endpoint group
+     * @return Current circuit state, always CLOSED when the breaker is disabled
+     * @see RynkoConfig.Builder#circuitBreaker(boolean)
+     */
+    public CircuitState circuitState(EndpointGroup group) {
+        return httpClient.getCircuitState(group);
+    }
+
+    /**
+     * Creates an executor that runs each task on its own virtual thread, for
+     * issuing large numbers of concurrent blocking calls.
+     *
+     * <p>Virtual threads need Java 21; on older JVMs the executor falls back
+     * to a cached pool of platform threads. Pair it with
+     * {@link RynkoConfig.Builder#virtualThreads(boolean)} so that waiting
+     * calls do not pin carrier threads. Shut the executor down when done.</p>
+     *
+     * <pre>{@code
+     * ExecutorService executor = Rynko.newVirtualThreadExecutor();
+     * try {
+     *     for (String gateId : gateIds) {
+     *         executor.submit(() -> client.flow().validateGate(gateId, request));
+     *     }
+     * } finally {
+     *     executor.shutdown();
+     * }
+     * executor.awaitTermination(1, TimeUnit.MINUTES);
+     * }</pre>
+     *
+     * @return A new executor
+     * @since 1.5.0
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        return VirtualThreads.newExecutor();
+    }
+
     /**
      * Creates a new builder for Rynko configuration.
      *
@@ -0,0 +1,142 @@
+package dev.rynko;
+
+import dev.rynko.models.ApiError;
+import dev.rynko.models.BatchStatusResult;
+import dev.rynko.models.ExtractJob;
+import dev.rynko.models.ExtractJobRequest;
+import dev.rynko.models.FlowGate;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.GenerateBatchRequest;
+import dev.rynko.models.GenerateBatchResult;
+import dev.rynko.models.GenerateRequest;
+import dev.rynko.models.GenerateResult;
+import dev.rynko.models.SubmitRunRequest;
+import dev.rynko.models.Template;
+import dev.rynko.models.User;
+import dev.rynko.resources.AsyncDocumentsResource;
+import dev.rynko.resources.AsyncExtractResource;
+import dev.rynko.resources.AsyncFlowResource;
+import dev.rynko.resources.AsyncTemplatesResource;
+import dev.rynko.resources.AsyncWebhooksResource;
+import dev.rynko.utils.HttpClient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous view of a {@link Rynko} client.
+ *
+ * <p>Shares the connection pool, configuration and retry settings of the
+ * client it was obtained from. Requests are dispatched without blocking the
+ * calling thread, so a small number of threads can drive many concurrent
+ * requests.</p>
+ *
+ * <h2>Example usage:</h2>
+ * <pre>{@code
+ * Rynko client = new Rynko("your-api-key");
+ *
+ * List<CompletableFuture<GenerateResult>> jobs = new ArrayList<>();
+ * for (GenerateRequest request : requests) {
+ *     jobs.add(client.async().documents().generate(request));
+ * }
+ * CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0])).join();
+ * }</pre>
+ *
+ * @since 1.5.0
+ */
+public class RynkoAsync {
+
+    // Request and response models of the most used calls
+    private static final Class<?>[] COMMON_MODELS = {
+            GenerateRequest.class, GenerateResult.class,
+            GenerateBatchRequest.class, GenerateBatchResult.class, BatchStatusResult.class,
+            SubmitRunRequest.class, FlowRun.class, FlowGate.class,
+            ExtractJobRequest.class, ExtractJob.class,
+            Template.class, ApiError.class
+    };
+
+    private final HttpClient httpClient;
+    private final AsyncDocumentsResource documents;
+    private final AsyncExtractResource extract;
+    private final AsyncFlowResource flow;
+    private final AsyncTemplatesResource templates;
+    private final AsyncWebhooksResource webhooks;
+
+    RynkoAsync(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.documents = new AsyncDocumentsResource(httpClient);
+        this.extract = new AsyncExtractResource(httpClient);
+        this.flow = new AsyncFlowResource(httpClient);
+        this.templates = new AsyncTemplatesResource(httpClient);
+        this.webhooks = new AsyncWebhooksResource(httpClient);
+    }
+
+    /**
+     * Returns the async Documents resource.
+     *
+     * @return Async documents resource
+     */
+    public AsyncDocumentsResource documents() {
+        return documents;
+    }
+
+    /**
+     * Returns the async Extract resource.
+     *
+     * @return Async extract resource
+     */
+    public AsyncExtractResource extract() {
+        return extract;
+    }
+
+    /**
+     * Returns the async Flow resource.
+     *
+     * @return Async flow resource
+     */
+    public AsyncFlowResource flow() {
+        return flow;
+    }
+
+    /**
+     * Returns the async Templates resource.
+     *
+     * @return Async templates resource
+     */
+    public AsyncTemplatesResource templates() {
+        return templates;
+    }
+
+    /**
+     * Returns the async Webhooks resource.
+     *
+     * @return Async webhooks resource
+     */
+    public AsyncWebhooksResource webhooks() {
+        return webhooks;
+    }
+
+    /**
+     * Opens connections to the API and prepares the JSON (de)serializers of
+     * the common models, so that the first calls after startup do not pay
+     * for handshakes and reflection.
+     *
+     * <p>Opens as many connections as
+     * {@link RynkoConfig.Builder#prewarmConnections(int)}, or one if that is
+     * not set. Network failures are ignored.</p>
+     *
+     * @return Future completing once warm-up has finished
+     */
+    public CompletableFuture<Void> warmUp() {
+        return httpClient.warmUp(COMMON_MODELS);
+    }
+
+    /**
+     * Gets the current authenticated user.
+     *
+     * @return Future completing with the authenticated user
+     */
+    public CompletableFuture<User> me() {
+        String authUrl = httpClient.getBaseUrlWithoutVersion() + "/api/auth/verify";
+        return httpClient.getAbsoluteAsync(authUrl, null, User.class);
+    }
+}
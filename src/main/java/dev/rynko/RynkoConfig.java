@@ -1,8 +1,17 @@
 package dev.rynko;
 
+import dev.rynko.metrics.MetricsListener;
+import dev.rynko.tracing.Tracer;
+import dev.rynko.transport.Transport;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -18,16 +27,69 @@ public class RynkoConfig {
     private static final int DEFAULT_MAX_JITTER_MS = 1000;
     private static final Set<Integer> DEFAULT_RETRYABLE_STATUSES =
         Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 503, 504)));
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_MS = 300000;
+    private static final int DEFAULT_MAX_REQUESTS = 64;
+    // All calls go to a single API host, so the per-host limit defaults to the overall limit
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    private static final long DEFAULT_MAX_RESPONSE_BYTES = 64L * 1024 * 1024;
+    private static final int DEFAULT_GZIP_THRESHOLD_BYTES = 16 * 1024;
+    private static final int DEFAULT_INITIAL_CONCURRENCY_LIMIT = 20;
+    private static final int DEFAULT_MIN_CONCURRENCY_LIMIT = 1;
+    private static final int DEFAULT_MAX_CONCURRENCY_LIMIT = 64;
+    private static final double DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 0.5;
+    private static final int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 20;
+    private static final long DEFAULT_CIRCUIT_BREAKER_WINDOW_MS = 30000;
+    private static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MS = 30000;
+    // virtualThreads(true) only switches to the JDK HTTP client where it exists (Java 11+)
+    private static final boolean JDK_HTTP_CLIENT = isPresent("java.net.http.HttpClient");
 
     private final String apiKey;
     private final String baseUrl;
     private final int timeoutMs;
     private final int maxRetries;
+    private final long deadlineMs;
     private final int initialDelayMs;
     private final int maxDelayMs;
     private final int maxJitterMs;
     private final Set<Integer> retryableStatuses;
     private final boolean retryEnabled;
+    private final boolean retryOnNetworkErrors;
+    private final boolean idempotencyKeys;
+    private final int maxIdleConnections;
+    private final long keepAliveMs;
+    private final int prewarmConnections;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final OkHttpClient okHttpClient;
+    private final ConnectionPool connectionPool;
+    private final Dns dns;
+    private final Transport transport;
+    private final boolean virtualThreads;
+    private final long maxResponseBytes;
+    private final boolean gzipRequests;
+    private final int gzipThresholdBytes;
+    private final Map<EndpointGroup, Double> rateLimits;
+    private final int rateLimitBurst;
+    private final boolean adaptiveConcurrency;
+    private final int initialConcurrencyLimit;
+    private final int minConcurrencyLimit;
+    private final int maxConcurrencyLimit;
+    private final boolean circuitBreakerEnabled;
+    private final double circuitBreakerFailureRateThreshold;
+    private final int circuitBreakerMinimumCalls;
+    private final long circuitBreakerWindowMs;
+    private final long circuitBreakerOpenDurationMs;
+    private final int circuitBreakerHalfOpenProbes;
+    private final CircuitBreakerListener circuitBreakerListener;
+    private final double retryBudgetRatio;
+    private final int retryBudgetMinRetriesPerSecond;
+    private final boolean hedgingEnabled;
+    private final double hedgingPercentile;
+    private final double hedgingMaxExtraLoad;
+    private final boolean coalesceGets;
+    private final MetricsListener metricsListener;
+    private final Tracer tracer;
 
     /**
      * Creates a configuration with the specified API key.
@@ -45,23 +107,56 @@ public class RynkoConfig {
      * @param baseUrl Custom API base URL
      */
     public RynkoConfig(String apiKey, String baseUrl) {
-        this(apiKey, baseUrl, DEFAULT_TIMEOUT_MS, DEFAULT_MAX_RETRIES,
-             DEFAULT_INITIAL_DELAY_MS, DEFAULT_MAX_DELAY_MS, DEFAULT_MAX_JITTER_MS,
-             DEFAULT_RETRYABLE_STATUSES, true);
+        this(new Builder().apiKey(apiKey).baseUrl(baseUrl));
     }
 
-    private RynkoConfig(String apiKey, String baseUrl, int timeoutMs, int maxRetries,
-                             int initialDelayMs, int maxDelayMs, int maxJitterMs,
-                             Set<Integer> retryableStatuses, boolean retryEnabled) {
-        this.apiKey = apiKey;
-        this.baseUrl = baseUrl != null ? baseUrl : DEFAULT_BASE_URL;
-        this.timeoutMs = timeoutMs;
-        this.maxRetries = maxRetries;
-        this.initialDelayMs = initialDelayMs;
-        this.maxDelayMs = maxDelayMs;
-        this.maxJitterMs = maxJitterMs;
-        this.retryableStatuses = retryableStatuses;
-        this.retryEnabled = retryEnabled;
+    private RynkoConfig(Builder builder) {
+        this.apiKey = builder.apiKey;
+        this.baseUrl = builder.baseUrl != null ? builder.baseUrl : DEFAULT_BASE_URL;
+        this.timeoutMs = builder.timeoutMs;
+        this.maxRetries = builder.maxRetries;
+        this.deadlineMs = builder.deadlineMs;
+        this.initialDelayMs = builder.initialDelayMs;
+        this.maxDelayMs = builder.maxDelayMs;
+        this.maxJitterMs = builder.maxJitterMs;
+        this.retryableStatuses = builder.retryableStatuses;
+        this.retryEnabled = builder.retryEnabled;
+        this.retryOnNetworkErrors = builder.retryOnNetworkErrors;
+        this.idempotencyKeys = builder.idempotencyKeys;
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAliveMs = builder.keepAliveMs;
+        this.prewarmConnections = builder.prewarmConnections;
+        this.maxRequests = builder.maxRequests;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        this.okHttpClient = builder.okHttpClient;
+        this.connectionPool = builder.connectionPool;
+        this.dns = builder.dns;
+        this.transport = builder.transport;
+        this.virtualThreads = builder.virtualThreads;
+        this.maxResponseBytes = builder.maxResponseBytes;
+        this.gzipRequests = builder.gzipRequests;
+        this.gzipThresholdBytes = builder.gzipThresholdBytes;
+        this.rateLimits = Collections.unmodifiableMap(new EnumMap<>(builder.rateLimits));
+        this.rateLimitBurst = builder.rateLimitBurst;
+        this.adaptiveConcurrency = builder.adaptiveConcurrency;
+        this.initialConcurrencyLimit = builder.initialConcurrencyLimit;
+        this.minConcurrencyLimit = builder.minConcurrencyLimit;
+        this.maxConcurrencyLimit = builder.maxConcurrencyLimit;
+        this.circuitBreakerEnabled = builder.circuitBreakerEnabled;
+        this.circuitBreakerFailureRateThreshold = builder.circuitBreakerFailureRateThreshold;
+        this.circuitBreakerMinimumCalls = builder.circuitBreakerMinimumCalls;
+        this.circuitBreakerWindowMs = builder.circuitBreakerWindowMs;
+        this.circuitBreakerOpenDurationMs = builder.circuitBreakerOpenDurationMs;
+        this.circuitBreakerHalfOpenProbes = builder.circuitBreakerHalfOpenProbes;
+        this.circuitBreakerListener = builder.circuitBreakerListener;
+        this.retryBudgetRatio = builder.retryBudgetRatio;
+        this.retryBudgetMinRetriesPerSecond = builder.retryBudgetMinRetriesPerSecond;
+        this.hedgingEnabled = builder.hedgingEnabled;
+        this.hedgingPercentile = builder.hedgingPercentile;
+        this.hedgingMaxExtraLoad = builder.hedgingMaxExtraLoad;
+        this.coalesceGets = builder.coalesceGets;
+        this.metricsListener = builder.metricsListener;
+        this.tracer = builder.tracer;
     }
 
     public String getApiKey() {
@@ -80,6 +175,14 @@ public class RynkoConfig {
         return maxRetries;
     }
 
+    /**
+     * Returns the time a call may take across all attempts and backoff, or
+     * 0 for no limit.
+     */
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
     public int getInitialDelayMs() {
         return initialDelayMs;
     }
@@ -100,6 +203,186 @@ public class RynkoConfig {
         return retryEnabled;
     }
 
+    public boolean isRetryOnNetworkErrors() {
+        return retryOnNetworkErrors;
+    }
+
+    public boolean isIdempotencyKeys() {
+        return idempotencyKeys;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    /**
+     * Returns the number of connections opened when the client is created,
+     * or 0 if none are.
+     */
+    public int getPrewarmConnections() {
+        return prewarmConnections;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Returns the shared OkHttp client to derive from, or null to build a new one.
+     */
+    public OkHttpClient getOkHttpClient() {
+        return okHttpClient;
+    }
+
+    /**
+     * Returns the shared connection pool, or null to use the default pool.
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Returns the host name resolver, or null to use the default.
+     */
+    public Dns getDns() {
+        return dns;
+    }
+
+    /**
+     * Returns the transport to send requests with, or null to use the default.
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the maximum size of a response body in bytes, or 0 for no limit.
+     */
+    public long getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+
+    public boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    public int getGzipThresholdBytes() {
+        return gzipThresholdBytes;
+    }
+
+    /**
+     * Returns the client-side rate limits in requests per second, by endpoint
+     * group. Groups without an entry are not rate limited.
+     */
+    public Map<EndpointGroup, Double> getRateLimits() {
+        return rateLimits;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public boolean isAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    public double getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    public int getCircuitBreakerMinimumCalls() {
+        return circuitBreakerMinimumCalls;
+    }
+
+    public long getCircuitBreakerWindowMs() {
+        return circuitBreakerWindowMs;
+    }
+
+    public long getCircuitBreakerOpenDurationMs() {
+        return circuitBreakerOpenDurationMs;
+    }
+
+    public int getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes;
+    }
+
+    /**
+     * Returns the circuit breaker state-change callback, or null if none is set.
+     */
+    public CircuitBreakerListener getCircuitBreakerListener() {
+        return circuitBreakerListener;
+    }
+
+    /**
+     * Returns the retry budget as a fraction of recent successful requests,
+     * or a negative value when retries are not budgeted.
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMinRetriesPerSecond() {
+        return retryBudgetMinRetriesPerSecond;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    public double getHedgingMaxExtraLoad() {
+        return hedgingMaxExtraLoad;
+    }
+
+    public boolean isCoalesceGets() {
+        return coalesceGets;
+    }
+
+    /**
+     * Returns the listener receiving request metrics, or null if none is set.
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Returns the tracer reporting calls and attempts, or null if none is set.
+     */
+    public Tracer getTracer() {
+        return tracer;
+    }
+
     /**
      * Creates a new configuration builder.
      *
@@ -117,11 +400,48 @@ public class RynkoConfig {
         private String baseUrl = DEFAULT_BASE_URL;
         private int timeoutMs = DEFAULT_TIMEOUT_MS;
         private int maxRetries = DEFAULT_MAX_RETRIES;
+        private long deadlineMs;
         private int initialDelayMs = DEFAULT_INITIAL_DELAY_MS;
         private int maxDelayMs = DEFAULT_MAX_DELAY_MS;
         private int maxJitterMs = DEFAULT_MAX_JITTER_MS;
         private Set<Integer> retryableStatuses = DEFAULT_RETRYABLE_STATUSES;
         private boolean retryEnabled = true;
+        private boolean retryOnNetworkErrors = true;
+        private boolean idempotencyKeys = true;
+        private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private long keepAliveMs = DEFAULT_KEEP_ALIVE_MS;
+        private int prewarmConnections;
+        private int maxRequests = DEFAULT_MAX_REQUESTS;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private OkHttpClient okHttpClient;
+        private ConnectionPool connectionPool;
+        private Dns dns;
+        private Transport transport;
+        private boolean virtualThreads = false;
+        private long maxResponseBytes = DEFAULT_MAX_RESPONSE_BYTES;
+        private boolean gzipRequests = false;
+        private int gzipThresholdBytes = DEFAULT_GZIP_THRESHOLD_BYTES;
+        private final Map<EndpointGroup, Double> rateLimits = new EnumMap<>(EndpointGroup.class);
+        private int rateLimitBurst = 1;
+        private boolean adaptiveConcurrency = false;
+        private int initialConcurrencyLimit = DEFAULT_INITIAL_CONCURRENCY_LIMIT;
+        private int minConcurrencyLimit = DEFAULT_MIN_CONCURRENCY_LIMIT;
+        private int maxConcurrencyLimit = DEFAULT_MAX_CONCURRENCY_LIMIT;
+        private boolean circuitBreakerEnabled = false;
+        private double circuitBreakerFailureRateThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+        private int circuitBreakerMinimumCalls = DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+        private long circuitBreakerWindowMs = DEFAULT_CIRCUIT_BREAKER_WINDOW_MS;
+        private long circuitBreakerOpenDurationMs = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MS;
+        private int circuitBreakerHalfOpenProbes = 1;
+        private CircuitBreakerListener circuitBreakerListener;
+        private double retryBudgetRatio = -1;
+        private int retryBudgetMinRetriesPerSecond = 10;
+        private boolean hedgingEnabled = false;
+        private double hedgingPercentile = 0.95;
+        private double hedgingMaxExtraLoad = 0.1;
+        private boolean coalesceGets = false;
+        private MetricsListener metricsListener;
+        private Tracer tracer;
 
         public Builder apiKey(String apiKey) {
             this.apiKey = apiKey;
@@ -146,6 +466,21 @@ public class RynkoConfig {
             return this;
         }
 
+        /**
+         * Limits each call, including all retries and the backoff between
+         * them, to this many milliseconds (default: 0, no limit). Attempts are
+         * cut short when the deadline passes, a retry whose backoff would
+         * overrun it is not made, and the call fails with
+         * {@link dev.rynko.exceptions.DeadlineExceededException}.
+         */
+        public Builder deadlineMs(long deadlineMs) {
+            if (deadlineMs < 0) {
+                throw new IllegalArgumentException("deadlineMs must not be negative");
+            }
+            this.deadlineMs = deadlineMs;
+            return this;
+        }
+
         /**
          * Sets the initial delay between retries in milliseconds (default: 1000).
          */
@@ -186,10 +521,434 @@ public class RynkoConfig {
             return this;
         }
 
+        /**
+         * Retries requests that failed to get a response, such as on a
+         * connection reset or timeout (default: true). Only requests that are
+         * safe to repeat are retried: GET, PUT and DELETE, and POST or PATCH
+         * requests carrying an {@code Idempotency-Key} header.
+         */
+        public Builder retryOnNetworkErrors(boolean retryOnNetworkErrors) {
+            this.retryOnNetworkErrors = retryOnNetworkErrors;
+            return this;
+        }
+
+        /**
+         * Sends a generated {@code Idempotency-Key} header with every POST and
+         * PATCH request (default: true). The key is reused across retries of
+         * the same call so the API can discard duplicates.
+         */
+        public Builder idempotencyKeys(boolean idempotencyKeys) {
+            this.idempotencyKeys = idempotencyKeys;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of idle connections kept in the pool (default: 5).
+         * Ignored when a connection pool or OkHttp client is supplied.
+         */
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Sets how long idle connections are kept alive in milliseconds (default: 300000).
+         * Ignored when a connection pool or OkHttp client is supplied.
+         */
+        public Builder keepAliveMs(long keepAliveMs) {
+            this.keepAliveMs = keepAliveMs;
+            return this;
+        }
+
+        /**
+         * Opens this many connections to the API host in the background when
+         * the client is created, so that the first calls skip the DNS, TCP
+         * and TLS handshakes (default: 0). The connections stay in the pool
+         * for {@link #keepAliveMs(long)}; at most
+         * {@link #maxIdleConnections(int)} of them are kept.
+         *
+         * <p>Each connection is opened with an authenticated
+         * {@code GET /api/auth/verify}, the request behind
+         * {@code Rynko.me()}, whose response is discarded. Without an API
+         * key, as on a multi-tenant client, the request is sent
+         * unauthenticated and gets a 401.</p>
+         */
+        public Builder prewarmConnections(int prewarmConnections) {
+            if (prewarmConnections < 0) {
+                throw new IllegalArgumentException("prewarmConnections must not be negative");
+            }
+            this.prewarmConnections = prewarmConnections;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent async requests (default: 64).
+         * Ignored when an OkHttp client is supplied.
+         */
+        public Builder maxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent async requests per host (default: 64).
+         * Ignored when an OkHttp client is supplied.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets an existing OkHttp client to derive the SDK's client from.
+         *
+         * <p>The SDK applies its own timeouts on a derived client, so the
+         * supplied client is not modified. Its connection pool and dispatcher
+         * are shared, which lets several {@link Rynko} instances share one
+         * pool and one set of dispatcher threads.</p>
+         */
+        public Builder okHttpClient(OkHttpClient okHttpClient) {
+            this.okHttpClient = okHttpClient;
+            return this;
+        }
+
+        /**
+         * Sets a connection pool to share between several {@link Rynko} instances.
+         * Takes precedence over the pool of a supplied OkHttp client.
+         */
+        public Builder connectionPool(ConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * Sets the resolver for host names, such as a
+         * {@link dev.rynko.transport.CachingDns} that keeps lookups off the
+         * request path. Takes precedence over the resolver of a supplied
+         * OkHttp client (default: the system resolver).
+         */
+        public Builder dns(Dns dns) {
+            this.dns = dns;
+            return this;
+        }
+
+        /**
+         * Sets the transport that sends requests, such as a
+         * {@code JdkHttpTransport} on Java 11 and later (default: OkHttp).
+         *
+         * <p>A supplied transport is used as is: the timeout, connection pool
+         * and dispatcher settings above only configure the default
+         * transport.</p>
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Tunes the client for callers on virtual threads (default: false).
+         *
+         * <p>On Java 11 and later the default transport becomes
+         * {@code JdkHttpTransport}: OkHttp 4 waits on object monitors while
+         * reading HTTP/2 responses, which pins the carrier thread of a
+         * virtual thread, while the JDK client parks. Use
+         * {@link Rynko#newVirtualThreadExecutor()} to run calls on virtual
+         * threads.</p>
+         *
+         * <p>The JDK client has its own connection pool and threads, so the
+         * OkHttp settings cannot be combined with this mode: {@link #build()}
+         * rejects an {@link #okHttpClient(OkHttpClient)},
+         * {@link #connectionPool(ConnectionPool)} or {@link #dns(Dns)}, and
+         * non-default {@link #maxIdleConnections(int)},
+         * {@link #keepAliveMs(long)}, {@link #maxRequests(int)} or
+         * {@link #maxRequestsPerHost(int)}, unless a {@link #transport(Transport)}
+         * is supplied. On Java 8 OkHttp stays the transport, so the settings
+         * are accepted there. The JDK transport does not report
+         * {@link dev.rynko.metrics.CallTimings}.</p>
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of a response body in bytes (default: 64 MiB).
+         * Larger responses fail with a RynkoException instead of being read
+         * into memory. Set to 0 to disable the limit. Document downloads are
+         * not limited.
+         */
+        public Builder maxResponseBytes(long maxResponseBytes) {
+            this.maxResponseBytes = maxResponseBytes;
+            return this;
+        }
+
+        /**
+         * Enables gzip compression of JSON request bodies (default: false).
+         * Bodies smaller than the gzip threshold are sent uncompressed.
+         */
+        public Builder gzipRequests(boolean gzipRequests) {
+            this.gzipRequests = gzipRequests;
+            return this;
+        }
+
+        /**
+         * Sets the minimum JSON body size in bytes that is gzipped when
+         * compression is enabled (default: 16384).
+         */
+        public Builder gzipThresholdBytes(int gzipThresholdBytes) {
+            this.gzipThresholdBytes = gzipThresholdBytes;
+            return this;
+        }
+
+        /**
+         * Limits every endpoint group to the given number of requests per
+         * second (default: unlimited). Requests over the limit wait before
+         * they are sent. The rate is lowered further while the API's
+         * rate-limit headers report that the quota is running out.
+         */
+        public Builder rateLimit(double requestsPerSecond) {
+            for (EndpointGroup group : EndpointGroup.values()) {
+                rateLimit(group, requestsPerSecond);
+            }
+            return this;
+        }
+
+        /**
+         * Limits one endpoint group to the given number of requests per
+         * second. A rate of 0 removes the limit for that group.
+         */
+        public Builder rateLimit(EndpointGroup group, double requestsPerSecond) {
+            if (requestsPerSecond > 0) {
+                this.rateLimits.put(group, requestsPerSecond);
+            } else {
+                this.rateLimits.remove(group);
+            }
+            return this;
+        }
+
+        /**
+         * Sets how many requests a rate-limited group may send back to back
+         * before pacing starts (default: 1).
+         */
+        public Builder rateLimitBurst(int rateLimitBurst) {
+            this.rateLimitBurst = rateLimitBurst;
+            return this;
+        }
+
+        /**
+         * Enables adaptive concurrency limiting per endpoint group (default: false).
+         *
+         * <p>Each group starts at the initial limit. The limit grows while
+         * latency is stable and shrinks on 429, 503 and 504 responses,
+         * timeouts and latency spikes. Requests over the limit wait for a
+         * free slot. Live counters are available from
+         * {@link Rynko#concurrencyStats(EndpointGroup)}.</p>
+         */
+        public Builder adaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the concurrency limit each endpoint group starts at (default: 20).
+         */
+        public Builder initialConcurrencyLimit(int initialConcurrencyLimit) {
+            this.initialConcurrencyLimit = initialConcurrencyLimit;
+            return this;
+        }
+
+        /**
+         * Sets the lowest concurrency limit a group can shrink to (default: 1).
+         */
+        public Builder minConcurrencyLimit(int minConcurrencyLimit) {
+            this.minConcurrencyLimit = minConcurrencyLimit;
+            return this;
+        }
+
+        /**
+         * Sets the highest concurrency limit a group can grow to (default: 64).
+         */
+        public Builder maxConcurrencyLimit(int maxConcurrencyLimit) {
+            this.maxConcurrencyLimit = maxConcurrencyLimit;
+            return this;
+        }
+
+        /**
+         * Enables a circuit breaker per endpoint group (default: false).
+         *
+         * <p>While a group's circuit is open, requests to it fail immediately
+         * with a {@link dev.rynko.exceptions.CircuitBreakerOpenException}
+         * instead of waiting for timeouts and retries.</p>
+         */
+        public Builder circuitBreaker(boolean circuitBreakerEnabled) {
+            this.circuitBreakerEnabled = circuitBreakerEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the failure rate, between 0 and 1, at which a circuit opens (default: 0.5).
+         */
+        public Builder circuitBreakerFailureRateThreshold(double circuitBreakerFailureRateThreshold) {
+            this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how many calls the sliding window must hold before the failure
+         * rate is evaluated (default: 20).
+         */
+        public Builder circuitBreakerMinimumCalls(int circuitBreakerMinimumCalls) {
+            this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the length of the sliding window the failure rate is computed
+         * over, in milliseconds (default: 30000).
+         */
+        public Builder circuitBreakerWindowMs(long circuitBreakerWindowMs) {
+            this.circuitBreakerWindowMs = circuitBreakerWindowMs;
+            return this;
+        }
+
+        /**
+         * Sets how long a circuit stays open before probing, in milliseconds (default: 30000).
+         */
+        public Builder circuitBreakerOpenDurationMs(long circuitBreakerOpenDurationMs) {
+            this.circuitBreakerOpenDurationMs = circuitBreakerOpenDurationMs;
+            return this;
+        }
+
+        /**
+         * Sets how many probe requests a half-open circuit lets through; all
+         * of them must succeed to close it (default: 1).
+         */
+        public Builder circuitBreakerHalfOpenProbes(int circuitBreakerHalfOpenProbes) {
+            this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+            return this;
+        }
+
+        /**
+         * Sets a callback invoked when a circuit changes state.
+         */
+        public Builder circuitBreakerListener(CircuitBreakerListener circuitBreakerListener) {
+            this.circuitBreakerListener = circuitBreakerListener;
+            return this;
+        }
+
+        /**
+         * Limits retries across the whole client to a fraction of the
+         * requests that succeeded in the last ten seconds (default: no budget).
+         * For example, 0.2 allows one retry for every five successes. When
+         * the budget is spent, a failed request fails immediately with its
+         * error instead of retrying.
+         */
+        public Builder retryBudgetRatio(double retryBudgetRatio) {
+            this.retryBudgetRatio = retryBudgetRatio;
+            return this;
+        }
+
+        /**
+         * Sets the retries per second allowed on top of the retry budget
+         * ratio, so clients with little traffic can still retry (default: 10).
+         */
+        public Builder retryBudgetMinRetriesPerSecond(int retryBudgetMinRetriesPerSecond) {
+            this.retryBudgetMinRetriesPerSecond = retryBudgetMinRetriesPerSecond;
+            return this;
+        }
+
+        /**
+         * Enables hedged GET requests (default: false).
+         *
+         * <p>A GET that has not answered within the hedging percentile of
+         * recently observed latency for its endpoint group is sent a second
+         * time; the first response wins and the other call is cancelled.
+         * Only GETs are hedged, since they are safe to repeat.</p>
+         */
+        public Builder hedging(boolean hedgingEnabled) {
+            this.hedgingEnabled = hedgingEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the latency percentile, between 0 and 1, after which a GET is
+         * hedged (default: 0.95).
+         */
+        public Builder hedgingPercentile(double hedgingPercentile) {
+            this.hedgingPercentile = hedgingPercentile;
+            return this;
+        }
+
+        /**
+         * Caps hedged requests at this fraction of GET traffic (default: 0.1).
+         */
+        public Builder hedgingMaxExtraLoad(double hedgingMaxExtraLoad) {
+            this.hedgingMaxExtraLoad = hedgingMaxExtraLoad;
+            return this;
+        }
+
+        /**
+         * Shares one call between concurrent identical GETs (default: false).
+         *
+         * <p>A GET for the same URL, with the same API key and headers and
+         * the same response type, as one already in flight waits for that
+         * call instead of sending its own, and gets the same result or
+         * exception. Joining callers therefore share the model instance,
+         * which they must not modify, and the deadline and retries of the
+         * call they join.</p>
+         */
+        public Builder coalesceGets(boolean coalesceGets) {
+            this.coalesceGets = coalesceGets;
+            return this;
+        }
+
+        /**
+         * Sets a listener that receives latency, status, retry and byte count
+         * measurements from every request, such as a
+         * {@link dev.rynko.metrics.MetricsRecorder} (default: none).
+         */
+        public Builder metrics(MetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Sets a tracer that receives a span for every call and a child span
+         * for every attempt, and whose context is propagated in the
+         * {@code traceparent} and {@code tracestate} headers (default: none).
+         */
+        public Builder tracer(Tracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Builds the configuration.
+         *
+         * @throws IllegalArgumentException if OkHttp settings are combined with {@link #virtualThreads(boolean)}
+         *         on a JVM where that selects the JDK HTTP client
+         */
         public RynkoConfig build() {
-            return new RynkoConfig(apiKey, baseUrl, timeoutMs, maxRetries,
-                                       initialDelayMs, maxDelayMs, maxJitterMs,
-                                       retryableStatuses, retryEnabled);
+            if (virtualThreads && transport == null && JDK_HTTP_CLIENT && usesOkHttpSettings()) {
+                throw new IllegalArgumentException("virtualThreads(true) uses the JDK HTTP client, which cannot apply "
+                        + "okHttpClient, connectionPool, dns, maxIdleConnections, keepAliveMs or maxRequests settings");
+            }
+            return new RynkoConfig(this);
+        }
+
+        private boolean usesOkHttpSettings() {
+            return okHttpClient != null || connectionPool != null || dns != null
+                    || maxIdleConnections != DEFAULT_MAX_IDLE_CONNECTIONS || keepAliveMs != DEFAULT_KEEP_ALIVE_MS
+                    || maxRequests != DEFAULT_MAX_REQUESTS || maxRequestsPerHost != DEFAULT_MAX_REQUESTS_PER_HOST;
+        }
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, RynkoConfig.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
         }
     }
 }
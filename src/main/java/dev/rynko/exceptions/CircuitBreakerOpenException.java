@@ -0,0 +1,39 @@
+package dev.rynko.exceptions;
+
+import dev.rynko.EndpointGroup;
+
+/**
+ * Exception thrown without contacting the API while the circuit breaker of
+ * an endpoint group is open.
+ *
+ * @since 1.5.0
+ */
+public class CircuitBreakerOpenException extends RynkoException {
+
+    private final EndpointGroup group;
+    private final long retryAfterMs;
+
+    public CircuitBreakerOpenException(EndpointGroup group, long retryAfterMs) {
+        super("Circuit breaker is open for " + group + " endpoints", "ERR_CIRCUIT_OPEN", 0);
+        this.group = group;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * Returns the endpoint group whose circuit is open.
+     *
+     * @return Endpoint group
+     */
+    public EndpointGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * Returns how long until the breaker lets a probe request through.
+     *
+     * @return Milliseconds until the circuit half-opens
+     */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
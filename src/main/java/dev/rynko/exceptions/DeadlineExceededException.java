@@ -0,0 +1,42 @@
+package dev.rynko.exceptions;
+
+/**
+ * Exception thrown when a call, including its retries and the backoff
+ * between them, did not complete within its deadline. The cause, if any, is
+ * the failure of the last attempt.
+ *
+ * @since 1.5.0
+ */
+public class DeadlineExceededException extends RynkoException {
+
+    private final long deadlineMs;
+    private final int attempts;
+
+    public DeadlineExceededException(long deadlineMs, int attempts, Throwable cause) {
+        super("Deadline of " + deadlineMs + " ms exceeded after " + attempts
+                + (attempts == 1 ? " attempt" : " attempts"), "ERR_DEADLINE_EXCEEDED", 0);
+        this.deadlineMs = deadlineMs;
+        this.attempts = attempts;
+        if (cause != null) {
+            initCause(cause);
+        }
+    }
+
+    /**
+     * Returns the deadline the call had.
+     *
+     * @return Deadline in milliseconds from the start of the call
+     */
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    /**
+     * Returns how many attempts were sent before the deadline passed.
+     *
+     * @return Number of attempts, 0 if none was sent
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,87 @@
+package dev.rynko.metrics;
+
+/**
+ * Where the time of one HTTP call went: how long each network phase took and
+ * whether the call reused a pooled connection.
+ *
+ * <p>Phases that did not happen, such as DNS, connect and TLS on a reused
+ * connection, or TLS on plain HTTP, have a duration of -1.</p>
+ *
+ * @since 1.5.0
+ */
+public final class CallTimings {
+
+    /**
+     * A network phase of a call.
+     */
+    public enum Phase {
+        /** Resolving the host name. */
+        DNS,
+        /** Opening the TCP connection, excluding the TLS handshake. */
+        CONNECT,
+        /** The TLS handshake. */
+        TLS,
+        /** Writing the request headers and body. */
+        REQUEST,
+        /** Waiting for the response headers once the request was written. */
+        TIME_TO_FIRST_BYTE,
+        /** Reading the response body. */
+        RESPONSE_BODY
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] phaseNanos;
+    private final long totalNanos;
+    private final boolean connectionReused;
+
+    /**
+     * Creates timings.
+     *
+     * @param phaseNanos       The duration of each phase, indexed by {@link Phase#ordinal()}, -1 if it did not happen
+     * @param totalNanos       The duration of the whole call
+     * @param connectionReused Whether the call used a pooled connection
+     */
+    public CallTimings(long[] phaseNanos, long totalNanos, boolean connectionReused) {
+        if (phaseNanos.length != PHASES.length) {
+            throw new IllegalArgumentException("Expected " + PHASES.length + " phases, got " + phaseNanos.length);
+        }
+        this.phaseNanos = phaseNanos.clone();
+        this.totalNanos = totalNanos;
+        this.connectionReused = connectionReused;
+    }
+
+    /**
+     * Returns the duration of a phase in nanoseconds, or -1 if it did not happen.
+     */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the duration of the whole call, from start until the response
+     * body was read or the call failed.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns whether the call was sent on a connection from the pool rather
+     * than a new one.
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CallTimings{");
+        for (Phase phase : PHASES) {
+            sb.append(phase).append('=').append(phaseNanos[phase.ordinal()]).append(", ");
+        }
+        return sb.append("total=").append(totalNanos)
+                .append(", connectionReused=").append(connectionReused)
+                .append('}').toString();
+    }
+}
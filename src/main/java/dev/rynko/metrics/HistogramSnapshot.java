@@ -0,0 +1,95 @@
+package dev.rynko.metrics;
+
+/**
+ * Point-in-time copy of a latency histogram. Values are in microseconds and
+ * accurate to about 3%.
+ *
+ * <p>Buckets are exposed for exporters that need the full distribution: bucket
+ * {@code i} counts values up to {@link #getBucketUpperBoundMicros(int)} and
+ * above the bound of bucket {@code i - 1}.</p>
+ *
+ * @since 1.5.0
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalMicros;
+    private final long maxMicros;
+
+    HistogramSnapshot(long[] counts, long totalMicros, long maxMicros) {
+        this.counts = counts;
+        this.totalMicros = totalMicros;
+        this.maxMicros = maxMicros;
+        long sum = 0;
+        for (long c : counts) {
+            sum += c;
+        }
+        this.count = sum;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded values.
+     */
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public double getMeanMicros() {
+        return count > 0 ? (double) totalMicros / count : 0;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values
+     * fall, or 0 if nothing was recorded.
+     *
+     * @param percentile The percentile, between 0 and 100
+     */
+    public long getPercentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * count), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValue(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getBucketUpperBoundMicros(int index) {
+        return LatencyHistogram.highestValue(index);
+    }
+
+    public long getCountAtBucket(int index) {
+        return counts[index];
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", p50=" + getPercentileMicros(50) +
+                ", p99=" + getPercentileMicros(99) +
+                ", max=" + maxMicros +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package dev.rynko.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of
+ * HdrHistogram.
+ *
+ * <p>Values are recorded in microseconds. Each power of two is split into
+ * {@value #HALF_SUB_BUCKETS} linear sub-buckets, so a recorded value is
+ * off by at most about 3% whatever its magnitude, and the whole range from
+ * 1&micro;s to {@link #MAX_MICROS} fits in a fixed array of counters.
+ * Recording is one atomic increment per counter and allocates nothing.</p>
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    // About 19 hours; longer values are clamped
+    static final long MAX_MICROS = (1L << 36) - 1;
+    static final int BUCKET_COUNT = index(MAX_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), MAX_MICROS);
+        counts.incrementAndGet(index(micros));
+        totalMicros.addAndGet(micros);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy, totalMicros.get(), maxMicros.get());
+    }
+
+    /**
+     * Returns the bucket of a value. Values below {@code 2 * HALF_SUB_BUCKETS}
+     * get a bucket each; above that, every power of two adds
+     * {@code HALF_SUB_BUCKETS} buckets of equal width.
+     */
+    static int index(long micros) {
+        if (micros < 2 * HALF_SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        return shift * HALF_SUB_BUCKETS + (int) (micros >>> shift);
+    }
+
+    /**
+     * Returns the largest value that falls into a bucket.
+     */
+    static long highestValue(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.rynko.metrics;
+
+/**
+ * Receives measurements from the request path of a client, for example to
+ * feed a monitoring system. {@link MetricsRecorder} is a ready-made
+ * implementation that aggregates them in memory.
+ *
+ * <p>Measurements are keyed by route: the HTTP method and URL path, with
+ * segments that look like identifiers replaced by {@code {id}}, such as
+ * {@code GET /api/flow/runs/{id}}. The client builds the route string
+ * once per call, when metrics or tracing are enabled, and the default OkHttp
+ * transport creates one {@link CallTimings} per attempt; the other
+ * arguments are primitives.</p>
+ *
+ * <p>Callbacks run on the thread making the request, which may be an OkHttp
+ * dispatcher thread. Implementations must be thread-safe, fast and must not
+ * block; exceptions they throw are ignored. Every method has an empty
+ * default, so implementations override only what they need.</p>
+ *
+ * @since 1.5.0
+ */
+public interface MetricsListener {
+
+    /**
+     * Invoked when an attempt is sent. Attempt 0 is the first try and later
+     * attempts are retries; a hedged copy reports the attempt it duplicates.
+     *
+     * @param route     The route
+     * @param attempt   The 0-based attempt number
+     * @param bytesSent The request body size, or 0 if there is no body or its size is unknown
+     */
+    default void onAttempt(String route, int attempt, long bytesSent) {
+    }
+
+    /**
+     * Invoked when response headers arrive.
+     *
+     * @param route        The route
+     * @param statusCode   The HTTP status code
+     * @param latencyNanos Time from sending the attempt to receiving the headers
+     */
+    default void onResponse(String route, int statusCode, long latencyNanos) {
+    }
+
+    /**
+     * Invoked when an attempt fails without a response, for example on a
+     * connection error or timeout. Cancelled calls are not reported.
+     *
+     * @param route        The route
+     * @param latencyNanos Time from sending the attempt to the failure
+     */
+    default void onNetworkError(String route, long latencyNanos) {
+    }
+
+    /**
+     * Invoked after a response body has been read.
+     *
+     * @param route The route
+     * @param bytes The number of body bytes read, after decompression
+     */
+    default void onBytesReceived(String route, long bytes) {
+    }
+
+    /**
+     * Invoked when a failed attempt is about to wait before retrying.
+     *
+     * @param route      The route
+     * @param delayNanos The backoff delay
+     */
+    default void onBackoff(String route, long delayNanos) {
+    }
+
+    /**
+     * Invoked when an attempt finishes, once its response body was read or
+     * closed, or when it failed, with the time spent in each network phase.
+     * Only transports that measure phases report them; the default OkHttp
+     * transport does when a listener is configured.
+     *
+     * @param route   The route
+     * @param timings The phase timings of the attempt
+     */
+    default void onCallTimings(String route, CallTimings timings) {
+    }
+}
@@ -0,0 +1,175 @@
+package dev.rynko.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsListener} that aggregates measurements in memory, per route,
+ * for export with {@link #snapshot()}.
+ *
+ * <p>Recording is lock-free and, once a route has been seen, allocates
+ * nothing: counters are {@link LongAdder}s and atomic arrays, and latencies
+ * go into a log-bucketed histogram. At most {@value #MAX_ROUTES} routes are
+ * tracked; measurements of further routes are pooled under
+ * {@value #OVERFLOW_ROUTE}.</p>
+ *
+ * <pre>{@code
+ * MetricsRecorder metrics = new MetricsRecorder();
+ * Rynko client = new Rynko(RynkoConfig.builder()
+ *         .apiKey(apiKey)
+ *         .metrics(metrics)
+ *         .build());
+ *
+ * RouteMetrics runs = metrics.snapshot().getRoute("GET /api/flow/runs/{id}");
+ * long p99 = runs.getLatency().getPercentileMicros(99);
+ * }</pre>
+ *
+ * @since 1.5.0
+ */
+public class MetricsRecorder implements MetricsListener {
+
+    static final int MAX_ROUTES = 1000;
+    static final String OVERFLOW_ROUTE = "OTHER";
+    // Status codes 100-599 are counted individually, anything else under 0
+    private static final int MAX_STATUS = 600;
+    private static final CallTimings.Phase[] PHASES = CallTimings.Phase.values();
+    private static final HistogramSnapshot EMPTY = new LatencyHistogram().snapshot();
+
+    private final ConcurrentHashMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAttempt(String route, int attempt, long bytesSent) {
+        Route r = route(route);
+        r.attempts.increment();
+        if (attempt > 0) {
+            r.retries.increment();
+        }
+        if (bytesSent > 0) {
+            r.bytesSent.add(bytesSent);
+        }
+    }
+
+    @Override
+    public void onResponse(String route, int statusCode, long latencyNanos) {
+        Route r = route(route);
+        r.statusCounts.incrementAndGet(statusCode >= 100 && statusCode < MAX_STATUS ? statusCode : 0);
+        r.latency.record(latencyNanos);
+    }
+
+    @Override
+    public void onNetworkError(String route, long latencyNanos) {
+        route(route).networkErrors.increment();
+    }
+
+    @Override
+    public void onBytesReceived(String route, long bytes) {
+        route(route).bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void onBackoff(String route, long delayNanos) {
+        route(route).backoffNanos.add(delayNanos);
+    }
+
+    @Override
+    public void onCallTimings(String route, CallTimings timings) {
+        Route r = route(route);
+        if (timings.isConnectionReused()) {
+            r.reusedConnections.increment();
+        } else if (timings.getNanos(CallTimings.Phase.CONNECT) >= 0) {
+            r.newConnections.increment();
+        }
+        LatencyHistogram[] phases = r.phases();
+        for (CallTimings.Phase phase : PHASES) {
+            long nanos = timings.getNanos(phase);
+            if (nanos >= 0) {
+                phases[phase.ordinal()].record(nanos);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the measurements recorded so far. Values recorded
+     * while the snapshot is taken may be only partly included.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, RouteMetrics> snapshot = new TreeMap<>();
+        for (Route route : routes.values()) {
+            snapshot.put(route.name, route.snapshot());
+        }
+        return new MetricsSnapshot(Collections.unmodifiableMap(snapshot));
+    }
+
+    private Route route(String name) {
+        Route route = routes.get(name);
+        if (route != null) {
+            return route;
+        }
+        if (routes.size() >= MAX_ROUTES) {
+            name = OVERFLOW_ROUTE;
+        }
+        return routes.computeIfAbsent(name, Route::new);
+    }
+
+    private static final class Route {
+        final String name;
+        final LongAdder attempts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder networkErrors = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final LongAdder backoffNanos = new LongAdder();
+        final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS);
+        final LongAdder newConnections = new LongAdder();
+        final LongAdder reusedConnections = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+        // Created on the first timings, as not every transport reports them
+        private volatile LatencyHistogram[] phases;
+
+        Route(String name) {
+            this.name = name;
+        }
+
+        LatencyHistogram[] phases() {
+            LatencyHistogram[] result = phases;
+            if (result == null) {
+                synchronized (this) {
+                    result = phases;
+                    if (result == null) {
+                        result = new LatencyHistogram[PHASES.length];
+                        for (int i = 0; i < result.length; i++) {
+                            result[i] = new LatencyHistogram();
+                        }
+                        phases = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        RouteMetrics snapshot() {
+            Map<Integer, Long> statuses = new LinkedHashMap<>();
+            for (int status = 0; status < MAX_STATUS; status++) {
+                long count = statusCounts.get(status);
+                if (count > 0) {
+                    statuses.put(status, count);
+                }
+            }
+            Map<CallTimings.Phase, HistogramSnapshot> phaseSnapshots = new EnumMap<>(CallTimings.Phase.class);
+            LatencyHistogram[] current = phases;
+            for (CallTimings.Phase phase : PHASES) {
+                phaseSnapshots.put(phase, current != null ? current[phase.ordinal()].snapshot() : EMPTY);
+            }
+            return new RouteMetrics(name, attempts.sum(), retries.sum(), networkErrors.sum(),
+                    Collections.unmodifiableMap(statuses), bytesSent.sum(), bytesReceived.sum(),
+                    backoffNanos.sum(), latency.snapshot(), newConnections.sum(), reusedConnections.sum(),
+                    Collections.unmodifiableMap(phaseSnapshots));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.rynko.metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of everything a {@link MetricsRecorder} has measured.
+ *
+ * @since 1.5.0
+ */
+public class MetricsSnapshot {
+
+    private final Map<String, RouteMetrics> routes;
+
+    MetricsSnapshot(Map<String, RouteMetrics> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Returns the measurements of every route seen so far, sorted by route.
+     */
+    public Map<String, RouteMetrics> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Returns the measurements of one route, or null if it has not been seen.
+     *
+     * @param route The route, such as {@code GET /api/flow/runs/{id}}
+     */
+    public RouteMetrics getRoute(String route) {
+        return routes.get(route);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{routes=" + routes.values() + '}';
+    }
+}
@@ -0,0 +1,150 @@
+package dev.rynko.metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of the measurements of one route. Counters are
+ * cumulative since the recorder was created.
+ *
+ * @since 1.5.0
+ */
+public class RouteMetrics {
+
+    private final String route;
+    private final long attempts;
+    private final long retries;
+    private final long networkErrors;
+    private final Map<Integer, Long> statusCounts;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long backoffNanos;
+    private final HistogramSnapshot latency;
+    private final long newConnections;
+    private final long reusedConnections;
+    private final Map<CallTimings.Phase, HistogramSnapshot> phases;
+
+    RouteMetrics(String route, long attempts, long retries, long networkErrors, Map<Integer, Long> statusCounts,
+                 long bytesSent, long bytesReceived, long backoffNanos, HistogramSnapshot latency,
+                 long newConnections, long reusedConnections, Map<CallTimings.Phase, HistogramSnapshot> phases) {
+        this.route = route;
+        this.attempts = attempts;
+        this.retries = retries;
+        this.networkErrors = networkErrors;
+        this.statusCounts = statusCounts;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.backoffNanos = backoffNanos;
+        this.latency = latency;
+        this.newConnections = newConnections;
+        this.reusedConnections = reusedConnections;
+        this.phases = phases;
+    }
+
+    /**
+     * Returns the route, such as {@code GET /api/flow/runs/{id}}.
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns the number of attempts sent, including retries and hedged copies.
+     */
+    public long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the number of attempts that were retries.
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Returns the number of attempts that failed without a response.
+     */
+    public long getNetworkErrors() {
+        return networkErrors;
+    }
+
+    /**
+     * Returns the number of responses per HTTP status code.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Returns the total time attempts of this route waited before retrying.
+     */
+    public long getBackoffNanos() {
+        return backoffNanos;
+    }
+
+    /**
+     * Returns the distribution of time from sending an attempt to receiving
+     * its response headers.
+     */
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Returns the distribution of time spent in one network phase. Phases
+     * are only measured by transports that report {@link CallTimings}, and
+     * only recorded for attempts in which they happened.
+     */
+    public HistogramSnapshot getPhase(CallTimings.Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Returns the number of attempts that opened a new connection.
+     */
+    public long getNewConnections() {
+        return newConnections;
+    }
+
+    /**
+     * Returns the number of attempts sent on a pooled connection.
+     */
+    public long getReusedConnections() {
+        return reusedConnections;
+    }
+
+    /**
+     * Returns the share of attempts sent on a pooled connection, from 0 to 1,
+     * or 0 if no connection timings were reported. A low ratio under steady
+     * load means connections are not being kept alive.
+     */
+    public double getConnectionReuseRatio() {
+        long total = newConnections + reusedConnections;
+        return total > 0 ? (double) reusedConnections / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteMetrics{" +
+                "route='" + route + '\'' +
+                ", attempts=" + attempts +
+                ", retries=" + retries +
+                ", networkErrors=" + networkErrors +
+                ", statusCounts=" + statusCounts +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", backoffNanos=" + backoffNanos +
+                ", latency=" + latency +
+                ", newConnections=" + newConnections +
+                ", reusedConnections=" + reusedConnections +
+                '}';
+    }
+}
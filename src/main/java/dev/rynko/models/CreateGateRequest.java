@@ -8,7 +8,7 @@ import java.util.Map;
 /**
  * Request for creating a Flow gate.
  */
-public class CreateGateRequest {
+public class CreateGateRequest implements WorkspaceScoped<CreateGateRequest> {
 
     @JsonProperty("name")
     private String name;
@@ -30,10 +30,22 @@ public class CreateGateRequest {
 
     public String getName() { return name; }
     public String getDescription() { return description; }
+    @Override
     public String getWorkspaceId() { return workspaceId; }
     public Object getSchema() { return schema; }
     public List<Map<String, Object>> getRules() { return rules; }
 
+    @Override
+    public CreateGateRequest withWorkspaceId(String workspaceId) {
+        CreateGateRequest copy = new CreateGateRequest();
+        copy.name = this.name;
+        copy.description = this.description;
+        copy.workspaceId = workspaceId;
+        copy.schema = this.schema;
+        copy.rules = this.rules;
+        return copy;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
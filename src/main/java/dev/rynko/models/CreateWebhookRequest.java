@@ -8,7 +8,7 @@ import java.util.List;
 /**
  * Request for creating a webhook subscription.
  */
-public class CreateWebhookRequest {
+public class CreateWebhookRequest implements WorkspaceScoped<CreateWebhookRequest> {
 
     @JsonProperty("url")
     private String url;
@@ -40,8 +40,22 @@ public class CreateWebhookRequest {
     public Boolean getIsActive() { return isActive; }
     public Integer getMaxRetries() { return maxRetries; }
     public Integer getTimeoutMs() { return timeoutMs; }
+    @Override
     public String getWorkspaceId() { return workspaceId; }
 
+    @Override
+    public CreateWebhookRequest withWorkspaceId(String workspaceId) {
+        CreateWebhookRequest copy = new CreateWebhookRequest();
+        copy.url = this.url;
+        copy.events = this.events;
+        copy.description = this.description;
+        copy.isActive = this.isActive;
+        copy.maxRetries = this.maxRetries;
+        copy.timeoutMs = this.timeoutMs;
+        copy.workspaceId = workspaceId;
+        return copy;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -8,7 +8,7 @@ import java.util.Map;
 /**
  * Request for generating a document.
  */
-public class GenerateRequest {
+public class GenerateRequest implements WorkspaceScoped<GenerateRequest> {
 
     @JsonProperty("templateId")
     private String templateId;
@@ -46,6 +46,7 @@ public class GenerateRequest {
         return variables;
     }
 
+    @Override
     public String getWorkspaceId() {
         return workspaceId;
     }
@@ -62,6 +63,19 @@ public class GenerateRequest {
         return source;
     }
 
+    @Override
+    public GenerateRequest withWorkspaceId(String workspaceId) {
+        GenerateRequest copy = new GenerateRequest();
+        copy.templateId = this.templateId;
+        copy.format = this.format;
+        copy.variables = this.variables;
+        copy.workspaceId = workspaceId;
+        copy.filename = this.filename;
+        copy.metadata = this.metadata;
+        copy.source = this.source;
+        return copy;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -0,0 +1,24 @@
+package dev.rynko.models;
+
+/**
+ * A request that can name the workspace it applies to.
+ *
+ * <p>A tenant view created with {@code Rynko.forTenant(apiKey, workspaceId)}
+ * sends a copy of such a request with the tenant's workspace when the
+ * request leaves its own unset.</p>
+ *
+ * @param <T> The request type
+ * @since 1.5.0
+ */
+public interface WorkspaceScoped<T> {
+
+    /**
+     * Returns the workspace ID, or null to use the default workspace.
+     */
+    String getWorkspaceId();
+
+    /**
+     * Returns a copy of this request with the given workspace ID.
+     */
+    T withWorkspaceId(String workspaceId);
+}
@@ -0,0 +1,266 @@
+package dev.rynko.resources;
+
+import dev.rynko.models.BatchStatusResult;
+import dev.rynko.models.GenerateBatchRequest;
+import dev.rynko.models.GenerateBatchResult;
+import dev.rynko.models.GenerateRequest;
+import dev.rynko.models.GenerateResult;
+import dev.rynko.models.ListResponse;
+import dev.rynko.utils.HttpClient;
+import org.reactivestreams.Publisher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link DocumentsResource}.
+ *
+ * <p>Every method returns immediately with a {@link CompletableFuture}; no
+ * thread is blocked while the request is in flight, while waiting to retry,
+ * or between polls in {@link #waitForCompletion(String)}.</p>
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * client.async().documents()
+ *     .generate(GenerateRequest.builder()
+ *         .templateId("tmpl_invoice")
+ *         .format("pdf")
+ *         .build())
+ *     .thenCompose(job -> client.async().documents().waitForCompletion(job.getJobId()))
+ *     .thenAccept(done -> System.out.println("Download URL: " + done.getDownloadUrl()));
+ * }</pre>
+ *
+ * @since 1.5.0
+ */
+public class AsyncDocumentsResource {
+
+    private final HttpClient httpClient;
+
+    public AsyncDocumentsResource(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Generates a document from a template.
+     *
+     * @param request The generation request
+     * @return Future completing with the generation result
+     */
+    public CompletableFuture<GenerateResult> generate(GenerateRequest request) {
+        return generate(request, null);
+    }
+
+    /**
+     * Generates a document from a template, sending the given idempotency key.
+     *
+     * @param request        The generation request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return Future completing with the generation result
+     */
+    public CompletableFuture<GenerateResult> generate(GenerateRequest request, String idempotencyKey) {
+        return httpClient.postAsync("/documents/generate", request, GenerateResult.class, idempotencyKey);
+    }
+
+    /**
+     * Generates multiple documents from a template in a single batch.
+     *
+     * @param request The batch generation request
+     * @return Future completing with the batch result
+     */
+    public CompletableFuture<GenerateBatchResult> generateBatch(GenerateBatchRequest request) {
+        return generateBatch(request, null);
+    }
+
+    /**
+     * Generates multiple documents in a single batch, sending the given
+     * idempotency key.
+     *
+     * @param request        The batch generation request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return Future completing with the batch result
+     */
+    public CompletableFuture<GenerateBatchResult> generateBatch(GenerateBatchRequest request, String idempotencyKey) {
+        return httpClient.postAsync("/documents/generate/batch", request, GenerateBatchResult.class, idempotencyKey);
+    }
+
+    /**
+     * Gets the status of a batch.
+     *
+     * @param batchId The batch ID
+     * @return Future completing with the batch status
+     */
+    public CompletableFuture<BatchStatusResult> getBatch(String batchId) {
+        return httpClient.getAsync("/documents/batches/" + batchId, null, BatchStatusResult.class);
+    }
+
+    /**
+     * Waits for a batch to complete (2s poll, 5min timeout).
+     *
+     * @param batchId The batch ID to wait for
+     * @return Future completing with the terminal batch status
+     */
+    public CompletableFuture<BatchStatusResult> waitForBatchCompletion(String batchId) {
+        return waitForBatchCompletion(batchId, 2000, 300000);
+    }
+
+    /**
+     * Waits for a batch to complete with custom polling settings.
+     *
+     * @param batchId        The batch ID to wait for
+     * @param pollIntervalMs Time between polls in milliseconds
+     * @param timeoutMs      Maximum wait time in milliseconds
+     * @return Future completing with the terminal batch status
+     */
+    public CompletableFuture<BatchStatusResult> waitForBatchCompletion(String batchId, long pollIntervalMs, long timeoutMs) {
+        return AsyncPoller.poll(httpClient, () -> getBatch(batchId), BatchStatusResult::isTerminal,
+                pollIntervalMs, timeoutMs, "Timeout waiting for batch " + batchId + " to complete");
+    }
+
+    /**
+     * Gets a document generation job by ID.
+     *
+     * @param jobId The job ID
+     * @return Future completing with the generation result
+     */
+    public CompletableFuture<GenerateResult> get(String jobId) {
+        return httpClient.getAsync("/documents/jobs/" + jobId, null, GenerateResult.class);
+    }
+
+    /**
+     * Lists document generation jobs.
+     *
+     * @return Future completing with a paginated list of generation results
+     */
+    public CompletableFuture<ListResponse<GenerateResult>> list() {
+        return list(null, null, null, null, null);
+    }
+
+    /**
+     * Lists document generation jobs with pagination.
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of generation results
+     */
+    public CompletableFuture<ListResponse<GenerateResult>> list(Integer page, Integer limit) {
+        return list(page, limit, null, null, null);
+    }
+
+    /**
+     * Lists document generation jobs with pagination and filtering.
+     *
+     * @param page        Page number (1-based)
+     * @param limit       Number of items per page
+     * @param templateId  Filter by template ID
+     * @param workspaceId Filter by environment ID
+     * @return Future completing with a paginated list of generation results
+     */
+    public CompletableFuture<ListResponse<GenerateResult>> list(Integer page, Integer limit, String templateId,
+                                                                String workspaceId) {
+        return list(page, limit, templateId, workspaceId, null);
+    }
+
+    /**
+     * Lists document generation jobs with pagination and filtering.
+     *
+     * @param page        Page number (1-based)
+     * @param limit       Number of items per page
+     * @param templateId  Filter by template ID
+     * @param workspaceId Filter by environment ID
+     * @param status     Filter by status (queued, processing, completed, failed)
+     * @return Future completing with a paginated list of generation results
+     */
+    public CompletableFuture<ListResponse<GenerateResult>> list(Integer page, Integer limit, String templateId,
+                                                                String workspaceId, String status) {
+        int effectiveLimit = limit != null ? limit : 20;
+        int effectivePage = page != null ? page : 1;
+        Map<String, String> params = DocumentsResource.jobListParams(effectivePage, effectiveLimit, status,
+                templateId, workspaceId);
+
+        return httpClient.getAsync("/documents/jobs", params,
+                        DocumentsResource.JOB_LIST_TYPE)
+                .thenApply(response -> DocumentsResource.toListResponse(response, effectivePage, effectiveLimit));
+    }
+
+    /**
+     * Publishes every document generation job across all pages, fetching the
+     * next page only when the subscriber requests more.
+     *
+     * @param limit       Number of items per page
+     * @param templateId  Filter by template ID
+     * @param workspaceId Filter by environment ID
+     * @param status      Filter by status (queued, processing, completed, failed)
+     * @return Publisher of generation results
+     */
+    public Publisher<GenerateResult> listPublisher(Integer limit, String templateId, String workspaceId,
+                                                   String status) {
+        return PagePublisher.ofPages(page -> list(page, limit, templateId, workspaceId, status));
+    }
+
+    /**
+     * Retries a failed document generation job.
+     *
+     * @param jobId The job ID to retry
+     * @return Future completing with the retried generation result
+     */
+    public CompletableFuture<GenerateResult> retry(String jobId) {
+        return httpClient.postAsync("/documents/jobs/" + jobId + "/retry",
+                new HashMap<String, Object>(), GenerateResult.class);
+    }
+
+    /**
+     * Cancels a queued or processing document generation job.
+     *
+     * @param jobId The job ID to cancel
+     * @return Future completing when the job is cancelled
+     */
+    public CompletableFuture<Void> cancel(String jobId) {
+        return httpClient.postAsync("/documents/jobs/" + jobId + "/cancel",
+                new HashMap<String, Object>(), Void.class);
+    }
+
+    /**
+     * Deletes a generated document.
+     *
+     * @param jobId The job ID of the document to delete
+     * @return Future completing when the document is deleted
+     */
+    public CompletableFuture<Void> delete(String jobId) {
+        return httpClient.deleteAsync("/documents/jobs/" + jobId);
+    }
+
+    /**
+     * Waits for a document generation job to complete (1s poll, 30s timeout).
+     *
+     * @param jobId The job ID to wait for
+     * @return Future completing with the terminal generation result
+     */
+    public CompletableFuture<GenerateResult> waitForCompletion(String jobId) {
+        return waitForCompletion(jobId, 1000, 30000);
+    }
+
+    /**
+     * Waits for a document generation job to complete with custom polling settings.
+     *
+     * @param jobId          The job ID to wait for
+     * @param pollIntervalMs Time between polls in milliseconds
+     * @param timeoutMs      Maximum wait time in milliseconds
+     * @return Future completing with the terminal generation result
+     */
+    public CompletableFuture<GenerateResult> waitForCompletion(String jobId, long pollIntervalMs, long timeoutMs) {
+        return AsyncPoller.poll(httpClient, () -> get(jobId), GenerateResult::isTerminal,
+                pollIntervalMs, timeoutMs, "Timeout waiting for job " + jobId + " to complete");
+    }
+
+    /**
+     * Downloads a generated document as bytes.
+     *
+     * @param downloadUrl The download URL from the generation result
+     * @return Future completing with the document bytes
+     * @see DocumentsResource#download(String)
+     */
+    public CompletableFuture<byte[]> download(String downloadUrl) {
+        return httpClient.downloadAsync(downloadUrl);
+    }
+}
@@ -0,0 +1,298 @@
+package dev.rynko.resources;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.rynko.models.CreateConfigRequest;
+import dev.rynko.models.DiscoverRequest;
+import dev.rynko.models.ExtractConfig;
+import dev.rynko.models.ExtractJob;
+import dev.rynko.models.ExtractJobRequest;
+import dev.rynko.models.ExtractUsage;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.ListResponse;
+import dev.rynko.models.UpdateConfigRequest;
+import dev.rynko.utils.HttpClient;
+import org.reactivestreams.Publisher;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link ExtractResource}.
+ *
+ * @since 1.5.0
+ */
+public class AsyncExtractResource {
+
+    private final HttpClient httpClient;
+
+    public AsyncExtractResource(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    private String extractUrl(String path) {
+        return httpClient.getBaseUrlWithoutVersion() + "/api/extract" + path;
+    }
+
+    private String flowUrl(String path) {
+        return httpClient.getBaseUrlWithoutVersion() + "/api/flow" + path;
+    }
+
+    // ---- Jobs ----
+
+    /**
+     * Creates an extraction job.
+     *
+     * @param request The extraction job request with files and schema
+     * @return Future completing with the created extraction job
+     */
+    public CompletableFuture<ExtractJob> createJob(ExtractJobRequest request) {
+        Map<String, String> formFields = ExtractResource.jobFormFields(request);
+        Map<String, Object> options = ExtractResource.jobOptions(request);
+        if (options != null) {
+            return httpClient.postMultipartWithJsonAsync(
+                    extractUrl("/jobs"), request.getFiles(), formFields, options, "options", ExtractJob.class);
+        }
+
+        return httpClient.postMultipartAsync(extractUrl("/jobs"), request.getFiles(), formFields, ExtractJob.class);
+    }
+
+    /**
+     * Gets an extraction job by ID.
+     *
+     * @param jobId The job ID
+     * @return Future completing with the extraction job
+     */
+    public CompletableFuture<ExtractJob> getJob(String jobId) {
+        return httpClient.getAbsoluteAsync(extractUrl("/jobs/" + jobId), null, ExtractJob.class);
+    }
+
+    /**
+     * Lists extraction jobs.
+     *
+     * @return Future completing with a paginated list of extraction jobs
+     */
+    public CompletableFuture<ListResponse<ExtractJob>> listJobs() {
+        return listJobs(null, null, null);
+    }
+
+    /**
+     * Lists extraction jobs with pagination and optional status filter.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by job status
+     * @return Future completing with a paginated list of extraction jobs
+     */
+    public CompletableFuture<ListResponse<ExtractJob>> listJobs(Integer page, Integer limit, String status) {
+        return list(extractUrl("/jobs"), page, limit, status,
+                ExtractResource.JOB_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every extraction job across all pages, fetching the next page
+     * only when the subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param status Filter by job status
+     * @return Publisher of extraction jobs
+     */
+    public Publisher<ExtractJob> listJobsPublisher(Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listJobs(page, limit, status));
+    }
+
+    /**
+     * Cancels an extraction job.
+     *
+     * @param jobId The job ID to cancel
+     * @return Future completing when the job is cancelled
+     */
+    public CompletableFuture<Void> cancelJob(String jobId) {
+        return httpClient.deleteAbsoluteAsync(extractUrl("/jobs/" + jobId));
+    }
+
+    /**
+     * Gets extraction usage statistics.
+     *
+     * @return Future completing with the usage statistics
+     */
+    public CompletableFuture<ExtractUsage> getUsage() {
+        return httpClient.getAbsoluteAsync(extractUrl("/usage"), null, ExtractUsage.class);
+    }
+
+    /**
+     * Discovers extraction schema from sample files.
+     *
+     * @param request The discover request with files
+     * @return Future completing with the discovered extraction job
+     */
+    public CompletableFuture<ExtractJob> discover(DiscoverRequest request) {
+        Map<String, String> formFields = ExtractResource.discoverFormFields(request);
+
+        return httpClient.postMultipartAsync(extractUrl("/discover"), request.getFiles(), formFields, ExtractJob.class);
+    }
+
+    // ---- Configs ----
+
+    /**
+     * Creates an extraction configuration.
+     *
+     * @param request The create config request
+     * @return Future completing with the created configuration
+     */
+    public CompletableFuture<ExtractConfig> createConfig(CreateConfigRequest request) {
+        return httpClient.postAbsoluteAsync(extractUrl("/configs"), request, ExtractConfig.class);
+    }
+
+    /**
+     * Gets an extraction configuration by ID.
+     *
+     * @param configId The config ID
+     * @return Future completing with the configuration
+     */
+    public CompletableFuture<ExtractConfig> getConfig(String configId) {
+        return httpClient.getAbsoluteAsync(extractUrl("/configs/" + configId), null, ExtractConfig.class);
+    }
+
+    /**
+     * Lists extraction configurations.
+     *
+     * @return Future completing with a paginated list of configurations
+     */
+    public CompletableFuture<ListResponse<ExtractConfig>> listConfigs() {
+        return listConfigs(null, null, null);
+    }
+
+    /**
+     * Lists extraction configurations with pagination and optional status filter.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by config status
+     * @return Future completing with a paginated list of configurations
+     */
+    public CompletableFuture<ListResponse<ExtractConfig>> listConfigs(Integer page, Integer limit, String status) {
+        return list(extractUrl("/configs"), page, limit, status,
+                ExtractResource.CONFIG_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every extraction configuration across all pages, fetching the
+     * next page only when the subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param status Filter by config status
+     * @return Publisher of configurations
+     */
+    public Publisher<ExtractConfig> listConfigsPublisher(Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listConfigs(page, limit, status));
+    }
+
+    /**
+     * Updates an extraction configuration.
+     *
+     * @param configId The config ID
+     * @param request  The update request
+     * @return Future completing with the updated configuration
+     */
+    public CompletableFuture<ExtractConfig> updateConfig(String configId, UpdateConfigRequest request) {
+        return httpClient.patchAbsoluteAsync(extractUrl("/configs/" + configId), request, ExtractConfig.class);
+    }
+
+    /**
+     * Deletes an extraction configuration.
+     *
+     * @param configId The config ID
+     * @return Future completing when the configuration is deleted
+     */
+    public CompletableFuture<Void> deleteConfig(String configId) {
+        return httpClient.deleteAbsoluteAsync(extractUrl("/configs/" + configId));
+    }
+
+    /**
+     * Publishes an extraction configuration.
+     *
+     * @param configId The config ID
+     * @return Future completing with the published configuration
+     */
+    public CompletableFuture<ExtractConfig> publishConfig(String configId) {
+        Map<String, Object> body = new HashMap<>();
+        return httpClient.postAbsoluteAsync(extractUrl("/configs/" + configId + "/publish"), body, ExtractConfig.class);
+    }
+
+    /**
+     * Gets version history for an extraction configuration.
+     *
+     * @param configId The config ID
+     * @return Future completing with the config versions
+     */
+    public CompletableFuture<ListResponse<ExtractConfig>> getConfigVersions(String configId) {
+        return httpClient.getAbsoluteAsync(extractUrl("/configs/" + configId + "/versions"), null,
+                        ExtractResource.CONFIG_LIST_TYPE)
+                .thenApply(response -> ExtractResource.toListResponse(response, 1, 100));
+    }
+
+    /**
+     * Restores a specific version of an extraction configuration.
+     *
+     * @param configId  The config ID
+     * @param versionId The version ID to restore
+     * @return Future completing with the restored configuration
+     */
+    public CompletableFuture<ExtractConfig> restoreConfigVersion(String configId, String versionId) {
+        Map<String, Object> body = new HashMap<>();
+        return httpClient.postAbsoluteAsync(
+                extractUrl("/configs/" + configId + "/versions/" + versionId + "/restore"),
+                body, ExtractConfig.class);
+    }
+
+    /**
+     * Runs an extraction configuration against files.
+     *
+     * @param configId The config ID
+     * @param files    Files to extract from
+     * @return Future completing with the extraction job
+     */
+    public CompletableFuture<ExtractJob> runConfig(String configId, List<File> files) {
+        return httpClient.postMultipartAsync(
+                extractUrl("/configs/" + configId + "/run"), files, null, ExtractJob.class);
+    }
+
+    /**
+     * Extracts data using a Flow gate.
+     *
+     * @param gateId The gate ID
+     * @param files  Files to extract from
+     * @return Future completing with the extraction job
+     */
+    public CompletableFuture<ExtractJob> extractWithGate(String gateId, List<File> files) {
+        return httpClient.postMultipartAsync(
+                flowUrl("/gates/" + gateId + "/extract"), files, null, ExtractJob.class);
+    }
+
+    /**
+     * Submits files to a Flow gate for processing (Stage 0 file extraction).
+     *
+     * @param gateId The gate ID
+     * @param files  Files to submit
+     * @return Future completing with the created Flow run
+     */
+    public CompletableFuture<FlowRun> submitFileRun(String gateId, List<File> files) {
+        return httpClient.postMultipartAsync(
+                flowUrl("/gates/" + gateId + "/runs/file"), files, null, FlowRun.class);
+    }
+
+    // ---- Internal helpers ----
+
+    private <T> CompletableFuture<ListResponse<T>> list(String url, Integer page, Integer limit, String status,
+                                                        TypeReference<ExtractResource.ExtractListResponse<T>> type) {
+        int effectiveLimit = limit != null ? limit : 20;
+        int effectivePage = page != null ? page : 1;
+        Map<String, String> params = FlowResource.pageParams(effectivePage, effectiveLimit, status);
+
+        return httpClient.getAbsoluteAsync(url, params, type)
+                .thenApply(response -> ExtractResource.toListResponse(response, effectivePage, effectiveLimit));
+    }
+}
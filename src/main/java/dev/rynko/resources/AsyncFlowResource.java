@@ -0,0 +1,599 @@
+package dev.rynko.resources;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.rynko.models.CreateGateRequest;
+import dev.rynko.models.FlowApproval;
+import dev.rynko.models.FlowDelivery;
+import dev.rynko.models.FlowGate;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.ListResponse;
+import dev.rynko.models.SubmitRunRequest;
+import dev.rynko.models.TestGateResult;
+import dev.rynko.models.UpdateGateRequest;
+import dev.rynko.models.ValidateGateRequest;
+import dev.rynko.utils.HttpClient;
+import org.reactivestreams.Publisher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link FlowResource}.
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * client.async().flow()
+ *     .submitRun("gate_abc123", SubmitRunRequest.builder()
+ *         .inputField("name", "John Doe")
+ *         .build())
+ *     .thenCompose(run -> client.async().flow().waitForRun(run.getId()))
+ *     .thenAccept(result -> System.out.println("Status: " + result.getStatus()));
+ * }</pre>
+ *
+ * @since 1.5.0
+ */
+public class AsyncFlowResource {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private final HttpClient httpClient;
+
+    public AsyncFlowResource(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    private String flowUrl(String path) {
+        return httpClient.getBaseUrlWithoutVersion() + "/api/flow" + path;
+    }
+
+    // ---- Gates ----
+
+    /**
+     * Lists all gates.
+     *
+     * @return Future completing with a paginated list of gates
+     */
+    public CompletableFuture<ListResponse<FlowGate>> listGates() {
+        return listGates(null, null, null);
+    }
+
+    /**
+     * Lists gates with pagination and optional status filter.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by gate status
+     * @return Future completing with a paginated list of gates
+     */
+    public CompletableFuture<ListResponse<FlowGate>> listGates(Integer page, Integer limit, String status) {
+        return list(flowUrl("/gates"), page, limit, status,
+                FlowResource.GATE_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every gate across all pages, fetching the next page only when
+     * the subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param status Filter by gate status
+     * @return Publisher of gates
+     */
+    public Publisher<FlowGate> listGatesPublisher(Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listGates(page, limit, status));
+    }
+
+    /**
+     * Gets a gate by ID.
+     *
+     * @param gateId The gate ID
+     * @return Future completing with the gate
+     */
+    public CompletableFuture<FlowGate> getGate(String gateId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/gates/" + gateId), null, FlowGate.class);
+    }
+
+    /**
+     * Creates a new gate.
+     *
+     * @param request The create gate request
+     * @return Future completing with the created gate
+     */
+    public CompletableFuture<FlowGate> createGate(CreateGateRequest request) {
+        return httpClient.postAbsoluteAsync(flowUrl("/gates"), request, FlowGate.class);
+    }
+
+    /**
+     * Updates a gate.
+     *
+     * @param gateId  The gate ID
+     * @param request The update gate request
+     * @return Future completing with the updated gate
+     */
+    public CompletableFuture<FlowGate> updateGate(String gateId, UpdateGateRequest request) {
+        return httpClient.putAbsoluteAsync(flowUrl("/gates/" + gateId), request, FlowGate.class);
+    }
+
+    /**
+     * Deletes a gate.
+     *
+     * @param gateId The gate ID
+     * @return Future completing when the gate is deleted
+     */
+    public CompletableFuture<Void> deleteGate(String gateId) {
+        return httpClient.deleteAbsoluteAsync(flowUrl("/gates/" + gateId));
+    }
+
+    /**
+     * Updates the schema for a gate.
+     *
+     * @param gateId The gate ID
+     * @param schema The new schema
+     * @return Future completing with the updated gate
+     */
+    public CompletableFuture<FlowGate> updateGateSchema(String gateId, Object schema) {
+        return httpClient.putAbsoluteAsync(flowUrl("/gates/" + gateId + "/schema"), schema, FlowGate.class);
+    }
+
+    /**
+     * Publishes a gate (makes draft version active).
+     *
+     * @param gateId The gate ID
+     * @return Future completing with the published gate
+     */
+    public CompletableFuture<FlowGate> publishGate(String gateId) {
+        Map<String, Object> body = new HashMap<>();
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/" + gateId + "/publish"), body, FlowGate.class);
+    }
+
+    /**
+     * Rolls back a gate to the previous version.
+     *
+     * @param gateId The gate ID
+     * @return Future completing with the rolled-back gate
+     */
+    public CompletableFuture<FlowGate> rollbackGate(String gateId) {
+        return rollbackGate(gateId, null);
+    }
+
+    /**
+     * Rolls back a gate to a specific version.
+     *
+     * @param gateId    The gate ID
+     * @param versionId The version ID to roll back to, or null for previous version
+     * @return Future completing with the rolled-back gate
+     */
+    public CompletableFuture<FlowGate> rollbackGate(String gateId, String versionId) {
+        Map<String, Object> body = FlowResource.optionalBody("versionId", versionId);
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/" + gateId + "/rollback"), body, FlowGate.class);
+    }
+
+    /**
+     * Exports a gate configuration.
+     *
+     * @param gateId The gate ID
+     * @return Future completing with the exported gate data
+     */
+    public CompletableFuture<Map<String, Object>> exportGate(String gateId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/gates/" + gateId + "/export"), null, MAP_TYPE);
+    }
+
+    /**
+     * Imports a gate configuration.
+     *
+     * @param data The gate data to import
+     * @return Future completing with the imported gate
+     */
+    public CompletableFuture<FlowGate> importGate(Object data) {
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/import"), data, FlowGate.class);
+    }
+
+    /**
+     * Tests a gate with payload (dry-run, no run created).
+     *
+     * @param gateId  The gate ID
+     * @param payload The test payload
+     * @return Future completing with the test result
+     */
+    public CompletableFuture<TestGateResult> testGate(String gateId, Map<String, Object> payload) {
+        Map<String, Object> body = FlowResource.testGateBody(payload);
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/" + gateId + "/test"), body, TestGateResult.class);
+    }
+
+    /**
+     * Validates data against a gate (creates a run + validation_id).
+     *
+     * @param gateId  The gate ID
+     * @param request The validate request
+     * @return Future completing with the created run
+     */
+    public CompletableFuture<FlowRun> validateGate(String gateId, ValidateGateRequest request) {
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/" + gateId + "/validate"), request, FlowRun.class);
+    }
+
+    /**
+     * Verifies a validation result.
+     *
+     * @param validationId The validation ID
+     * @param payload      The payload to verify
+     * @return Future completing with the verification result
+     */
+    public CompletableFuture<Map<String, Object>> verifyValidation(String validationId, Map<String, Object> payload) {
+        Map<String, Object> body = FlowResource.verifyValidationBody(validationId, payload);
+        return httpClient.postAbsoluteAsync(flowUrl("/verify"), body, MAP_TYPE);
+    }
+
+    // ---- Runs ----
+
+    /**
+     * Submits a run to a gate for validation.
+     *
+     * @param gateId  The gate ID to submit to
+     * @param request The run submission request
+     * @return Future completing with the created run
+     */
+    public CompletableFuture<FlowRun> submitRun(String gateId, SubmitRunRequest request) {
+        return submitRun(gateId, request, null);
+    }
+
+    /**
+     * Submits a run to a gate for validation, sending the given idempotency
+     * key. Resubmitting with the same key does not create a second run.
+     *
+     * @param gateId         The gate ID to submit to
+     * @param request        The run submission request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return Future completing with the created run
+     */
+    public CompletableFuture<FlowRun> submitRun(String gateId, SubmitRunRequest request, String idempotencyKey) {
+        return httpClient.postAbsoluteAsync(flowUrl("/gates/" + gateId + "/runs"), request, FlowRun.class,
+                idempotencyKey);
+    }
+
+    /**
+     * Gets a run by ID.
+     *
+     * @param runId The run ID
+     * @return Future completing with the run
+     */
+    public CompletableFuture<FlowRun> getRun(String runId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/runs/" + runId), null, FlowRun.class);
+    }
+
+    /**
+     * Lists all runs.
+     *
+     * @return Future completing with a paginated list of runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listRuns() {
+        return listRuns(null, null, null);
+    }
+
+    /**
+     * Lists runs with pagination and optional status filter.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by run status
+     * @return Future completing with a paginated list of runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listRuns(Integer page, Integer limit, String status) {
+        return list(flowUrl("/runs"), page, limit, status,
+                FlowResource.RUN_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every run across all pages, fetching the next page only when the
+     * subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param status Filter by run status
+     * @return Publisher of runs
+     */
+    public Publisher<FlowRun> listRunsPublisher(Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listRuns(page, limit, status));
+    }
+
+    /**
+     * Lists runs for a specific gate.
+     *
+     * @param gateId The gate ID
+     * @return Future completing with a paginated list of runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listRunsByGate(String gateId) {
+        return listRunsByGate(gateId, null, null, null);
+    }
+
+    /**
+     * Lists runs for a specific gate with pagination.
+     *
+     * @param gateId The gate ID
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by run status
+     * @return Future completing with a paginated list of runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listRunsByGate(String gateId, Integer page, Integer limit, String status) {
+        return list(flowUrl("/gates/" + gateId + "/runs"), page, limit, status,
+                FlowResource.RUN_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every run of a gate across all pages, fetching the next page
+     * only when the subscriber requests more.
+     *
+     * @param gateId The gate ID
+     * @param limit  Number of items per page
+     * @param status Filter by run status
+     * @return Publisher of runs
+     */
+    public Publisher<FlowRun> listRunsByGatePublisher(String gateId, Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listRunsByGate(gateId, page, limit, status));
+    }
+
+    /**
+     * Lists active (non-terminal) runs.
+     *
+     * @return Future completing with a paginated list of active runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listActiveRuns() {
+        return listActiveRuns(null, null);
+    }
+
+    /**
+     * Lists active (non-terminal) runs with pagination.
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of active runs
+     */
+    public CompletableFuture<ListResponse<FlowRun>> listActiveRuns(Integer page, Integer limit) {
+        return list(flowUrl("/runs/active"), page, limit, null,
+                FlowResource.RUN_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every active run across all pages, fetching the next page only
+     * when the subscriber requests more.
+     *
+     * @param limit Number of items per page
+     * @return Publisher of active runs
+     */
+    public Publisher<FlowRun> listActiveRunsPublisher(Integer limit) {
+        return PagePublisher.ofPages(page -> listActiveRuns(page, limit));
+    }
+
+    /**
+     * Waits for a run to reach a terminal state (1s poll, 60s timeout).
+     *
+     * @param runId The run ID to wait for
+     * @return Future completing with the terminal run
+     */
+    public CompletableFuture<FlowRun> waitForRun(String runId) {
+        return waitForRun(runId, 1000, 60000);
+    }
+
+    /**
+     * Waits for a run to reach a terminal state with custom polling settings.
+     *
+     * @param runId          The run ID to wait for
+     * @param pollIntervalMs Time between polls in milliseconds
+     * @param timeoutMs      Maximum wait time in milliseconds
+     * @return Future completing with the terminal run
+     */
+    public CompletableFuture<FlowRun> waitForRun(String runId, long pollIntervalMs, long timeoutMs) {
+        return AsyncPoller.poll(httpClient, () -> getRun(runId), FlowRun::isTerminal,
+                pollIntervalMs, timeoutMs, "Timeout waiting for run " + runId + " to complete");
+    }
+
+    /**
+     * Publishes a run each time its status changes, completing after it
+     * reaches a terminal state. The run is polled only while the subscriber
+     * has outstanding demand.
+     *
+     * @param runId          The run ID to watch
+     * @param pollIntervalMs Time between polls in milliseconds
+     * @param timeoutMs      Maximum watch time in milliseconds
+     * @return Publisher of the run's status changes
+     */
+    public Publisher<FlowRun> watchRun(String runId, long pollIntervalMs, long timeoutMs) {
+        return AsyncPoller.watch(httpClient, () -> getRun(runId), FlowRun::getStatus, FlowRun::isTerminal,
+                pollIntervalMs, timeoutMs, "Timeout waiting for run " + runId + " to complete");
+    }
+
+    /**
+     * Gets the payload for a run.
+     *
+     * @param runId The run ID
+     * @return Future completing with the run payload
+     */
+    public CompletableFuture<Map<String, Object>> getRunPayload(String runId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/runs/" + runId + "/payload"), null, MAP_TYPE);
+    }
+
+    /**
+     * Gets a specific field from the run payload.
+     *
+     * @param runId The run ID
+     * @param field The field name to retrieve
+     * @return Future completing with the field value
+     */
+    public CompletableFuture<Map<String, Object>> getRunPayload(String runId, String field) {
+        Map<String, String> params = Collections.singletonMap("field", field);
+        return httpClient.getAbsoluteAsync(flowUrl("/runs/" + runId + "/payload"), params, MAP_TYPE);
+    }
+
+    /**
+     * Gets the run chain for a correlation ID.
+     *
+     * @param correlationId The correlation ID
+     * @return Future completing with the runs in the chain
+     */
+    public CompletableFuture<ListResponse<FlowRun>> getRunChain(String correlationId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/runs/chain/" + correlationId), null,
+                        FlowResource.RUN_LIST_TYPE)
+                .thenApply(response -> FlowResource.toListResponse(response, 1, 100));
+    }
+
+    /**
+     * Gets a transaction by ID.
+     *
+     * @param transactionId The transaction ID
+     * @return Future completing with the transaction data
+     */
+    public CompletableFuture<Map<String, Object>> getTransaction(String transactionId) {
+        return httpClient.getAbsoluteAsync(flowUrl("/transactions/" + transactionId), null, MAP_TYPE);
+    }
+
+    // ---- Approvals ----
+
+    /**
+     * Lists approvals.
+     *
+     * @return Future completing with a paginated list of approvals
+     */
+    public CompletableFuture<ListResponse<FlowApproval>> listApprovals() {
+        return listApprovals(null, null, null);
+    }
+
+    /**
+     * Lists approvals with pagination and optional status filter.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param status Filter by approval status
+     * @return Future completing with a paginated list of approvals
+     */
+    public CompletableFuture<ListResponse<FlowApproval>> listApprovals(Integer page, Integer limit, String status) {
+        return list(flowUrl("/approvals"), page, limit, status,
+                FlowResource.APPROVAL_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every approval across all pages, fetching the next page only
+     * when the subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param status Filter by approval status
+     * @return Publisher of approvals
+     */
+    public Publisher<FlowApproval> listApprovalsPublisher(Integer limit, String status) {
+        return PagePublisher.ofPages(page -> listApprovals(page, limit, status));
+    }
+
+    /**
+     * Approves a pending approval.
+     *
+     * @param approvalId The approval ID
+     * @return Future completing with the updated approval
+     */
+    public CompletableFuture<FlowApproval> approve(String approvalId) {
+        return approve(approvalId, null);
+    }
+
+    /**
+     * Approves a pending approval with an optional note.
+     *
+     * @param approvalId The approval ID
+     * @param note       Optional reviewer note
+     * @return Future completing with the updated approval
+     */
+    public CompletableFuture<FlowApproval> approve(String approvalId, String note) {
+        Map<String, Object> body = FlowResource.optionalBody("note", note);
+        return httpClient.postAbsoluteAsync(flowUrl("/approvals/" + approvalId + "/approve"), body, FlowApproval.class);
+    }
+
+    /**
+     * Rejects a pending approval.
+     *
+     * @param approvalId The approval ID
+     * @return Future completing with the updated approval
+     */
+    public CompletableFuture<FlowApproval> reject(String approvalId) {
+        return reject(approvalId, null);
+    }
+
+    /**
+     * Rejects a pending approval with an optional reason.
+     *
+     * @param approvalId The approval ID
+     * @param reason     Optional rejection reason
+     * @return Future completing with the updated approval
+     */
+    public CompletableFuture<FlowApproval> reject(String approvalId, String reason) {
+        Map<String, Object> body = FlowResource.optionalBody("reason", reason);
+        return httpClient.postAbsoluteAsync(flowUrl("/approvals/" + approvalId + "/reject"), body, FlowApproval.class);
+    }
+
+    /**
+     * Resends approval notification emails for a run.
+     *
+     * @param runId The run ID
+     * @return Future completing with success, sentCount, and totalApprovers
+     */
+    public CompletableFuture<Map<String, Object>> resendApprovalEmail(String runId) {
+        Map<String, Object> body = new HashMap<>();
+        return httpClient.postAbsoluteAsync(flowUrl("/approvals/resend/" + runId), body, MAP_TYPE);
+    }
+
+    // ---- Deliveries ----
+
+    /**
+     * Lists deliveries for a run.
+     *
+     * @param runId The run ID
+     * @return Future completing with a paginated list of deliveries
+     */
+    public CompletableFuture<ListResponse<FlowDelivery>> listDeliveries(String runId) {
+        return listDeliveries(runId, null, null);
+    }
+
+    /**
+     * Lists deliveries for a run with pagination.
+     *
+     * @param runId The run ID
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of deliveries
+     */
+    public CompletableFuture<ListResponse<FlowDelivery>> listDeliveries(String runId, Integer page, Integer limit) {
+        return list(flowUrl("/runs/" + runId + "/deliveries"), page, limit, null,
+                FlowResource.DELIVERY_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every delivery of a run across all pages, fetching the next page
+     * only when the subscriber requests more.
+     *
+     * @param runId The run ID
+     * @param limit Number of items per page
+     * @return Publisher of deliveries
+     */
+    public Publisher<FlowDelivery> listDeliveriesPublisher(String runId, Integer limit) {
+        return PagePublisher.ofPages(page -> listDeliveries(runId, page, limit));
+    }
+
+    /**
+     * Retries a failed delivery.
+     *
+     * @param deliveryId The delivery ID
+     * @return Future completing with the updated delivery
+     */
+    public CompletableFuture<FlowDelivery> retryDelivery(String deliveryId) {
+        Map<String, Object> body = new HashMap<>();
+        return httpClient.postAbsoluteAsync(flowUrl("/deliveries/" + deliveryId + "/retry"), body, FlowDelivery.class);
+    }
+
+    // ---- Internal helpers ----
+
+    private <T> CompletableFuture<ListResponse<T>> list(String url, Integer page, Integer limit, String status,
+                                                        TypeReference<FlowResource.FlowListResponse<T>> type) {
+        int effectiveLimit = limit != null ? limit : 20;
+        int effectivePage = page != null ? page : 1;
+        Map<String, String> params = FlowResource.pageParams(effectivePage, effectiveLimit, status);
+
+        return httpClient.getAbsoluteAsync(url, params, type)
+                .thenApply(response -> FlowResource.toListResponse(response, effectivePage, effectiveLimit));
+    }
+}
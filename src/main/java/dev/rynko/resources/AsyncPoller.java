@@ -0,0 +1,95 @@
+package dev.rynko.resources;
+
+import dev.rynko.utils.HttpClient;
+
+import org.reactivestreams.Publisher;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Polls an async fetch until a terminal state is reached, scheduling each
+ * poll instead of sleeping on a thread.
+ */
+final class AsyncPoller {
+
+    private AsyncPoller() {
+    }
+
+    static <T> CompletableFuture<T> poll(HttpClient httpClient, Supplier<CompletableFuture<T>> fetch,
+                                         Predicate<T> isTerminal, long pollIntervalMs, long timeoutMs,
+                                         String timeoutMessage) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long startTime = System.currentTimeMillis();
+        pollOnce(httpClient, fetch, isTerminal, pollIntervalMs, timeoutMs, timeoutMessage, startTime, result);
+        return result;
+    }
+
+    private static <T> void pollOnce(HttpClient httpClient, Supplier<CompletableFuture<T>> fetch,
+                                     Predicate<T> isTerminal, long pollIntervalMs, long timeoutMs,
+                                     String timeoutMessage, long startTime, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        fetch.get().whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (isTerminal.test(value)) {
+                result.complete(value);
+            } else if (System.currentTimeMillis() - startTime > timeoutMs) {
+                result.completeExceptionally(new RuntimeException(timeoutMessage));
+            } else {
+                httpClient.schedule(() -> pollOnce(httpClient, fetch, isTerminal, pollIntervalMs, timeoutMs,
+                        timeoutMessage, startTime, result), pollIntervalMs);
+            }
+        });
+    }
+
+    /**
+     * Publishes each change of state seen while polling, completing after the
+     * terminal value. Polls run only while the subscriber has outstanding
+     * demand.
+     */
+    static <T> Publisher<T> watch(HttpClient httpClient, Supplier<CompletableFuture<T>> fetch,
+                                  Function<T, ?> state, Predicate<T> isTerminal, long pollIntervalMs,
+                                  long timeoutMs, String timeoutMessage) {
+        return new PagePublisher<>(() -> new PagePublisher.Source<T>() {
+            private final long startTime = System.currentTimeMillis();
+            private Object lastState;
+
+            @Override
+            public CompletableFuture<PagePublisher.Batch<T>> fetch(int index) {
+                if (index > 1 && System.currentTimeMillis() - startTime > timeoutMs) {
+                    return HttpClient.failedFuture(new RuntimeException(timeoutMessage));
+                }
+                CompletableFuture<T> value = index == 1 ? fetch.get() : delayed(httpClient, fetch, pollIntervalMs);
+                return value.thenApply(current -> {
+                    boolean terminal = isTerminal.test(current);
+                    Object currentState = state.apply(current);
+                    boolean changed = index == 1 || !Objects.equals(currentState, lastState);
+                    lastState = currentState;
+                    return new PagePublisher.Batch<>(
+                            changed ? Collections.singletonList(current) : Collections.<T>emptyList(), terminal);
+                });
+            }
+        });
+    }
+
+    private static <T> CompletableFuture<T> delayed(HttpClient httpClient, Supplier<CompletableFuture<T>> fetch,
+                                                    long delayMs) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        httpClient.schedule(() -> fetch.get().whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }), delayMs);
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.rynko.resources;
+
+import dev.rynko.models.ListResponse;
+import dev.rynko.models.Template;
+import dev.rynko.utils.HttpClient;
+import org.reactivestreams.Publisher;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link TemplatesResource}.
+ *
+ * @since 1.5.0
+ */
+public class AsyncTemplatesResource {
+
+    private final HttpClient httpClient;
+
+    public AsyncTemplatesResource(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Lists all templates.
+     *
+     * @return Future completing with a paginated list of templates
+     */
+    public CompletableFuture<ListResponse<Template>> list() {
+        return list(null, null, null);
+    }
+
+    /**
+     * Lists templates with pagination.
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of templates
+     */
+    public CompletableFuture<ListResponse<Template>> list(Integer page, Integer limit) {
+        return list(page, limit, null);
+    }
+
+    /**
+     * Lists templates with pagination and search.
+     *
+     * @param page   Page number (1-based)
+     * @param limit  Number of items per page
+     * @param search Search by template name
+     * @return Future completing with a paginated list of templates
+     */
+    public CompletableFuture<ListResponse<Template>> list(Integer page, Integer limit, String search) {
+        Map<String, String> params = TemplatesResource.listParams(page, limit, search);
+
+        String url = httpClient.getBaseUrlWithoutVersion() + "/api/templates/attachment";
+        return httpClient.getAbsoluteAsync(url, params, TemplatesResource.TEMPLATE_LIST_TYPE);
+    }
+
+    /**
+     * Publishes every template across all pages, fetching the next page only
+     * when the subscriber requests more.
+     *
+     * @param limit  Number of items per page
+     * @param search Search by template name
+     * @return Publisher of templates
+     */
+    public Publisher<Template> listPublisher(Integer limit, String search) {
+        return PagePublisher.ofPages(page -> list(page, limit, search));
+    }
+
+    /**
+     * Lists PDF templates with pagination (client-side filter by outputFormats).
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of PDF templates
+     */
+    public CompletableFuture<ListResponse<Template>> listPdf(Integer page, Integer limit) {
+        return list(page, limit).thenApply(TemplatesResource::filterPdf);
+    }
+
+    /**
+     * Lists Excel templates with pagination (client-side filter by outputFormats).
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of Excel templates
+     */
+    public CompletableFuture<ListResponse<Template>> listExcel(Integer page, Integer limit) {
+        return list(page, limit).thenApply(TemplatesResource::filterExcel);
+    }
+
+    /**
+     * Gets a template by ID.
+     *
+     * @param templateId The template ID (UUID, shortId, or slug)
+     * @return Future completing with the template
+     */
+    public CompletableFuture<Template> get(String templateId) {
+        String url = httpClient.getBaseUrlWithoutVersion() + "/api/templates/" + templateId;
+        return httpClient.getAbsoluteAsync(url, null, Template.class);
+    }
+}
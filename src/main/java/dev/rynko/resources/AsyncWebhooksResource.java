@@ -0,0 +1,188 @@
+package dev.rynko.resources;
+
+import dev.rynko.models.CreateWebhookRequest;
+import dev.rynko.models.ListResponse;
+import dev.rynko.models.UpdateWebhookRequest;
+import dev.rynko.models.WebhookDelivery;
+import dev.rynko.resources.WebhooksResource.WebhookSubscription;
+import dev.rynko.utils.HttpClient;
+import org.reactivestreams.Publisher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link WebhooksResource}.
+ *
+ * <p>Signature verification is a local operation and stays on
+ * {@link WebhooksResource}.</p>
+ *
+ * @since 1.5.0
+ */
+public class AsyncWebhooksResource {
+
+    private final HttpClient httpClient;
+
+    public AsyncWebhooksResource(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Lists webhook subscriptions.
+     *
+     * @return Future completing with a paginated list of webhook subscriptions
+     */
+    public CompletableFuture<ListResponse<WebhookSubscription>> list() {
+        return list(null, null);
+    }
+
+    /**
+     * Lists webhook subscriptions with pagination.
+     *
+     * @param page  Page number (1-based)
+     * @param limit Number of items per page
+     * @return Future completing with a paginated list of webhook subscriptions
+     */
+    public CompletableFuture<ListResponse<WebhookSubscription>> list(Integer page, Integer limit) {
+        int effectiveLimit = limit != null ? limit : 20;
+        int effectivePage = page != null ? page : 1;
+
+        Map<String, String> params = WebhooksResource.pageParams(effectivePage, effectiveLimit);
+
+        return httpClient.getAsync("/webhook-subscriptions", params,
+                        WebhooksResource.WEBHOOK_LIST_TYPE)
+                .thenApply(response -> WebhooksResource.toListResponse(
+                        response.getData(), response.getTotal(), effectivePage, effectiveLimit));
+    }
+
+    /**
+     * Publishes every webhook subscription across all pages, fetching the next
+     * page only when the subscriber requests more.
+     *
+     * @param limit Number of items per page
+     * @return Publisher of webhook subscriptions
+     */
+    public Publisher<WebhookSubscription> listPublisher(Integer limit) {
+        return PagePublisher.ofPages(page -> list(page, limit));
+    }
+
+    /**
+     * Gets a webhook subscription by ID.
+     *
+     * @param webhookId The webhook subscription ID
+     * @return Future completing with the webhook subscription
+     */
+    public CompletableFuture<WebhookSubscription> get(String webhookId) {
+        return httpClient.getAsync("/webhook-subscriptions/" + webhookId, null, WebhookSubscription.class);
+    }
+
+    /**
+     * Creates a webhook subscription.
+     *
+     * @param request The create webhook request
+     * @return Future completing with the created webhook subscription
+     */
+    public CompletableFuture<WebhookSubscription> create(CreateWebhookRequest request) {
+        return httpClient.postAsync("/webhook-subscriptions", request, WebhookSubscription.class);
+    }
+
+    /**
+     * Updates a webhook subscription.
+     *
+     * @param webhookId The webhook subscription ID
+     * @param request   The update request
+     * @return Future completing with the updated webhook subscription
+     */
+    public CompletableFuture<WebhookSubscription> update(String webhookId, UpdateWebhookRequest request) {
+        return httpClient.patchAsync("/webhook-subscriptions/" + webhookId, request, WebhookSubscription.class);
+    }
+
+    /**
+     * Deletes a webhook subscription.
+     *
+     * @param webhookId The webhook subscription ID
+     * @return Future completing when the subscription is deleted
+     */
+    public CompletableFuture<Void> delete(String webhookId) {
+        return httpClient.deleteAsync("/webhook-subscriptions/" + webhookId);
+    }
+
+    /**
+     * Rotates the signing secret for a webhook subscription.
+     *
+     * @param webhookId The webhook subscription ID
+     * @return Future completing with the updated webhook subscription
+     */
+    public CompletableFuture<WebhookSubscription> rotateSecret(String webhookId) {
+        return httpClient.postAsync("/webhook-subscriptions/" + webhookId + "/rotate-secret",
+                new HashMap<>(), WebhookSubscription.class);
+    }
+
+    /**
+     * Sends a test event to a webhook subscription.
+     *
+     * @param webhookId The webhook subscription ID
+     * @return Future completing when the test event is sent
+     */
+    public CompletableFuture<Void> test(String webhookId) {
+        return httpClient.postAsync("/webhook-subscriptions/" + webhookId + "/test",
+                new HashMap<>(), Void.class);
+    }
+
+    /**
+     * Lists deliveries for a webhook subscription.
+     *
+     * @param webhookId The webhook subscription ID
+     * @return Future completing with a paginated list of deliveries
+     */
+    public CompletableFuture<ListResponse<WebhookDelivery>> listDeliveries(String webhookId) {
+        return listDeliveries(webhookId, null, null);
+    }
+
+    /**
+     * Lists deliveries for a webhook subscription with pagination.
+     *
+     * @param webhookId The webhook subscription ID
+     * @param limit     Number of items per page
+     * @param offset    Offset for pagination
+     * @return Future completing with a paginated list of deliveries
+     */
+    public CompletableFuture<ListResponse<WebhookDelivery>> listDeliveries(String webhookId, Integer limit, Integer offset) {
+        int effectiveLimit = limit != null ? limit : 20;
+        int effectiveOffset = offset != null ? offset : 0;
+
+        Map<String, String> params = WebhooksResource.offsetParams(effectiveLimit, effectiveOffset);
+
+        return httpClient.getAsync("/webhook-subscriptions/" + webhookId + "/deliveries", params,
+                        WebhooksResource.DELIVERY_LIST_TYPE)
+                .thenApply(response -> WebhooksResource.toListResponse(response.getData(), response.getTotal(),
+                        effectiveOffset / effectiveLimit + 1, effectiveLimit));
+    }
+
+    /**
+     * Publishes every delivery of a webhook subscription across all pages,
+     * fetching the next page only when the subscriber requests more.
+     *
+     * @param webhookId The webhook subscription ID
+     * @param limit     Number of items per page
+     * @return Publisher of deliveries
+     */
+    public Publisher<WebhookDelivery> listDeliveriesPublisher(String webhookId, Integer limit) {
+        int effectiveLimit = limit != null ? limit : 20;
+        return PagePublisher.ofPages(page -> listDeliveries(webhookId, effectiveLimit, (page - 1) * effectiveLimit));
+    }
+
+    /**
+     * Retries a failed webhook delivery.
+     *
+     * @param webhookId  The webhook subscription ID
+     * @param deliveryId The delivery ID
+     * @return Future completing with the retried delivery
+     */
+    public CompletableFuture<WebhookDelivery> retryDelivery(String webhookId, String deliveryId) {
+        return httpClient.postAsync(
+                "/webhook-subscriptions/" + webhookId + "/deliveries/" + deliveryId + "/retry",
+                new HashMap<>(), WebhookDelivery.class);
+    }
+}
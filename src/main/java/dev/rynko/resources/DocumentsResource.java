@@ -56,6 +56,8 @@ import java.util.Map;
  */
 public class DocumentsResource {
 
+    static final TypeReference<JobsListResponse> JOB_LIST_TYPE = new TypeReference<JobsListResponse>() {};
+
     private final HttpClient httpClient;
 
     public DocumentsResource(HttpClient httpClient) {
@@ -70,7 +72,23 @@ public class DocumentsResource {
      * @throws RynkoException if the request fails
      */
     public GenerateResult generate(GenerateRequest request) throws RynkoException {
-        return httpClient.post("/documents/generate", request, GenerateResult.class);
+        return generate(request, null);
+    }
+
+    /**
+     * Generates a document from a template, sending the given idempotency key.
+     *
+     * <p>Use a key derived from your own record (an order ID, say) so that a
+     * resubmission after a crash is recognised as a duplicate by the API.
+     * Without one, a key is generated per call and reused across retries.</p>
+     *
+     * @param request        The generation request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return The generation result with download URL
+     * @throws RynkoException if the request fails
+     */
+    public GenerateResult generate(GenerateRequest request, String idempotencyKey) throws RynkoException {
+        return httpClient.post("/documents/generate", request, GenerateResult.class, idempotencyKey);
     }
 
     /**
@@ -109,7 +127,20 @@ public class DocumentsResource {
      * @throws RynkoException if the request fails
      */
     public GenerateBatchResult generateBatch(GenerateBatchRequest request) throws RynkoException {
-        return httpClient.post("/documents/generate/batch", request, GenerateBatchResult.class);
+        return generateBatch(request, null);
+    }
+
+    /**
+     * Generates multiple documents in a single batch, sending the given
+     * idempotency key.
+     *
+     * @param request        The batch generation request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return The batch result with batch ID and total job count
+     * @throws RynkoException if the request fails
+     */
+    public GenerateBatchResult generateBatch(GenerateBatchRequest request, String idempotencyKey) throws RynkoException {
+        return httpClient.post("/documents/generate/batch", request, GenerateBatchResult.class, idempotencyKey);
     }
 
     /**
@@ -232,11 +263,25 @@ public class DocumentsResource {
     public ListResponse<GenerateResult> list(Integer page, Integer limit, String templateId, String workspaceId, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-        int offset = (effectivePage - 1) * effectiveLimit;
+        Map<String, String> params = jobListParams(effectivePage, effectiveLimit, status, templateId, workspaceId);
 
+        // Backend returns { jobs: [], total: number }
+        JobsListResponse response = httpClient.get("/documents/jobs", params, JOB_LIST_TYPE);
+
+        return toListResponse(response, effectivePage, effectiveLimit);
+    }
+
+    /**
+     * Converts the backend jobs response to ListResponse format.
+     */
+    /**
+     * Builds the query parameters of a job listing. Shared with {@link AsyncDocumentsResource}.
+     */
+    static Map<String, String> jobListParams(int page, int limit, String status, String templateId,
+                                             String workspaceId) {
         Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("offset", String.valueOf(offset));
+        params.put("limit", String.valueOf(limit));
+        params.put("offset", String.valueOf((page - 1) * limit));
         if (templateId != null) {
             params.put("templateId", templateId);
         }
@@ -246,19 +291,18 @@ public class DocumentsResource {
         if (status != null) {
             params.put("status", status);
         }
+        return params;
+    }
 
-        // Backend returns { jobs: [], total: number }
-        JobsListResponse response = httpClient.get("/documents/jobs", params, new TypeReference<JobsListResponse>() {});
-
-        // Convert to ListResponse format
+    static ListResponse<GenerateResult> toListResponse(JobsListResponse response, int page, int limit) {
         ListResponse<GenerateResult> result = new ListResponse<>();
         result.setData(response.getJobs());
 
         PaginationMeta meta = new PaginationMeta();
         meta.setTotal(response.getTotal());
-        meta.setPage(effectivePage);
-        meta.setLimit(effectiveLimit);
-        meta.setTotalPages(effectiveLimit > 0 ? (response.getTotal() + effectiveLimit - 1) / effectiveLimit : 1);
+        meta.setPage(page);
+        meta.setLimit(limit);
+        meta.setTotalPages(limit > 0 ? (response.getTotal() + limit - 1) / limit : 1);
         result.setMeta(meta);
 
         return result;
@@ -267,7 +311,7 @@ public class DocumentsResource {
     /**
      * Internal class to parse backend response format.
      */
-    private static class JobsListResponse {
+    static class JobsListResponse {
         @JsonProperty("jobs")
         private List<GenerateResult> jobs;
 
@@ -364,26 +408,17 @@ public class DocumentsResource {
     /**
      * Downloads a generated document as bytes.
      *
+     * <p>The download goes through the client's transport and is retried
+     * like other requests. It is not bounded by {@code maxResponseBytes}, nor
+     * subject to the rate limiter, circuit breaker, coalescing or hedging,
+     * which protect the API rather than the storage the URL points to. No API
+     * key is sent, as download URLs are signed.</p>
+     *
      * @param downloadUrl The download URL from the generation result
      * @return The document bytes
      * @throws RynkoException if the download fails
      */
     public byte[] download(String downloadUrl) throws RynkoException {
-        try {
-            java.net.URL url = new java.net.URL(downloadUrl);
-            java.io.InputStream inputStream = url.openStream();
-            java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
-
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-
-            inputStream.close();
-            return outputStream.toByteArray();
-        } catch (java.io.IOException e) {
-            throw new RynkoException("Failed to download document", e);
-        }
+        return httpClient.download(downloadUrl);
     }
 }
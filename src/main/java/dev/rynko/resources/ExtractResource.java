@@ -45,6 +45,9 @@ import java.util.Map;
  */
 public class ExtractResource {
 
+    static final TypeReference<ExtractListResponse<ExtractJob>> JOB_LIST_TYPE = new TypeReference<ExtractListResponse<ExtractJob>>() {};
+    static final TypeReference<ExtractListResponse<ExtractConfig>> CONFIG_LIST_TYPE = new TypeReference<ExtractListResponse<ExtractConfig>>() {};
+
     private final HttpClient httpClient;
 
     public ExtractResource(HttpClient httpClient) {
@@ -69,28 +72,11 @@ public class ExtractResource {
      * @throws RynkoException if the request fails
      */
     public ExtractJob createJob(ExtractJobRequest request) throws RynkoException {
-        Map<String, String> formFields = new HashMap<>();
-        if (request.getSchemaId() != null) {
-            formFields.put("schemaId", request.getSchemaId());
-        }
-        if (request.getGateId() != null) {
-            formFields.put("gateId", request.getGateId());
-        }
-        if (request.getInstructions() != null) {
-            formFields.put("instructions", request.getInstructions());
-        }
-
-        if (request.getSchema() != null || request.getMetadata() != null) {
-            Map<String, Object> jsonParts = new HashMap<>();
-            if (request.getSchema() != null) {
-                jsonParts.put("schema", request.getSchema());
-            }
-            if (request.getMetadata() != null) {
-                jsonParts.put("metadata", request.getMetadata());
-            }
-            // Use the multipart with json approach for complex objects
+        Map<String, String> formFields = jobFormFields(request);
+        Map<String, Object> options = jobOptions(request);
+        if (options != null) {
             return httpClient.postMultipartWithJson(
-                    extractUrl("/jobs"), request.getFiles(), jsonParts, "options", ExtractJob.class);
+                    extractUrl("/jobs"), request.getFiles(), formFields, options, "options", ExtractJob.class);
         }
 
         return httpClient.postMultipart(extractUrl("/jobs"), request.getFiles(), formFields, ExtractJob.class);
@@ -129,17 +115,11 @@ public class ExtractResource {
     public ListResponse<ExtractJob> listJobs(Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = FlowResource.pageParams(effectivePage, effectiveLimit, status);
 
         ExtractListResponse<ExtractJob> response = httpClient.getAbsolute(
                 extractUrl("/jobs"), params,
-                new TypeReference<ExtractListResponse<ExtractJob>>() {});
+                JOB_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -172,10 +152,7 @@ public class ExtractResource {
      * @throws RynkoException if the request fails
      */
     public ExtractJob discover(DiscoverRequest request) throws RynkoException {
-        Map<String, String> formFields = new HashMap<>();
-        if (request.getInstructions() != null) {
-            formFields.put("instructions", request.getInstructions());
-        }
+        Map<String, String> formFields = discoverFormFields(request);
 
         return httpClient.postMultipart(extractUrl("/discover"), request.getFiles(), formFields, ExtractJob.class);
     }
@@ -226,17 +203,11 @@ public class ExtractResource {
     public ListResponse<ExtractConfig> listConfigs(Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = FlowResource.pageParams(effectivePage, effectiveLimit, status);
 
         ExtractListResponse<ExtractConfig> response = httpClient.getAbsolute(
                 extractUrl("/configs"), params,
-                new TypeReference<ExtractListResponse<ExtractConfig>>() {});
+                CONFIG_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -285,7 +256,7 @@ public class ExtractResource {
     public ListResponse<ExtractConfig> getConfigVersions(String configId) throws RynkoException {
         ExtractListResponse<ExtractConfig> response = httpClient.getAbsolute(
                 extractUrl("/configs/" + configId + "/versions"), null,
-                new TypeReference<ExtractListResponse<ExtractConfig>>() {});
+                CONFIG_LIST_TYPE);
 
         return toListResponse(response, 1, 100);
     }
@@ -346,7 +317,50 @@ public class ExtractResource {
 
     // ---- Internal helpers ----
 
-    private static <T> ListResponse<T> toListResponse(ExtractListResponse<T> response, int page, int limit) {
+    /**
+     * Builds the plain form fields of a job upload. Shared with {@link AsyncExtractResource}.
+     */
+    static Map<String, String> jobFormFields(ExtractJobRequest request) {
+        Map<String, String> formFields = new HashMap<>();
+        if (request.getSchemaId() != null) {
+            formFields.put("schemaId", request.getSchemaId());
+        }
+        if (request.getGateId() != null) {
+            formFields.put("gateId", request.getGateId());
+        }
+        if (request.getInstructions() != null) {
+            formFields.put("instructions", request.getInstructions());
+        }
+        return formFields;
+    }
+
+    /**
+     * Builds the JSON "options" part of a job upload, or null when the request has no inline
+     * schema or metadata.
+     */
+    static Map<String, Object> jobOptions(ExtractJobRequest request) {
+        if (request.getSchema() == null && request.getMetadata() == null) {
+            return null;
+        }
+        Map<String, Object> options = new HashMap<>();
+        if (request.getSchema() != null) {
+            options.put("schema", request.getSchema());
+        }
+        if (request.getMetadata() != null) {
+            options.put("metadata", request.getMetadata());
+        }
+        return options;
+    }
+
+    static Map<String, String> discoverFormFields(DiscoverRequest request) {
+        Map<String, String> formFields = new HashMap<>();
+        if (request.getInstructions() != null) {
+            formFields.put("instructions", request.getInstructions());
+        }
+        return formFields;
+    }
+
+    static <T> ListResponse<T> toListResponse(ExtractListResponse<T> response, int page, int limit) {
         ListResponse<T> result = new ListResponse<>();
         result.setData(response.getData());
 
@@ -363,7 +377,7 @@ public class ExtractResource {
     /**
      * Internal class to parse Extract list responses.
      */
-    private static class ExtractListResponse<T> {
+    static class ExtractListResponse<T> {
         @JsonProperty("data")
         private List<T> data;
 
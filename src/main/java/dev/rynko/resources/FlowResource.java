@@ -16,6 +16,7 @@ import dev.rynko.models.UpdateGateRequest;
 import dev.rynko.models.ValidateGateRequest;
 import dev.rynko.utils.HttpClient;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,11 @@ import java.util.Map;
  */
 public class FlowResource {
 
+    static final TypeReference<FlowListResponse<FlowGate>> GATE_LIST_TYPE = new TypeReference<FlowListResponse<FlowGate>>() {};
+    static final TypeReference<FlowListResponse<FlowRun>> RUN_LIST_TYPE = new TypeReference<FlowListResponse<FlowRun>>() {};
+    static final TypeReference<FlowListResponse<FlowApproval>> APPROVAL_LIST_TYPE = new TypeReference<FlowListResponse<FlowApproval>>() {};
+    static final TypeReference<FlowListResponse<FlowDelivery>> DELIVERY_LIST_TYPE = new TypeReference<FlowListResponse<FlowDelivery>>() {};
+
     private final HttpClient httpClient;
 
     public FlowResource(HttpClient httpClient) {
@@ -79,17 +85,11 @@ public class FlowResource {
     public ListResponse<FlowGate> listGates(Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, status);
 
         FlowListResponse<FlowGate> response = httpClient.getAbsolute(
                 flowUrl("/gates"), params,
-                new TypeReference<FlowListResponse<FlowGate>>() {});
+                GATE_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -182,10 +182,7 @@ public class FlowResource {
      * @throws RynkoException if the request fails
      */
     public FlowGate rollbackGate(String gateId, String versionId) throws RynkoException {
-        Map<String, Object> body = new HashMap<>();
-        if (versionId != null) {
-            body.put("versionId", versionId);
-        }
+        Map<String, Object> body = optionalBody("versionId", versionId);
         return httpClient.postAbsolute(flowUrl("/gates/" + gateId + "/rollback"), body, FlowGate.class);
     }
 
@@ -221,8 +218,7 @@ public class FlowResource {
      * @throws RynkoException if the request fails
      */
     public TestGateResult testGate(String gateId, Map<String, Object> payload) throws RynkoException {
-        Map<String, Object> body = new HashMap<>();
-        body.put("payload", payload);
+        Map<String, Object> body = testGateBody(payload);
         return httpClient.postAbsolute(flowUrl("/gates/" + gateId + "/test"), body, TestGateResult.class);
     }
 
@@ -248,11 +244,7 @@ public class FlowResource {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> verifyValidation(String validationId, Map<String, Object> payload) throws RynkoException {
-        Map<String, Object> body = new HashMap<>();
-        body.put("validationId", validationId);
-        if (payload != null) {
-            body.put("payload", payload);
-        }
+        Map<String, Object> body = verifyValidationBody(validationId, payload);
         return httpClient.postAbsolute(flowUrl("/verify"), body, Map.class);
     }
 
@@ -267,7 +259,21 @@ public class FlowResource {
      * @throws RynkoException if the request fails
      */
     public FlowRun submitRun(String gateId, SubmitRunRequest request) throws RynkoException {
-        return httpClient.postAbsolute(flowUrl("/gates/" + gateId + "/runs"), request, FlowRun.class);
+        return submitRun(gateId, request, null);
+    }
+
+    /**
+     * Submits a run to a gate for validation, sending the given idempotency
+     * key. Resubmitting with the same key does not create a second run.
+     *
+     * @param gateId         The gate ID to submit to
+     * @param request        The run submission request
+     * @param idempotencyKey The idempotency key, or null to generate one
+     * @return The created run
+     * @throws RynkoException if the request fails
+     */
+    public FlowRun submitRun(String gateId, SubmitRunRequest request, String idempotencyKey) throws RynkoException {
+        return httpClient.postAbsolute(flowUrl("/gates/" + gateId + "/runs"), request, FlowRun.class, idempotencyKey);
     }
 
     /**
@@ -303,17 +309,11 @@ public class FlowResource {
     public ListResponse<FlowRun> listRuns(Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, status);
 
         FlowListResponse<FlowRun> response = httpClient.getAbsolute(
                 flowUrl("/runs"), params,
-                new TypeReference<FlowListResponse<FlowRun>>() {});
+                RUN_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -342,17 +342,11 @@ public class FlowResource {
     public ListResponse<FlowRun> listRunsByGate(String gateId, Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, status);
 
         FlowListResponse<FlowRun> response = httpClient.getAbsolute(
                 flowUrl("/gates/" + gateId + "/runs"), params,
-                new TypeReference<FlowListResponse<FlowRun>>() {});
+                RUN_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -378,14 +372,11 @@ public class FlowResource {
     public ListResponse<FlowRun> listActiveRuns(Integer page, Integer limit) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, null);
 
         FlowListResponse<FlowRun> response = httpClient.getAbsolute(
                 flowUrl("/runs/active"), params,
-                new TypeReference<FlowListResponse<FlowRun>>() {});
+                RUN_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -458,8 +449,7 @@ public class FlowResource {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getRunPayload(String runId, String field) throws RynkoException {
-        Map<String, String> params = new HashMap<>();
-        params.put("field", field);
+        Map<String, String> params = Collections.singletonMap("field", field);
         return httpClient.getAbsolute(flowUrl("/runs/" + runId + "/payload"), params, Map.class);
     }
 
@@ -473,7 +463,7 @@ public class FlowResource {
     public ListResponse<FlowRun> getRunChain(String correlationId) throws RynkoException {
         FlowListResponse<FlowRun> response = httpClient.getAbsolute(
                 flowUrl("/runs/chain/" + correlationId), null,
-                new TypeReference<FlowListResponse<FlowRun>>() {});
+                RUN_LIST_TYPE);
 
         return toListResponse(response, 1, 100);
     }
@@ -514,17 +504,11 @@ public class FlowResource {
     public ListResponse<FlowApproval> listApprovals(Integer page, Integer limit, String status) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
-        if (status != null) {
-            params.put("status", status);
-        }
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, status);
 
         FlowListResponse<FlowApproval> response = httpClient.getAbsolute(
                 flowUrl("/approvals"), params,
-                new TypeReference<FlowListResponse<FlowApproval>>() {});
+                APPROVAL_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -549,10 +533,7 @@ public class FlowResource {
      * @throws RynkoException if the request fails
      */
     public FlowApproval approve(String approvalId, String note) throws RynkoException {
-        Map<String, Object> body = new HashMap<>();
-        if (note != null) {
-            body.put("note", note);
-        }
+        Map<String, Object> body = optionalBody("note", note);
         return httpClient.postAbsolute(flowUrl("/approvals/" + approvalId + "/approve"), body, FlowApproval.class);
     }
 
@@ -576,10 +557,7 @@ public class FlowResource {
      * @throws RynkoException if the request fails
      */
     public FlowApproval reject(String approvalId, String reason) throws RynkoException {
-        Map<String, Object> body = new HashMap<>();
-        if (reason != null) {
-            body.put("reason", reason);
-        }
+        Map<String, Object> body = optionalBody("reason", reason);
         return httpClient.postAbsolute(flowUrl("/approvals/" + approvalId + "/reject"), body, FlowApproval.class);
     }
 
@@ -624,14 +602,11 @@ public class FlowResource {
     public ListResponse<FlowDelivery> listDeliveries(String runId, Integer page, Integer limit) throws RynkoException {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
-
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("page", String.valueOf(effectivePage));
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit, null);
 
         FlowListResponse<FlowDelivery> response = httpClient.getAbsolute(
                 flowUrl("/runs/" + runId + "/deliveries"), params,
-                new TypeReference<FlowListResponse<FlowDelivery>>() {});
+                DELIVERY_LIST_TYPE);
 
         return toListResponse(response, effectivePage, effectiveLimit);
     }
@@ -650,7 +625,44 @@ public class FlowResource {
 
     // ---- Internal helpers ----
 
-    private static <T> ListResponse<T> toListResponse(FlowListResponse<T> response, int page, int limit) {
+    /**
+     * Builds the query parameters of a paginated list call. Shared by the flow and extract resources
+     * and their async variants.
+     */
+    static Map<String, String> pageParams(int page, int limit, String status) {
+        Map<String, String> params = new HashMap<>();
+        params.put("limit", String.valueOf(limit));
+        params.put("page", String.valueOf(page));
+        if (status != null) {
+            params.put("status", status);
+        }
+        return params;
+    }
+
+    /**
+     * Builds a request body holding {@code key} only when {@code value} is set.
+     */
+    static Map<String, Object> optionalBody(String key, Object value) {
+        Map<String, Object> body = new HashMap<>();
+        if (value != null) {
+            body.put(key, value);
+        }
+        return body;
+    }
+
+    static Map<String, Object> testGateBody(Map<String, Object> payload) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("payload", payload);
+        return body;
+    }
+
+    static Map<String, Object> verifyValidationBody(String validationId, Map<String, Object> payload) {
+        Map<String, Object> body = optionalBody("payload", payload);
+        body.put("validationId", validationId);
+        return body;
+    }
+
+    static <T> ListResponse<T> toListResponse(FlowListResponse<T> response, int page, int limit) {
         ListResponse<T> result = new ListResponse<>();
         result.setData(response.getData());
 
@@ -667,7 +679,7 @@ public class FlowResource {
     /**
      * Internal class to parse Flow list responses.
      */
-    private static class FlowListResponse<T> {
+    static class FlowListResponse<T> {
         @JsonProperty("data")
         private List<T> data;
 
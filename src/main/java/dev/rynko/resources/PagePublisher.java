@@ -0,0 +1,195 @@
+package dev.rynko.resources;
+
+import dev.rynko.models.ListResponse;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * A cold {@link Publisher} that emits items fetched in batches, such as the
+ * pages of a list endpoint. The next batch is requested only once every item
+ * already fetched has been delivered and the subscriber still has demand, so
+ * at most one batch is held in memory per subscription.
+ *
+ * <p>Each subscription starts from the first batch.</p>
+ */
+final class PagePublisher<T> implements Publisher<T> {
+
+    /**
+     * Fetches the batches of one subscription.
+     */
+    interface Source<T> {
+        /**
+         * Fetches the batch with the given 1-based index.
+         */
+        CompletableFuture<Batch<T>> fetch(int index);
+    }
+
+    /**
+     * Items of one batch, and whether it is the last.
+     */
+    static final class Batch<T> {
+        final List<T> items;
+        final boolean last;
+
+        Batch(List<T> items, boolean last) {
+            this.items = items;
+            this.last = last;
+        }
+    }
+
+    private final Supplier<? extends Source<T>> sources;
+
+    PagePublisher(Supplier<? extends Source<T>> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Publishes the items of every page of a list endpoint, stopping after the
+     * page that reports no more pages or comes back empty.
+     */
+    static <T> PagePublisher<T> ofPages(IntFunction<CompletableFuture<ListResponse<T>>> fetchPage) {
+        Source<T> source = page -> fetchPage.apply(page).thenApply(response -> {
+            List<T> items = response.getData();
+            boolean empty = items == null || items.isEmpty();
+            return new Batch<>(items, empty || !response.hasMore());
+        });
+        return new PagePublisher<>(() -> source);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        PageSubscription<T> subscription = new PageSubscription<>(subscriber, sources.get());
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class PageSubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final Source<T> source;
+        private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        // Serializes drain() so that signals never overlap
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile boolean fetching;
+        private volatile boolean last;
+        private volatile Throwable error;
+        private int nextIndex = 1;
+
+        PageSubscription(Subscriber<? super T> subscriber, Source<T> source) {
+            this.subscriber = subscriber;
+            this.source = source;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Rule 3.9: request must be positive, was " + n);
+                buffer.clear();
+                drain();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                buffer.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    T item = buffer.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    demand = requested.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+
+                if (buffer.isEmpty()) {
+                    Throwable failure = error;
+                    if (failure != null) {
+                        cancelled = true;
+                        subscriber.onError(failure);
+                        return;
+                    }
+                    if (last) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand > 0 && !fetching) {
+                        fetching = true;
+                        fetch(nextIndex++);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void fetch(int index) {
+            CompletableFuture<Batch<T>> batch;
+            try {
+                batch = source.fetch(index);
+            } catch (RuntimeException e) {
+                batch = new CompletableFuture<>();
+                batch.completeExceptionally(e);
+            }
+            batch.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    error = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                } else {
+                    if (result.items != null) {
+                        buffer.addAll(result.items);
+                    }
+                    last = result.last;
+                }
+                fetching = false;
+                drain();
+            });
+        }
+    }
+}
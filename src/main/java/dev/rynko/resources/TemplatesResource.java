@@ -37,6 +37,8 @@ import java.util.stream.Collectors;
  */
 public class TemplatesResource {
 
+    static final TypeReference<ListResponse<Template>> TEMPLATE_LIST_TYPE = new TypeReference<ListResponse<Template>>() {};
+
     private final HttpClient httpClient;
 
     public TemplatesResource(HttpClient httpClient) {
@@ -75,20 +77,11 @@ public class TemplatesResource {
      * @throws RynkoException if the request fails
      */
     public ListResponse<Template> list(Integer page, Integer limit, String search) throws RynkoException {
-        Map<String, String> params = new HashMap<>();
-        if (page != null) {
-            params.put("page", page.toString());
-        }
-        if (limit != null) {
-            params.put("limit", limit.toString());
-        }
-        if (search != null) {
-            params.put("search", search);
-        }
+        Map<String, String> params = listParams(page, limit, search);
 
         // Templates use non-versioned API: /api/templates/attachment
         String url = httpClient.getBaseUrlWithoutVersion() + "/api/templates/attachment";
-        return httpClient.getAbsolute(url, params, new TypeReference<ListResponse<Template>>() {});
+        return httpClient.getAbsolute(url, params, TEMPLATE_LIST_TYPE);
     }
 
     /**
@@ -110,14 +103,7 @@ public class TemplatesResource {
      * @throws RynkoException if the request fails
      */
     public ListResponse<Template> listPdf(Integer page, Integer limit) throws RynkoException {
-        ListResponse<Template> result = list(page, limit);
-        if (result.getData() != null) {
-            List<Template> filtered = result.getData().stream()
-                    .filter(t -> t.getOutputFormats() != null && t.getOutputFormats().contains("pdf"))
-                    .collect(Collectors.toList());
-            result.setData(filtered);
-        }
-        return result;
+        return filterPdf(list(page, limit));
     }
 
     /**
@@ -130,6 +116,23 @@ public class TemplatesResource {
         return listExcel(null, null);
     }
 
+    /**
+     * Builds the query parameters of a template listing. Shared with {@link AsyncTemplatesResource}.
+     */
+    static Map<String, String> listParams(Integer page, Integer limit, String search) {
+        Map<String, String> params = new HashMap<>();
+        if (page != null) {
+            params.put("page", page.toString());
+        }
+        if (limit != null) {
+            params.put("limit", limit.toString());
+        }
+        if (search != null) {
+            params.put("search", search);
+        }
+        return params;
+    }
+
     /**
      * Lists Excel templates with pagination (client-side filter by outputFormats).
      *
@@ -139,7 +142,20 @@ public class TemplatesResource {
      * @throws RynkoException if the request fails
      */
     public ListResponse<Template> listExcel(Integer page, Integer limit) throws RynkoException {
-        ListResponse<Template> result = list(page, limit);
+        return filterExcel(list(page, limit));
+    }
+
+    static ListResponse<Template> filterPdf(ListResponse<Template> result) {
+        if (result.getData() != null) {
+            List<Template> filtered = result.getData().stream()
+                    .filter(t -> t.getOutputFormats() != null && t.getOutputFormats().contains("pdf"))
+                    .collect(Collectors.toList());
+            result.setData(filtered);
+        }
+        return result;
+    }
+
+    static ListResponse<Template> filterExcel(ListResponse<Template> result) {
         if (result.getData() != null) {
             List<Template> filtered = result.getData().stream()
                     .filter(t -> t.getOutputFormats() != null &&
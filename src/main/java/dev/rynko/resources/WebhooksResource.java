@@ -45,6 +45,9 @@ import java.util.Map;
  */
 public class WebhooksResource {
 
+    static final TypeReference<WebhooksListResponse> WEBHOOK_LIST_TYPE = new TypeReference<WebhooksListResponse>() {};
+    static final TypeReference<DeliveriesListResponse> DELIVERY_LIST_TYPE = new TypeReference<DeliveriesListResponse>() {};
+
     private static final String HMAC_SHA256 = "HmacSHA256";
     private static final long TIMESTAMP_TOLERANCE_SECONDS = 300; // 5 minutes
 
@@ -76,22 +79,46 @@ public class WebhooksResource {
         int effectiveLimit = limit != null ? limit : 20;
         int effectivePage = page != null ? page : 1;
 
-        Map<String, String> params = new HashMap<>();
-        params.put("page", String.valueOf(effectivePage));
-        params.put("limit", String.valueOf(effectiveLimit));
+        Map<String, String> params = pageParams(effectivePage, effectiveLimit);
 
         // Backend returns { data: [], total: number }
-        WebhooksListResponse response = httpClient.get("/webhook-subscriptions", params, new TypeReference<WebhooksListResponse>() {});
+        WebhooksListResponse response = httpClient.get("/webhook-subscriptions", params, WEBHOOK_LIST_TYPE);
+
+        return toListResponse(response.getData(), response.getTotal(), effectivePage, effectiveLimit);
+    }
+
+    /**
+     * Builds the query parameters of a subscription listing. Shared with {@link AsyncWebhooksResource}.
+     */
+    static Map<String, String> pageParams(int page, int limit) {
+        Map<String, String> params = new HashMap<>();
+        params.put("page", String.valueOf(page));
+        params.put("limit", String.valueOf(limit));
+        return params;
+    }
+
+    /**
+     * Builds the query parameters of a delivery listing. Shared with {@link AsyncWebhooksResource}.
+     */
+    static Map<String, String> offsetParams(int limit, int offset) {
+        Map<String, String> params = new HashMap<>();
+        params.put("limit", String.valueOf(limit));
+        params.put("offset", String.valueOf(offset));
+        return params;
+    }
 
-        // Convert to ListResponse format
-        ListResponse<WebhookSubscription> result = new ListResponse<>();
-        result.setData(response.getData());
+    /**
+     * Converts a backend list payload to ListResponse format.
+     */
+    static <T> ListResponse<T> toListResponse(List<T> data, int total, int page, int limit) {
+        ListResponse<T> result = new ListResponse<>();
+        result.setData(data);
 
         PaginationMeta meta = new PaginationMeta();
-        meta.setTotal(response.getTotal());
-        meta.setPage(effectivePage);
-        meta.setLimit(effectiveLimit);
-        meta.setTotalPages(effectiveLimit > 0 ? (response.getTotal() + effectiveLimit - 1) / effectiveLimit : 1);
+        meta.setTotal(total);
+        meta.setPage(page);
+        meta.setLimit(limit);
+        meta.setTotalPages(limit > 0 ? (total + limit - 1) / limit : 1);
         result.setMeta(meta);
 
         return result;
@@ -100,7 +127,7 @@ public class WebhooksResource {
     /**
      * Internal class to parse backend response format.
      */
-    private static class WebhooksListResponse {
+    static class WebhooksListResponse {
         @JsonProperty("data")
         private List<WebhookSubscription> data;
 
@@ -204,25 +231,14 @@ public class WebhooksResource {
         int effectiveLimit = limit != null ? limit : 20;
         int effectiveOffset = offset != null ? offset : 0;
 
-        Map<String, String> params = new HashMap<>();
-        params.put("limit", String.valueOf(effectiveLimit));
-        params.put("offset", String.valueOf(effectiveOffset));
+        Map<String, String> params = offsetParams(effectiveLimit, effectiveOffset);
 
         DeliveriesListResponse response = httpClient.get(
                 "/webhook-subscriptions/" + webhookId + "/deliveries", params,
-                new TypeReference<DeliveriesListResponse>() {});
+                DELIVERY_LIST_TYPE);
 
-        ListResponse<WebhookDelivery> result = new ListResponse<>();
-        result.setData(response.getData());
-
-        PaginationMeta meta = new PaginationMeta();
-        meta.setTotal(response.getTotal());
-        meta.setPage(effectiveOffset / effectiveLimit + 1);
-        meta.setLimit(effectiveLimit);
-        meta.setTotalPages(effectiveLimit > 0 ? (response.getTotal() + effectiveLimit - 1) / effectiveLimit : 1);
-        result.setMeta(meta);
-
-        return result;
+        return toListResponse(response.getData(), response.getTotal(),
+                effectiveOffset / effectiveLimit + 1, effectiveLimit);
     }
 
     /**
@@ -242,7 +258,7 @@ public class WebhooksResource {
     /**
      * Internal class to parse deliveries list response.
      */
-    private static class DeliveriesListResponse {
+    static class DeliveriesListResponse {
         @JsonProperty("data")
         private List<WebhookDelivery> data;
 
@@ -0,0 +1,52 @@
+package dev.rynko.tracing;
+
+/**
+ * A span started by a {@link Tracer}. Every span is ended exactly once.
+ *
+ * @since 1.5.0
+ */
+public interface Span {
+
+    /**
+     * A span that records nothing and propagates no context.
+     */
+    Span NOOP = new Span() {
+        @Override
+        public TraceContext getContext() {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+        }
+
+        @Override
+        public void recordError(Throwable error) {
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    /**
+     * Returns the context to propagate to the server, or null to send no
+     * trace headers.
+     */
+    TraceContext getContext();
+
+    void setAttribute(String key, String value);
+
+    void setAttribute(String key, long value);
+
+    /**
+     * Marks the span as failed with the given error.
+     */
+    void recordError(Throwable error);
+
+    void end();
+}
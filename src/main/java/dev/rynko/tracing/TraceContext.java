@@ -0,0 +1,115 @@
+package dev.rynko.tracing;
+
+/**
+ * A W3C Trace Context: the identifiers sent in the {@code traceparent}
+ * header, plus the vendor data sent in {@code tracestate}.
+ *
+ * @see <a href="https://www.w3.org/TR/trace-context/">W3C Trace Context</a>
+ * @since 1.5.0
+ */
+public final class TraceContext {
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+    private final String traceState;
+
+    /**
+     * Creates a context.
+     *
+     * @param traceId    32 lowercase hex characters, not all zero
+     * @param spanId     16 lowercase hex characters, not all zero
+     * @param sampled    Whether the caller records this trace
+     * @param traceState The {@code tracestate} value, or null for none
+     * @throws IllegalArgumentException if an identifier is malformed
+     */
+    public TraceContext(String traceId, String spanId, boolean sampled, String traceState) {
+        if (!isValidId(traceId, 32)) {
+            throw new IllegalArgumentException("Invalid trace ID: " + traceId);
+        }
+        if (!isValidId(spanId, 16)) {
+            throw new IllegalArgumentException("Invalid span ID: " + spanId);
+        }
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+        this.traceState = traceState != null && !traceState.isEmpty() ? traceState : null;
+    }
+
+    /**
+     * Parses the {@code traceparent} and {@code tracestate} headers of an
+     * incoming request.
+     *
+     * @return The context, or null if {@code traceparent} is missing or malformed
+     */
+    public static TraceContext parse(String traceparent, String tracestate) {
+        if (traceparent == null) {
+            return null;
+        }
+        String[] parts = traceparent.trim().split("-");
+        // Later versions may append fields, which version-00 parsers ignore
+        if (parts.length < 4 || !isHex(parts[0], 2) || "ff".equals(parts[0])
+                || (parts[0].equals("00") && parts.length != 4)
+                || !isValidId(parts[1], 32) || !isValidId(parts[2], 16) || !isHex(parts[3], 2)) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 1) != 0;
+        return new TraceContext(parts[1], parts[2], sampled, tracestate);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Returns the {@code tracestate} value, or null for none.
+     */
+    public String getTraceState() {
+        return traceState;
+    }
+
+    /**
+     * Returns the {@code traceparent} header value.
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static boolean isValidId(String id, int length) {
+        if (!isHex(id, length)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (id.charAt(i) != '0') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+}
@@ -0,0 +1,44 @@
+package dev.rynko.tracing;
+
+/**
+ * Creates the spans the client reports its requests with, for example by
+ * delegating to OpenTelemetry.
+ *
+ * <p>Each logical call, such as {@code client.flow().getRun(id)}, gets a
+ * span with a child span for every HTTP attempt, including retries and
+ * hedged copies. Spans are named after the call's route, the HTTP method and
+ * URL path with identifiers replaced by {@code {id}}, such as
+ * {@code GET /api/flow/runs/{id}}, and carry these attributes:</p>
+ *
+ * <ul>
+ *   <li>{@code http.request.method} and {@code rynko.route} on every span</li>
+ *   <li>{@code http.request.resend_count} on attempts after the first</li>
+ *   <li>{@code http.response.status_code} on attempts that got a response</li>
+ *   <li>{@code rynko.hedge} on hedged copies</li>
+ *   <li>{@code rynko.retry.delay_ms} on attempts followed by a retry</li>
+ * </ul>
+ *
+ * <p>The {@link TraceContext} of each attempt span is sent as the
+ * {@code traceparent} and {@code tracestate} headers of that attempt, so
+ * server-side traces join the caller's.</p>
+ *
+ * <p>Implementations must be thread-safe. Spans may be started and ended on
+ * OkHttp dispatcher threads; exceptions thrown by a tracer or its spans are
+ * ignored. Without a tracer configured no spans are created.</p>
+ *
+ * @since 1.5.0
+ */
+@FunctionalInterface
+public interface Tracer {
+
+    /**
+     * Starts a span.
+     *
+     * @param name   The span name
+     * @param parent The parent span, or null for the span of a logical call,
+     *               which should become a child of the span current on the
+     *               calling thread, if any
+     * @return The started span, never null
+     */
+    Span startSpan(String name, Span parent);
+}
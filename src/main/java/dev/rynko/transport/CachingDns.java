@@ -0,0 +1,249 @@
+package dev.rynko.transport;
+
+import okhttp3.Dns;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OkHttp {@link Dns} that caches lookups in process and refreshes them in
+ * the background, so that requests rarely wait for the resolver.
+ *
+ * <p>A lookup is cached for the TTL. Once three quarters of the TTL have
+ * passed, the next request for the host still gets the cached addresses and
+ * starts a refresh on a background thread. Only a host that was not asked for
+ * during its whole TTL is resolved on the calling thread again. If that
+ * lookup fails, the expired addresses are used for up to another TTL, since
+ * the old address is usually still right when the resolver is down. Only
+ * the first request waits for the failing lookup: later requests get the
+ * expired addresses at once, and the lookup is retried in the background
+ * every few seconds.</p>
+ *
+ * <p>Addresses are returned with IPv6 and IPv4 interleaved, starting with the
+ * family the resolver listed first. OkHttp tries them in order, so a host
+ * whose IPv6 route is broken costs one failed connect attempt before IPv4 is
+ * tried, not one per IPv6 address.</p>
+ *
+ * <pre>{@code
+ * Rynko client = new Rynko(RynkoConfig.builder()
+ *         .apiKey(apiKey)
+ *         .dns(new CachingDns(TimeUnit.MINUTES.toMillis(5)))
+ *         .build());
+ * }</pre>
+ *
+ * <p>Share one instance between clients to share the cache.</p>
+ *
+ * @since 1.5.0
+ */
+public class CachingDns implements Dns {
+
+    /**
+     * The default time a lookup is cached, in milliseconds.
+     */
+    public static final long DEFAULT_TTL_MS = 60_000;
+
+    static final int MAX_HOSTS = 1024;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Dns delegate;
+    private final long ttlNanos;
+    private final long retryNanos;
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache over the system resolver with the default TTL.
+     */
+    public CachingDns() {
+        this(Dns.SYSTEM, DEFAULT_TTL_MS);
+    }
+
+    /**
+     * Creates a cache over the system resolver.
+     *
+     * @param ttlMs How long a lookup is cached, in milliseconds
+     */
+    public CachingDns(long ttlMs) {
+        this(Dns.SYSTEM, ttlMs);
+    }
+
+    /**
+     * Creates a cache over another resolver.
+     *
+     * @param delegate The resolver to cache
+     * @param ttlMs    How long a lookup is cached, in milliseconds
+     */
+    public CachingDns(Dns delegate, long ttlMs) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (ttlMs <= 0) {
+            throw new IllegalArgumentException("ttlMs must be positive");
+        }
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.retryNanos = Math.min(ttlNanos / 4, MAX_RETRY_NANOS);
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        Entry entry = cache.get(hostname);
+        long now = nanoTime();
+        if (entry != null) {
+            long age = now - entry.resolvedAt;
+            if (age < ttlNanos) {
+                if (age >= ttlNanos - ttlNanos / 4) {
+                    refreshInBackground(hostname, entry);
+                }
+                return entry.addresses;
+            }
+            if (entry.failedUntil != 0 && age < 2 * ttlNanos) {
+                // The resolver failed recently; do not make every request wait for it
+                if (now - entry.failedUntil >= 0) {
+                    refreshInBackground(hostname, entry);
+                }
+                return entry.addresses;
+            }
+        }
+
+        try {
+            return resolve(hostname).addresses;
+        } catch (UnknownHostException e) {
+            if (entry != null && now - entry.resolvedAt < 2 * ttlNanos) {
+                cache.replace(hostname, entry, entry.failed(now + retryNanos));
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops every cached lookup.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the current time in nanoseconds, as {@link System#nanoTime()}.
+     * Tests override it to move time forward without sleeping.
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private Entry resolve(String hostname) throws UnknownHostException {
+        Entry entry = new Entry(interleave(delegate.lookup(hostname)), nanoTime(), 0);
+        // Lookups of a client go to a handful of hosts; stop caching rather than grow without bound
+        if (cache.size() < MAX_HOSTS || cache.containsKey(hostname)) {
+            cache.put(hostname, entry);
+        }
+        return entry;
+    }
+
+    private void refreshInBackground(String hostname, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Holder.EXECUTOR.execute(() -> {
+                try {
+                    resolve(hostname);
+                } catch (UnknownHostException | RuntimeException e) {
+                    if (entry.failedUntil != 0) {
+                        // Still down; wait before the next retry
+                        cache.replace(hostname, entry, entry.failed(nanoTime() + retryNanos));
+                    } else {
+                        // Keep the cached addresses; the next request past the refresh point retries
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Orders addresses alternating between IPv6 and IPv4, starting with the
+     * family of the first address, as recommended by RFC 8305.
+     */
+    static List<InetAddress> interleave(List<InetAddress> addresses) {
+        if (addresses.size() < 2) {
+            return Collections.unmodifiableList(new ArrayList<>(addresses));
+        }
+        boolean firstIsIpv6 = addresses.get(0) instanceof Inet6Address;
+        List<InetAddress> preferred = new ArrayList<>();
+        List<InetAddress> other = new ArrayList<>();
+        for (InetAddress address : addresses) {
+            if ((address instanceof Inet6Address) == firstIsIpv6) {
+                preferred.add(address);
+            } else {
+                other.add(address);
+            }
+        }
+        List<InetAddress> result = new ArrayList<>(addresses.size());
+        for (int i = 0; i < Math.max(preferred.size(), other.size()); i++) {
+            if (i < preferred.size()) {
+                result.add(preferred.get(i));
+            }
+            if (i < other.size()) {
+                result.add(other.get(i));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+        // When a failed lookup may be retried, or 0 if the last lookup succeeded
+        final long failedUntil;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(List<InetAddress> addresses, long resolvedAt, long failedUntil) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+            this.failedUntil = failedUntil;
+        }
+
+        /**
+         * Returns this entry's addresses, kept after a failed lookup that may
+         * be retried at the given time.
+         */
+        Entry failed(long retryAt) {
+            // 0 marks a successful lookup, so a retry time that happens to be 0 is moved by a nanosecond
+            return new Entry(addresses, resolvedAt, retryAt == 0 ? 1 : retryAt);
+        }
+    }
+
+    /**
+     * Process-wide daemon thread for background refreshes. It is started on
+     * first use and exits after a minute without work.
+     */
+    private static final class Holder {
+        static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "rynko-dns-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
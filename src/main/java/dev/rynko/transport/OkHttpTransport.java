@@ -0,0 +1,250 @@
+package dev.rynko.transport;
+
+import dev.rynko.RynkoConfig;
+import dev.rynko.metrics.CallTimings;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Transport} backed by OkHttp. This is the default transport.
+ *
+ * @since 1.5.0
+ */
+public class OkHttpTransport implements Transport {
+
+    private final OkHttpClient client;
+    private final boolean timed;
+
+    /**
+     * Creates a transport that sends requests with the given client, adding
+     * only an interceptor for per-request timeouts. Calls are not timed, so
+     * {@link TransportCall#getTimings()} returns null.
+     */
+    public OkHttpTransport(OkHttpClient client) {
+        this(client, false);
+    }
+
+    private OkHttpTransport(OkHttpClient client, boolean timed) {
+        this.client = client.newBuilder().addInterceptor(OkHttpTransport::applyTimeouts).build();
+        this.timed = timed;
+    }
+
+    /**
+     * Applies the read and write timeouts of a request that overrides them.
+     */
+    private static Response applyTimeouts(Interceptor.Chain chain) throws IOException {
+        TransportRequest request = chain.request().tag(TransportRequest.class);
+        if (request != null) {
+            if (request.getReadTimeoutMs() > 0) {
+                chain = chain.withReadTimeout(millis(request.getReadTimeoutMs()), TimeUnit.MILLISECONDS);
+            }
+            if (request.getWriteTimeoutMs() > 0) {
+                chain = chain.withWriteTimeout(millis(request.getWriteTimeoutMs()), TimeUnit.MILLISECONDS);
+            }
+        }
+        return chain.proceed(chain.request());
+    }
+
+    private static int millis(long timeoutMs) {
+        return (int) Math.min(timeoutMs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the transport described by a configuration, deriving from a
+     * shared client or pool when one is configured so that connections and
+     * dispatcher threads are reused.
+     */
+    static OkHttpTransport create(RynkoConfig config) {
+        OkHttpClient.Builder builder;
+        if (config.getOkHttpClient() != null) {
+            builder = config.getOkHttpClient().newBuilder();
+        } else {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(config.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+            builder = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                            config.getKeepAliveMs(), TimeUnit.MILLISECONDS));
+        }
+
+        if (config.getConnectionPool() != null) {
+            builder.connectionPool(config.getConnectionPool());
+        }
+        if (config.getDns() != null) {
+            builder.dns(config.getDns());
+        }
+
+        // Time network phases for metrics, still notifying a shared client's own listener
+        boolean timed = config.getMetricsListener() != null;
+        if (timed) {
+            EventListener.Factory shared = config.getOkHttpClient() != null
+                    ? config.getOkHttpClient().eventListenerFactory() : null;
+            builder.eventListenerFactory(call -> {
+                PhaseTimer timer = call.request().tag(PhaseTimer.class);
+                EventListener delegate = shared != null ? shared.create(call) : EventListener.NONE;
+                return timer != null ? timer.forwardTo(delegate) : delegate;
+            });
+        }
+
+        return new OkHttpTransport(builder
+                .connectTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build(), timed);
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public TransportCall newCall(TransportRequest request) {
+        Request.Builder builder = new Request.Builder().url(request.getUrl().toString());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.addHeader(header.getKey(), header.getValue());
+        }
+        TransportRequest.Body body = request.getBody();
+        builder.method(request.getMethod(), body != null ? new BodyAdapter(body) : null);
+        if (request.getReadTimeoutMs() > 0 || request.getWriteTimeoutMs() > 0) {
+            builder.tag(TransportRequest.class, request);
+        }
+        PhaseTimer timer = null;
+        if (timed) {
+            timer = new PhaseTimer();
+            builder.tag(PhaseTimer.class, timer);
+        }
+        Call call = client.newCall(builder.build());
+        if (request.getCallTimeoutMs() > 0) {
+            call.timeout().timeout(request.getCallTimeoutMs(), TimeUnit.MILLISECONDS);
+        }
+        return new OkHttpCall(call, timer);
+    }
+
+    private static final class BodyAdapter extends RequestBody {
+        private final TransportRequest.Body body;
+        private final MediaType contentType;
+
+        BodyAdapter(TransportRequest.Body body) {
+            this.body = body;
+            this.contentType = MediaType.parse(body.getContentType());
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return body.getContentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (Source source = Okio.source(body.open())) {
+                sink.writeAll(source);
+            }
+        }
+    }
+
+    private static final class OkHttpCall implements TransportCall {
+        private final Call call;
+        private final PhaseTimer timer;
+
+        OkHttpCall(Call call, PhaseTimer timer) {
+            this.call = call;
+            this.timer = timer;
+        }
+
+        @Override
+        public TransportResponse execute() throws IOException {
+            return new OkHttpResponse(call.execute());
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            call.enqueue(new okhttp3.Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    callback.onFailure(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    callback.onResponse(new OkHttpResponse(response));
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            call.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return call.isCanceled();
+        }
+
+        @Override
+        public CallTimings getTimings() {
+            return timer != null ? timer.getTimings() : null;
+        }
+    }
+
+    private static final class OkHttpResponse implements TransportResponse {
+        private final Response response;
+
+        OkHttpResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.code();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.header(name);
+        }
+
+        @Override
+        public long getContentLength() {
+            ResponseBody body = response.body();
+            return body != null ? body.contentLength() : 0;
+        }
+
+        @Override
+        public InputStream getBody() {
+            ResponseBody body = response.body();
+            return body != null ? body.byteStream() : new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package dev.rynko.transport;
+
+import dev.rynko.metrics.CallTimings;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * OkHttp {@link EventListener} that times the network phases of one call
+ * and forwards every event to the listener the client was configured with.
+ *
+ * <p>The events of a call arrive one after another, though not always on the
+ * same thread, so the timestamps need no synchronization; the finished
+ * timings are published through a volatile field.</p>
+ */
+final class PhaseTimer extends EventListener {
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private EventListener delegate = EventListener.NONE;
+
+    private long callStart = UNSET;
+    private long dnsStart = UNSET;
+    private long dnsEnd = UNSET;
+    private long connectStart = UNSET;
+    private long connectEnd = UNSET;
+    private long secureConnectStart = UNSET;
+    private long secureConnectEnd = UNSET;
+    private long requestStart = UNSET;
+    private long requestEnd = UNSET;
+    private long responseHeadersStart = UNSET;
+    private long responseBodyStart = UNSET;
+    private long responseBodyEnd = UNSET;
+    private boolean connectionAcquired;
+    private volatile CallTimings timings;
+
+    /**
+     * Sets the listener events are forwarded to. Called by the event
+     * listener factory, before the first event.
+     */
+    PhaseTimer forwardTo(EventListener delegate) {
+        this.delegate = delegate;
+        return this;
+    }
+
+    /**
+     * Returns the timings once the call has ended or failed, or null before.
+     */
+    CallTimings getTimings() {
+        return timings;
+    }
+
+    private void finish() {
+        long end = System.nanoTime();
+        long tls = between(secureConnectStart, secureConnectEnd);
+        long connect = between(connectStart, connectEnd);
+        long[] phases = new long[CallTimings.Phase.values().length];
+        phases[CallTimings.Phase.DNS.ordinal()] = between(dnsStart, dnsEnd);
+        phases[CallTimings.Phase.CONNECT.ordinal()] = connect >= 0 && tls >= 0 ? connect - tls : connect;
+        phases[CallTimings.Phase.TLS.ordinal()] = tls;
+        phases[CallTimings.Phase.REQUEST.ordinal()] = between(requestStart, requestEnd);
+        phases[CallTimings.Phase.TIME_TO_FIRST_BYTE.ordinal()] = between(requestEnd, responseHeadersStart);
+        phases[CallTimings.Phase.RESPONSE_BODY.ordinal()] = between(responseBodyStart, responseBodyEnd);
+        boolean reused = connectionAcquired && connectStart == UNSET;
+        timings = new CallTimings(phases, callStart != UNSET ? end - callStart : -1, reused);
+    }
+
+    private static long between(long start, long end) {
+        return start != UNSET && end != UNSET && end >= start ? end - start : -1;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+        delegate.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(Call call, HttpUrl url) {
+        delegate.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+        delegate.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        if (dnsStart == UNSET) {
+            dnsStart = System.nanoTime();
+        }
+        delegate.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        dnsEnd = System.nanoTime();
+        delegate.dnsEnd(call, domainName, addresses);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        // Failed routes count towards connect time, so keep the first start
+        if (connectStart == UNSET) {
+            connectStart = System.nanoTime();
+        }
+        delegate.connectStart(call, address, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        delegate.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectEnd = System.nanoTime();
+        delegate.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        connectEnd = System.nanoTime();
+        delegate.connectEnd(call, address, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol,
+                              IOException e) {
+        connectEnd = System.nanoTime();
+        delegate.connectFailed(call, address, proxy, protocol, e);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        connectionAcquired = true;
+        delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        if (requestStart == UNSET) {
+            requestStart = System.nanoTime();
+        }
+        delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+        delegate.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        delegate.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException e) {
+        delegate.requestFailed(call, e);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseHeadersStart = System.nanoTime();
+        delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        delegate.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = System.nanoTime();
+        delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBodyEnd = System.nanoTime();
+        delegate.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException e) {
+        delegate.responseFailed(call, e);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish();
+        delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException e) {
+        finish();
+        delegate.callFailed(call, e);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        delegate.canceled(call);
+    }
+
+    @Override
+    public void satisfactionFailure(Call call, Response response) {
+        delegate.satisfactionFailure(call, response);
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        delegate.cacheHit(call, response);
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        delegate.cacheMiss(call);
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        delegate.cacheConditionalHit(call, cachedResponse);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.rynko.transport;
+
+/**
+ * The HTTP layer underneath the SDK's client.
+ *
+ * <p>The SDK builds requests, applies retries, rate limits and the other
+ * traffic controls itself, and only asks the transport to send a request and
+ * hand back the status, headers and body stream. Two implementations ship
+ * with the SDK: {@link OkHttpTransport}, the default, and on Java 11 and
+ * later {@code JdkHttpTransport}, backed by {@code java.net.http.HttpClient}.
+ * With OkHttp excluded from the classpath the JDK transport is picked
+ * automatically.</p>
+ *
+ * <p>Implementations must be thread-safe and must report timeouts as
+ * {@link java.net.SocketTimeoutException}, which the SDK treats as a sign of
+ * server overload.</p>
+ *
+ * @since 1.5.0
+ */
+public interface Transport {
+
+    /**
+     * Prepares a request for sending. The call is sent by
+     * {@link TransportCall#execute()} or {@link TransportCall#enqueue}.
+     *
+     * @param request The request to send
+     * @return A call that sends the request once
+     */
+    TransportCall newCall(TransportRequest request);
+}
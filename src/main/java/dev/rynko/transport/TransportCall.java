@@ -0,0 +1,67 @@
+package dev.rynko.transport;
+
+import dev.rynko.metrics.CallTimings;
+
+import java.io.IOException;
+
+/**
+ * A single send of a {@link TransportRequest}. Each call is either executed
+ * or enqueued, once.
+ *
+ * @since 1.5.0
+ */
+public interface TransportCall {
+
+    /**
+     * Sends the request on the calling thread and waits for the response
+     * headers.
+     *
+     * @return The response, which the caller must close
+     * @throws IOException if no response was received
+     */
+    TransportResponse execute() throws IOException;
+
+    /**
+     * Sends the request without blocking the calling thread. The callback is
+     * invoked exactly once, on a transport thread.
+     *
+     * @param callback Receives the response or the failure
+     */
+    void enqueue(Callback callback);
+
+    /**
+     * Cancels the call. A call that has not completed yet fails with an
+     * {@link IOException}.
+     */
+    void cancel();
+
+    boolean isCanceled();
+
+    /**
+     * Returns the network phase timings of the call, once it has finished
+     * and its response body was read or closed.
+     *
+     * @return The timings, or null if the call has not finished or the transport does not measure them
+     */
+    default CallTimings getTimings() {
+        return null;
+    }
+
+    /**
+     * Receives the outcome of an enqueued call.
+     */
+    interface Callback {
+
+        /**
+         * Invoked once the response headers arrived. The callee must close
+         * the response.
+         */
+        void onResponse(TransportResponse response);
+
+        /**
+         * Invoked when no response was received, including after
+         * {@link TransportCall#cancel()}.
+         */
+        void onFailure(IOException e);
+    }
+}
@@ -0,0 +1,287 @@
+package dev.rynko.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable HTTP request as handed to a {@link Transport}. The body, if
+ * any, can be replayed, so the same request is sent again on retry.
+ *
+ * @since 1.5.0
+ */
+public final class TransportRequest {
+
+    private final String method;
+    private final URI url;
+    private final Map<String, String> headers;
+    private final Body body;
+    private final long readTimeoutMs;
+    private final long writeTimeoutMs;
+    private final long callTimeoutMs;
+
+    private TransportRequest(Builder builder) {
+        this.method = builder.method;
+        this.url = builder.url;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.body = builder.body;
+        this.readTimeoutMs = builder.readTimeoutMs;
+        this.writeTimeoutMs = builder.writeTimeoutMs;
+        this.callTimeoutMs = builder.callTimeoutMs;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public URI getUrl() {
+        return url;
+    }
+
+    /**
+     * Returns the request headers, excluding {@code Content-Type}, which
+     * comes from the body.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns a header value, or null if it is not set. Header names are
+     * case-insensitive.
+     */
+    public String getHeader(String name) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the request body, or null for requests without one.
+     */
+    public Body getBody() {
+        return body;
+    }
+
+    /**
+     * Returns how long the transport may wait for response data, in
+     * milliseconds, or 0 to use its own timeout.
+     */
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    /**
+     * Returns how long the transport may block sending request data, in
+     * milliseconds, or 0 to use its own timeout.
+     */
+    public long getWriteTimeoutMs() {
+        return writeTimeoutMs;
+    }
+
+    /**
+     * Returns how long the transport may take for the whole request, from
+     * connecting to reading the response body, in milliseconds, or 0 for no
+     * limit beyond the other timeouts.
+     */
+    public long getCallTimeoutMs() {
+        return callTimeoutMs;
+    }
+
+    /**
+     * Returns a builder initialized with this request.
+     */
+    public Builder newBuilder() {
+        Builder builder = new Builder()
+                .method(method, body)
+                .url(url)
+                .readTimeoutMs(readTimeoutMs)
+                .writeTimeoutMs(writeTimeoutMs)
+                .callTimeoutMs(callTimeoutMs);
+        builder.headers.putAll(headers);
+        return builder;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "TransportRequest{" +
+                "method='" + method + '\'' +
+                ", url=" + url +
+                '}';
+    }
+
+    /**
+     * A replayable request body.
+     */
+    public interface Body {
+
+        /**
+         * Returns the media type sent as {@code Content-Type}.
+         */
+        String getContentType();
+
+        /**
+         * Returns the body length in bytes, or -1 if unknown.
+         */
+        long getContentLength();
+
+        /**
+         * Opens a fresh stream over the body. Called once per send.
+         */
+        InputStream open() throws IOException;
+
+        /**
+         * Returns a body backed by a byte array, which is not copied.
+         */
+        static Body of(byte[] bytes, String contentType) {
+            return new Body() {
+                @Override
+                public String getContentType() {
+                    return contentType;
+                }
+
+                @Override
+                public long getContentLength() {
+                    return bytes.length;
+                }
+
+                @Override
+                public InputStream open() {
+                    return new ByteArrayInputStream(bytes);
+                }
+            };
+        }
+    }
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Percent-encodes the characters of a URL that {@link URI} rejects. A
+     * {@code %} that does not start an escape is encoded too, and square
+     * brackets are encoded only after the host, where they are not part of
+     * an IPv6 address.
+     */
+    static String encodeIllegal(String url) {
+        int scheme = url.indexOf("://");
+        int pathStart = scheme < 0 ? 0 : url.indexOf('/', scheme + 3);
+        if (pathStart < 0) {
+            pathStart = url.length();
+        }
+        StringBuilder out = null;
+        for (int i = 0; i < url.length(); ) {
+            int c = url.codePointAt(i);
+            int n = Character.charCount(c);
+            boolean legal = c > 0x20 && c < 0x7f && "\"<>\\^`{|}".indexOf(c) < 0
+                    && (c != '%' || isEscape(url, i))
+                    && ((c != '[' && c != ']') || i < pathStart);
+            if (!legal && out == null) {
+                out = new StringBuilder(url.length() + 16).append(url, 0, i);
+            }
+            if (legal) {
+                if (out != null) {
+                    out.appendCodePoint(c);
+                }
+            } else {
+                for (byte b : new String(Character.toChars(c)).getBytes(StandardCharsets.UTF_8)) {
+                    out.append('%').append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+                }
+            }
+            i += n;
+        }
+        return out != null ? out.toString() : url;
+    }
+
+    private static boolean isEscape(String url, int i) {
+        return i + 2 < url.length()
+                && Character.digit(url.charAt(i + 1), 16) >= 0 && Character.digit(url.charAt(i + 2), 16) >= 0;
+    }
+
+    public static class Builder {
+        private String method = "GET";
+        private URI url;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private Body body;
+        private long readTimeoutMs;
+        private long writeTimeoutMs;
+        private long callTimeoutMs;
+
+        public Builder url(URI url) {
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * Sets the URL from a string. Characters that may not appear in a
+         * URL, such as spaces, quotes, {@code |} and non-ASCII characters,
+         * are percent-encoded as UTF-8, as OkHttp's {@code HttpUrl} does, so
+         * IDs can be appended to a path as they are.
+         *
+         * @throws IllegalArgumentException if the string is not a valid URL
+         *                                  even after encoding
+         */
+        public Builder url(String url) {
+            return url(URI.create(encodeIllegal(url)));
+        }
+
+        /**
+         * Sets the method and body. The body may be null.
+         */
+        public Builder method(String method, Body body) {
+            this.method = method;
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * Sets a header, replacing any value already set under that name.
+         */
+        public Builder header(String name, String value) {
+            headers.keySet().removeIf(name::equalsIgnoreCase);
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Overrides the transport's read timeout for this request; 0 keeps it.
+         */
+        public Builder readTimeoutMs(long readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Overrides the transport's write timeout for this request; 0 keeps it.
+         */
+        public Builder writeTimeoutMs(long writeTimeoutMs) {
+            this.writeTimeoutMs = writeTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Limits the whole request to the given time; 0 sets no limit.
+         */
+        public Builder callTimeoutMs(long callTimeoutMs) {
+            this.callTimeoutMs = callTimeoutMs;
+            return this;
+        }
+
+        public TransportRequest build() {
+            if (url == null) {
+                throw new IllegalStateException("url is required");
+            }
+            return new TransportRequest(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.rynko.transport;
+
+import java.io.Closeable;
+import java.io.InputStream;
+
+/**
+ * An HTTP response whose body has not been read yet. Closing the response
+ * releases its connection.
+ *
+ * @since 1.5.0
+ */
+public interface TransportResponse extends Closeable {
+
+    int getStatusCode();
+
+    /**
+     * Returns the first value of a header, or null if it is absent. Header
+     * names are case-insensitive.
+     */
+    String getHeader(String name);
+
+    /**
+     * Returns the body length in bytes, or -1 if unknown.
+     */
+    long getContentLength();
+
+    /**
+     * Returns the body stream, read straight from the connection. Empty for
+     * responses without a body.
+     */
+    InputStream getBody();
+
+    @Override
+    void close();
+}
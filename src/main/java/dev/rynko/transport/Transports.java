@@ -0,0 +1,29 @@
+package dev.rynko.transport;
+
+import dev.rynko.RynkoConfig;
+
+/**
+ * Picks the transport for a configuration.
+ *
+ * <p>This is the Java 8 version, which always uses OkHttp. The Java 11
+ * version of this class, in the multi-release part of the jar, falls back to
+ * {@code JdkHttpTransport} when OkHttp is not on the classpath.</p>
+ *
+ * @since 1.5.0
+ */
+public final class Transports {
+
+    private Transports() {
+    }
+
+    /**
+     * Returns the configured transport, or the default one built from the
+     * configuration's connection settings.
+     */
+    public static Transport create(RynkoConfig config) {
+        if (config.getTransport() != null) {
+            return config.getTransport();
+        }
+        return OkHttpTransport.create(config);
+    }
+}
@@ -0,0 +1,200 @@
+package dev.rynko.utils;
+
+import dev.rynko.CircuitBreakerListener;
+import dev.rynko.CircuitState;
+import dev.rynko.EndpointGroup;
+import dev.rynko.RynkoConfig;
+import dev.rynko.exceptions.CircuitBreakerOpenException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker with one circuit per endpoint group.
+ *
+ * <p>A closed circuit records the outcome of every attempt in a sliding
+ * window. Once the window holds at least the minimum number of calls and
+ * the failure rate reaches the threshold, the circuit opens and attempts
+ * fail fast with {@link CircuitBreakerOpenException}. After the open
+ * duration a limited number of probes are let through: if they all
+ * succeed the circuit closes, and a single failure opens it again.</p>
+ *
+ * <p>Server errors (5xx) and transport failures count as failures. Client
+ * errors, including 429, show the backend is reachable and count as
+ * successes.</p>
+ */
+final class CircuitBreaker {
+
+    private static final int WINDOW_BUCKETS = 10;
+
+    private final boolean enabled;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final CircuitBreakerListener listener;
+    private final Map<EndpointGroup, Circuit> circuits = new EnumMap<>(EndpointGroup.class);
+
+    CircuitBreaker(RynkoConfig config) {
+        this.enabled = config.isCircuitBreakerEnabled();
+        this.failureRateThreshold = config.getCircuitBreakerFailureRateThreshold();
+        this.minimumCalls = Math.max(config.getCircuitBreakerMinimumCalls(), 1);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getCircuitBreakerOpenDurationMs());
+        this.halfOpenProbes = Math.max(config.getCircuitBreakerHalfOpenProbes(), 1);
+        this.listener = config.getCircuitBreakerListener();
+        for (EndpointGroup group : EndpointGroup.values()) {
+            circuits.put(group, new Circuit(group, config.getCircuitBreakerWindowMs()));
+        }
+    }
+
+    /**
+     * Checks that an attempt may be sent.
+     *
+     * @return true if the attempt is one of the half-open probes, which must
+     *         be given back with {@link #release} if it is not sent after all
+     * @throws CircuitBreakerOpenException if the group's circuit is open
+     */
+    boolean acquire(EndpointGroup group) throws CircuitBreakerOpenException {
+        return enabled && circuits.get(group).acquire();
+    }
+
+    /**
+     * Gives back a half-open probe whose attempt was never sent, so that
+     * another attempt can probe the circuit in its place.
+     */
+    void release(EndpointGroup group) {
+        if (enabled) {
+            circuits.get(group).release();
+        }
+    }
+
+    /**
+     * Records the outcome of an attempt that reached the server.
+     */
+    void onResponse(EndpointGroup group, int statusCode) {
+        if (enabled) {
+            circuits.get(group).record(statusCode < 500);
+        }
+    }
+
+    /**
+     * Records an attempt that failed without a response.
+     */
+    void onFailure(EndpointGroup group) {
+        if (enabled) {
+            circuits.get(group).record(false);
+        }
+    }
+
+    CircuitState state(EndpointGroup group) {
+        return circuits.get(group).state.get();
+    }
+
+    private final class Circuit {
+        private final EndpointGroup group;
+        private final SlidingWindow window;
+        private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+        private final AtomicInteger probesStarted = new AtomicInteger();
+        private final AtomicInteger probesSucceeded = new AtomicInteger();
+        private volatile long stateChangedAt;
+
+        Circuit(EndpointGroup group, long windowMs) {
+            this.group = group;
+            this.window = new SlidingWindow(windowMs, WINDOW_BUCKETS);
+        }
+
+        boolean acquire() {
+            while (true) {
+                CircuitState current = state.get();
+                if (current == CircuitState.CLOSED) {
+                    return false;
+                }
+
+                long elapsed = System.nanoTime() - stateChangedAt;
+                if (current == CircuitState.OPEN) {
+                    if (elapsed < openDurationNanos) {
+                        throw new CircuitBreakerOpenException(group,
+                                TimeUnit.NANOSECONDS.toMillis(openDurationNanos - elapsed));
+                    }
+                    transition(CircuitState.OPEN, CircuitState.HALF_OPEN);
+                    continue;
+                }
+
+                int started = probesStarted.get();
+                if (started < halfOpenProbes) {
+                    if (probesStarted.compareAndSet(started, started + 1)) {
+                        return true;
+                    }
+                    continue;
+                }
+                // Probes that never report back (cancelled calls) must not wedge the circuit
+                if (elapsed >= openDurationNanos) {
+                    transition(CircuitState.HALF_OPEN, CircuitState.HALF_OPEN);
+                    continue;
+                }
+                throw new CircuitBreakerOpenException(group, 0);
+            }
+        }
+
+        void release() {
+            if (state.get() == CircuitState.HALF_OPEN) {
+                probesStarted.updateAndGet(started -> Math.max(started - 1, 0));
+            }
+        }
+
+        void record(boolean success) {
+            CircuitState current = state.get();
+            if (current == CircuitState.HALF_OPEN) {
+                if (!success) {
+                    transition(CircuitState.HALF_OPEN, CircuitState.OPEN);
+                } else if (probesSucceeded.incrementAndGet() >= halfOpenProbes) {
+                    transition(CircuitState.HALF_OPEN, CircuitState.CLOSED);
+                }
+                return;
+            }
+            if (current == CircuitState.OPEN) {
+                return;
+            }
+
+            if (success) {
+                window.recordSuccess();
+                return;
+            }
+            window.recordFailure();
+            long failures = window.failures();
+            long total = failures + window.successes();
+            if (total >= minimumCalls && failures >= total * failureRateThreshold) {
+                transition(CircuitState.CLOSED, CircuitState.OPEN);
+            }
+        }
+
+        private void transition(CircuitState from, CircuitState to) {
+            if (from == to) {
+                // Re-arm the half-open probes in place
+                probesStarted.set(0);
+                probesSucceeded.set(0);
+                stateChangedAt = System.nanoTime();
+                return;
+            }
+            if (!state.compareAndSet(from, to)) {
+                return;
+            }
+            stateChangedAt = System.nanoTime();
+            probesStarted.set(0);
+            probesSucceeded.set(0);
+            if (to == CircuitState.CLOSED) {
+                window.reset();
+            }
+            if (listener != null) {
+                try {
+                    listener.onStateChange(group, from, to);
+                } catch (RuntimeException ignored) {
+                    // A faulty listener must not break the request path
+                }
+            }
+        }
+    }
+}
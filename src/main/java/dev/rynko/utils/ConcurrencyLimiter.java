@@ -0,0 +1,175 @@
+package dev.rynko.utils;
+
+import dev.rynko.ConcurrencyStats;
+import dev.rynko.EndpointGroup;
+import dev.rynko.RynkoConfig;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limiter with one AIMD limit per endpoint group.
+ *
+ * <p>Each group's limit grows by one for every response received while the
+ * group is using at least half of its limit, and is cut by 10% on 429, 503
+ * and 504 responses, timeouts, and responses slower than twice the recent
+ * average latency. Requests over the limit wait in a FIFO queue instead of
+ * being sent, so bulk jobs settle at the highest concurrency the backend
+ * sustains.</p>
+ *
+ * <p>When adaptive concurrency is disabled the limiter still counts
+ * in-flight requests but never makes them wait.</p>
+ */
+final class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_SPIKE_FACTOR = 2.0;
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Map<EndpointGroup, Limit> limits = new EnumMap<>(EndpointGroup.class);
+
+    ConcurrencyLimiter(RynkoConfig config) {
+        this.enabled = config.isAdaptiveConcurrency();
+        this.minLimit = Math.max(config.getMinConcurrencyLimit(), 1);
+        this.maxLimit = Math.max(config.getMaxConcurrencyLimit(), minLimit);
+        int initialLimit = Math.min(Math.max(config.getInitialConcurrencyLimit(), minLimit), maxLimit);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            limits.put(group, new Limit(initialLimit));
+        }
+    }
+
+    /**
+     * Acquires a slot for one request. The returned future completes once
+     * the request may be sent; the caller must then release the slot exactly
+     * once. A waiting caller that gives up cancels the future.
+     */
+    CompletableFuture<Void> acquire(EndpointGroup group) {
+        Limit limit = limits.get(group);
+        if (limit.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        limit.waiters.add(waiter);
+        // A slot may have been released between the failed attempt and the enqueue
+        limit.drain();
+        return waiter;
+    }
+
+    /**
+     * Releases a slot and adjusts the limit from the outcome of the request.
+     *
+     * @param latencyNanos Time until the response headers arrived
+     * @param overloaded   Whether the backend signalled overload
+     */
+    void release(EndpointGroup group, long latencyNanos, boolean overloaded) {
+        Limit limit = limits.get(group);
+        if (enabled) {
+            limit.adjust(latencyNanos, overloaded);
+        }
+        limit.release();
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, for requests that were
+     * cancelled or never sent.
+     */
+    void release(EndpointGroup group) {
+        limits.get(group).release();
+    }
+
+    ConcurrencyStats stats(EndpointGroup group) {
+        Limit limit = limits.get(group);
+        return new ConcurrencyStats(group, enabled ? limit.current() : 0,
+                limit.inFlight.get(), limit.waiters.size());
+    }
+
+    private final class Limit {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong limitBits;
+        private final AtomicLong averageLatencyBits = new AtomicLong(Double.doubleToLongBits(0));
+        private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+        Limit(int initialLimit) {
+            this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        }
+
+        int current() {
+            return (int) Double.longBitsToDouble(limitBits.get());
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int count = inFlight.get();
+                if (enabled && count >= current()) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        /**
+         * Hands free slots to waiting callers in arrival order.
+         */
+        void drain() {
+            while (!waiters.isEmpty() && tryAcquire()) {
+                CompletableFuture<Void> waiter = waiters.poll();
+                if (waiter == null || !waiter.complete(null)) {
+                    // The queue emptied or the caller gave up; return the slot
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+
+        void adjust(long latencyNanos, boolean overloaded) {
+            boolean spike = updateAverageLatency(latencyNanos);
+            while (true) {
+                long bits = limitBits.get();
+                double limit = Double.longBitsToDouble(bits);
+                double next;
+                if (overloaded || spike) {
+                    next = Math.max(limit * BACKOFF_RATIO, minLimit);
+                } else if (inFlight.get() * 2 >= limit) {
+                    next = Math.min(limit + 1, maxLimit);
+                } else {
+                    return;
+                }
+                if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Folds a sample into the moving average and reports whether it was
+         * a spike relative to the average before the sample.
+         */
+        private boolean updateAverageLatency(long latencyNanos) {
+            while (true) {
+                long bits = averageLatencyBits.get();
+                double average = Double.longBitsToDouble(bits);
+                double next = average == 0
+                        ? latencyNanos
+                        : average + LATENCY_SMOOTHING * (latencyNanos - average);
+                if (averageLatencyBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return average > 0 && latencyNanos > average * LATENCY_SPIKE_FACTOR;
+                }
+            }
+        }
+    }
+}
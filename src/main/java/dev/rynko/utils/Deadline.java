@@ -0,0 +1,76 @@
+package dev.rynko.utils;
+
+import dev.rynko.exceptions.DeadlineExceededException;
+import dev.rynko.transport.TransportRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which a call, retries and backoff included, must
+ * complete. Each attempt is sent with a call timeout of the time remaining,
+ * and a retry whose backoff would end past the deadline is not made.
+ */
+final class Deadline {
+
+    /**
+     * A deadline that never expires.
+     */
+    static final Deadline NONE = new Deadline(0, 0);
+
+    private final long deadlineMs;
+    private final long expiresAtNanos;
+
+    private Deadline(long deadlineMs, long expiresAtNanos) {
+        this.deadlineMs = deadlineMs;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Returns a deadline the given time from now, or {@link #NONE} if the
+     * time is not positive.
+     */
+    static Deadline after(long deadlineMs) {
+        if (deadlineMs <= 0) {
+            return NONE;
+        }
+        return new Deadline(deadlineMs, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs));
+    }
+
+    /**
+     * Returns the time left in nanoseconds, or {@link Long#MAX_VALUE} for
+     * {@link #NONE}.
+     */
+    long remainingNanos() {
+        return this == NONE ? Long.MAX_VALUE : expiresAtNanos - System.nanoTime();
+    }
+
+    boolean isExpired() {
+        return this != NONE && remainingNanos() <= 0;
+    }
+
+    /**
+     * Returns whether waiting the given time would reach the deadline.
+     */
+    boolean expiresWithin(long delay, TimeUnit unit) {
+        return this != NONE && remainingNanos() <= unit.toNanos(delay);
+    }
+
+    /**
+     * Returns the request with a call timeout of the time remaining, so the
+     * transport gives up on the attempt when the deadline passes.
+     */
+    TransportRequest apply(TransportRequest request) {
+        if (this == NONE) {
+            return request;
+        }
+        // Round up, so an attempt is never given a timeout of 0, which means none
+        long remainingMs = Math.max(TimeUnit.NANOSECONDS.toMillis(remainingNanos() + 999_999), 1);
+        long callTimeoutMs = request.getCallTimeoutMs() > 0
+                ? Math.min(request.getCallTimeoutMs(), remainingMs) : remainingMs;
+        return request.newBuilder().callTimeoutMs(callTimeoutMs).build();
+    }
+
+    DeadlineExceededException exceeded(int attempts, Throwable cause) {
+        return new DeadlineExceededException(deadlineMs, attempts, cause);
+    }
+}
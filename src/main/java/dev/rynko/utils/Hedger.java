@@ -0,0 +1,114 @@
+package dev.rynko.utils;
+
+import dev.rynko.EndpointGroup;
+import dev.rynko.RynkoConfig;
+import dev.rynko.transport.TransportRequest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides when to hedge a GET request with a second copy.
+ *
+ * <p>Each endpoint group keeps a ring of recent GET latencies. A GET that
+ * has not answered within the configured percentile of those latencies is
+ * hedged, so only the slow tail pays for a second request. Hedges are paid
+ * for from a token bucket that every GET tops up by the configured extra
+ * load ratio, which caps hedges at that fraction of GET traffic even when
+ * the backend slows down across the board.</p>
+ */
+final class Hedger {
+
+    private static final int SAMPLE_SIZE = 128;
+    // The percentile is recomputed every this many samples, starting once this many are seen
+    private static final int RECOMPUTE_EVERY = 16;
+    // Hedge tokens are tracked in thousandths so the bucket can be a plain AtomicLong
+    private static final long TOKEN = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long deposit;
+    private final AtomicLong tokens = new AtomicLong();
+    private final Map<EndpointGroup, LatencyRing> latencies = new EnumMap<>(EndpointGroup.class);
+
+    Hedger(RynkoConfig config) {
+        this.enabled = config.isHedgingEnabled();
+        this.percentile = Math.min(Math.max(config.getHedgingPercentile(), 0), 1);
+        this.deposit = (long) (config.getHedgingMaxExtraLoad() * TOKEN);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            latencies.put(group, new LatencyRing());
+        }
+    }
+
+    /**
+     * Returns whether a request is eligible for hedging. Only GETs are,
+     * because they are safe to send twice.
+     */
+    boolean appliesTo(TransportRequest request) {
+        return enabled && "GET".equals(request.getMethod());
+    }
+
+    /**
+     * Returns the hedge delay for a GET of the given group and tops up the
+     * hedge budget, or -1 if there are too few samples to hedge yet.
+     */
+    long delayNanos(EndpointGroup group) {
+        while (true) {
+            long current = tokens.get();
+            long next = Math.min(current + deposit, MAX_TOKENS);
+            if (next == current || tokens.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        return latencies.get(group).percentileNanos;
+    }
+
+    /**
+     * Spends one hedge from the budget.
+     *
+     * @return false if hedging would exceed the extra load cap
+     */
+    boolean tryHedge() {
+        while (true) {
+            long current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    void recordLatency(EndpointGroup group, long latencyNanos) {
+        if (enabled) {
+            latencies.get(group).record(latencyNanos);
+        }
+    }
+
+    private final class LatencyRing {
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long percentileNanos = -1;
+
+        void record(long latencyNanos) {
+            long n = count.getAndIncrement();
+            samples.set((int) (n % SAMPLE_SIZE), latencyNanos);
+            // Sorting a small ring every few samples is cheaper than a streaming estimator
+            if ((n + 1) % RECOMPUTE_EVERY == 0) {
+                int size = (int) Math.min(n + 1, SAMPLE_SIZE);
+                long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile * size) - 1;
+                percentileNanos = sorted[Math.min(Math.max(rank, 0), size - 1)];
+            }
+        }
+    }
+}
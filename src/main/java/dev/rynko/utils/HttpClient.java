@@ -1,60 +1,198 @@
 package dev.rynko.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.rynko.CircuitState;
+import dev.rynko.ConcurrencyStats;
+import dev.rynko.EndpointGroup;
+import dev.rynko.RequestOptions;
 import dev.rynko.RynkoConfig;
 import dev.rynko.exceptions.RynkoException;
 import dev.rynko.models.ApiError;
-import okhttp3.*;
-
+import dev.rynko.models.WorkspaceScoped;
+import dev.rynko.tracing.Span;
+import dev.rynko.transport.Transport;
+import dev.rynko.transport.TransportCall;
+import dev.rynko.transport.TransportRequest;
+import dev.rynko.transport.TransportResponse;
+import dev.rynko.transport.Transports;
+
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
+import java.net.SocketTimeoutException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * HTTP client for making requests to the Rynko API with automatic retry
  * and exponential backoff.
+ *
+ * <p>Every request method has an {@code *Async} counterpart that returns a
+ * {@link CompletableFuture}. Async calls are dispatched with the transport's
+ * {@code enqueue}, so no thread is held while a request is in flight or
+ * while waiting for a retry. Futures are completed on transport threads
+ * (OkHttp dispatcher threads by default), or on a pooled
+ * {@code rynko-async-completion} thread when a call ends on a timer (a
+ * deadline or circuit breaker hit while waiting to retry), never on the
+ * shared retry scheduler; use the {@code *Async} stage methods with your
+ * own executor for heavy follow-up work.</p>
+ *
+ * <p>Requests are sent through a {@link Transport}, OkHttp unless another
+ * one is configured.</p>
  */
 public class HttpClient {
 
-    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String JSON = "application/json; charset=utf-8";
     private static final String USER_AGENT = "rynko-java/1.4.0";
+    private static final long MAX_ERROR_BODY_BYTES = 64 * 1024;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
-    private final OkHttpClient client;
+    private final Transport transport;
     private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Type, ObjectReader> readers;
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> writers;
+    private final ObjectReader errorReader;
     private final String baseUrl;
     private final String apiKey;
+    private final String authorization;
     private final RynkoConfig config;
-    private final Random random;
+    private final RateLimiter rateLimiter;
+    private final TenantRateLimiters tenantRateLimiters;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Hedger hedger;
+    private final RequestCoalescer coalescer;
+    private final RequestMetrics metrics;
+    private final RequestTracing tracing;
+    private final RequestOptions options;
 
     public HttpClient(RynkoConfig config) {
         this.baseUrl = config.getBaseUrl();
         this.apiKey = config.getApiKey();
+        this.authorization = authorization(apiKey);
         this.config = config;
-        this.random = new Random();
 
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
-                .readTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
-                .writeTimeout(config.getTimeoutMs(), TimeUnit.MILLISECONDS)
-                .build();
+        this.transport = Transports.create(config);
+        this.rateLimiter = new RateLimiter(config);
+        this.tenantRateLimiters = new TenantRateLimiters(config);
+        this.concurrencyLimiter = new ConcurrencyLimiter(config);
+        this.circuitBreaker = new CircuitBreaker(config);
+        this.retryBudget = new RetryBudget(config);
+        this.hedger = new Hedger(config);
+        this.coalescer = new RequestCoalescer(config);
+        this.metrics = new RequestMetrics(config);
+        this.tracing = new RequestTracing(config);
+        this.options = RequestOptions.builder().build();
 
         this.objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        this.readers = new ConcurrentHashMap<>();
+        this.writers = new ConcurrentHashMap<>();
+        this.errorReader = objectMapper.readerFor(ApiError.class);
+    }
+
+    /**
+     * Creates a view of a client that applies the given options to every
+     * request. The view shares the transport, limiters and serializers of
+     * the client.
+     */
+    private HttpClient(HttpClient parent, RequestOptions options) {
+        this.baseUrl = parent.baseUrl;
+        this.apiKey = parent.apiKey;
+        this.authorization = authorization(options.getApiKey() != null ? options.getApiKey() : apiKey);
+        this.config = parent.config;
+        this.transport = parent.transport;
+        this.tenantRateLimiters = parent.tenantRateLimiters;
+        // The API meters each key separately, so each tenant gets its own buckets
+        this.rateLimiter = options.getApiKey() != null && !config.getRateLimits().isEmpty()
+                && !options.getApiKey().equals(apiKey)
+                ? tenantRateLimiters.forApiKey(options.getApiKey())
+                : parent.rateLimiter;
+        this.concurrencyLimiter = parent.concurrencyLimiter;
+        this.circuitBreaker = parent.circuitBreaker;
+        this.retryBudget = parent.retryBudget;
+        this.hedger = parent.hedger;
+        this.coalescer = parent.coalescer;
+        this.metrics = parent.metrics;
+        this.tracing = parent.tracing;
+        this.objectMapper = parent.objectMapper;
+        this.readers = parent.readers;
+        this.writers = parent.writers;
+        this.errorReader = parent.errorReader;
+        this.options = options;
+    }
+
+    /**
+     * Returns a client that applies the given options to every request,
+     * in place of the options of this client.
+     */
+    public HttpClient withOptions(RequestOptions options) {
+        return new HttpClient(this, options);
+    }
+
+    /**
+     * Returns a client that makes requests with the given API key and
+     * default workspace, keeping the other options of this client.
+     */
+    public HttpClient forTenant(String apiKey, String workspaceId) {
+        return new HttpClient(this, options.newBuilder().apiKey(apiKey).workspaceId(workspaceId).build());
+    }
+
+    private static String authorization(String apiKey) {
+        return apiKey != null && !apiKey.isEmpty() ? "Bearer " + apiKey : null;
+    }
+
+    /**
+     * Returns the Authorization header value of this client.
+     *
+     * @throws IllegalStateException if this is a multi-tenant client without a tenant
+     */
+    private String authorization() {
+        if (authorization == null) {
+            throw new IllegalStateException("No API key: call forTenant(apiKey) on a multi-tenant client");
+        }
+        return authorization;
     }
 
     /**
      * Calculate delay for exponential backoff with jitter.
      */
     private long calculateDelay(int attempt, Long retryAfterMs) {
+        // ThreadLocalRandom avoids contention on a shared seed across caller threads
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
         // If server specified Retry-After, respect it (with jitter)
         if (retryAfterMs != null) {
             long jitter = (long) (random.nextDouble() * config.getMaxJitterMs());
@@ -89,16 +227,61 @@ public class HttpClient {
         return null;
     }
 
+    private boolean isRetryEnabled() {
+        return options.getRetryEnabled() != null ? options.getRetryEnabled() : config.isRetryEnabled();
+    }
+
+    /**
+     * Starts the deadline of a call, from the request options or the
+     * configuration.
+     */
+    private Deadline deadline() {
+        return Deadline.after(options.getDeadlineMs() > 0 ? options.getDeadlineMs() : config.getDeadlineMs());
+    }
+
+    private int maxAttempts() {
+        if (!isRetryEnabled()) {
+            return 1;
+        }
+        return options.getMaxRetries() != null ? options.getMaxRetries() : config.getMaxRetries();
+    }
+
     /**
      * Check if the status code should trigger a retry.
      */
     private boolean shouldRetry(int statusCode) {
-        if (!config.isRetryEnabled()) {
+        if (!isRetryEnabled()) {
             return false;
         }
         return config.getRetryableStatuses().contains(statusCode);
     }
 
+    /**
+     * Check if a request that got no response may be sent again. Only
+     * requests that are safe to repeat qualify: idempotent methods, and
+     * POST or PATCH requests carrying an idempotency key. The retry budget
+     * is only drawn on once the backoff is known to fit the deadline.
+     */
+    private boolean shouldRetryNetworkError(TransportRequest request, int attempt, int maxAttempts) {
+        if (!isRetryEnabled() || !config.isRetryOnNetworkErrors() || attempt >= maxAttempts - 1) {
+            return false;
+        }
+        switch (request.getMethod()) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+                break;
+            default:
+                if (request.getHeader(IDEMPOTENCY_KEY) == null) {
+                    return false;
+                }
+        }
+        return true;
+    }
+
+    // ---- Blocking requests ----
+
     /**
      * Makes a GET request.
      */
@@ -110,48 +293,14 @@ public class HttpClient {
      * Makes a GET request with query parameters.
      */
     public <T> T get(String path, Map<String, String> queryParams, Class<T> responseType) throws RynkoException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + path).newBuilder();
-        if (queryParams != null) {
-            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-                if (entry.getValue() != null) {
-                    urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-
-        Request request = new Request.Builder()
-                .url(urlBuilder.build())
-                .get()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
-
-        return executeWithRetry(request, responseType);
+        return execute(getRequest(baseUrl + path, queryParams), readerFor(responseType));
     }
 
     /**
      * Makes a GET request with a TypeReference for generic types.
      */
     public <T> T get(String path, Map<String, String> queryParams, TypeReference<T> typeReference) throws RynkoException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + path).newBuilder();
-        if (queryParams != null) {
-            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-                if (entry.getValue() != null) {
-                    urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-
-        Request request = new Request.Builder()
-                .url(urlBuilder.build())
-                .get()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
-
-        return executeWithRetry(request, typeReference);
+        return execute(getRequest(baseUrl + path, queryParams), readerFor(typeReference));
     }
 
     /**
@@ -162,275 +311,104 @@ public class HttpClient {
     }
 
     /**
-     * Makes a POST request with a TypeReference.
+     * Makes a POST request with a caller-chosen idempotency key. A null key
+     * falls back to a generated one.
      */
-    public <T> T post(String path, Object body, TypeReference<T> typeReference) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(baseUrl + path)
-                    .post(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, typeReference);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+    public <T> T post(String path, Object body, Class<T> responseType, String idempotencyKey) throws RynkoException {
+        return execute(jsonRequest("POST", baseUrl + path, body, idempotencyKey), readerFor(responseType));
     }
 
-    private <T> T post(String path, Object body, Class<T> responseType, Void unused) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(baseUrl + path)
-                    .post(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+    /**
+     * Makes a POST request with a TypeReference.
+     */
+    public <T> T post(String path, Object body, TypeReference<T> typeReference) throws RynkoException {
+        return execute(jsonRequest("POST", baseUrl + path, body, null), readerFor(typeReference));
     }
 
     /**
      * Makes a PUT request.
      */
     public <T> T put(String path, Object body, Class<T> responseType) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(baseUrl + path)
-                    .put(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        return execute(jsonRequest("PUT", baseUrl + path, body, null), readerFor(responseType));
     }
 
     /**
      * Makes a PATCH request.
      */
     public <T> T patch(String path, Object body, Class<T> responseType) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(baseUrl + path)
-                    .patch(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        return execute(jsonRequest("PATCH", baseUrl + path, body, null), readerFor(responseType));
     }
 
     /**
      * Makes a DELETE request.
      */
     public void delete(String path) throws RynkoException {
-        Request request = new Request.Builder()
-                .url(baseUrl + path)
-                .delete()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .build();
-
-        executeVoidWithRetry(request);
+        execute(deleteRequest(baseUrl + path), null);
     }
 
     /**
      * Makes a GET request to an absolute URL (not relative to base URL).
      */
     public <T> T getAbsolute(String absoluteUrl, Class<T> responseType) throws RynkoException {
-        Request request = new Request.Builder()
-                .url(absoluteUrl)
-                .get()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
-
-        return executeWithRetry(request, responseType);
+        return execute(getRequest(absoluteUrl, null), readerFor(responseType));
     }
 
     /**
      * Makes a GET request to an absolute URL with query parameters.
      */
     public <T> T getAbsolute(String absoluteUrl, Map<String, String> queryParams, TypeReference<T> typeReference) throws RynkoException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(absoluteUrl).newBuilder();
-        if (queryParams != null) {
-            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-                if (entry.getValue() != null) {
-                    urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-
-        Request request = new Request.Builder()
-                .url(urlBuilder.build())
-                .get()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
+        return execute(getRequest(absoluteUrl, queryParams), readerFor(typeReference));
+    }
 
-        return executeWithRetry(request, typeReference);
+    /**
+     * Makes a GET request to an absolute URL returning a specific class.
+     */
+    public <T> T getAbsolute(String absoluteUrl, Map<String, String> queryParams, Class<T> responseType) throws RynkoException {
+        return execute(getRequest(absoluteUrl, queryParams), readerFor(responseType));
     }
 
     /**
      * Makes a POST request to an absolute URL (not relative to base URL).
      */
     public <T> T postAbsolute(String absoluteUrl, Object body, Class<T> responseType) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(absoluteUrl)
-                    .post(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        return postAbsolute(absoluteUrl, body, responseType, null);
+    }
+
+    /**
+     * Makes a POST request to an absolute URL with a caller-chosen idempotency
+     * key. A null key falls back to a generated one.
+     */
+    public <T> T postAbsolute(String absoluteUrl, Object body, Class<T> responseType,
+                              String idempotencyKey) throws RynkoException {
+        return execute(jsonRequest("POST", absoluteUrl, body, idempotencyKey), readerFor(responseType));
     }
 
     /**
      * Makes a POST request to an absolute URL with no response body.
      */
     public void postAbsoluteVoid(String absoluteUrl, Object body) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(absoluteUrl)
-                    .post(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            executeVoidWithRetry(request);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        execute(jsonRequest("POST", absoluteUrl, body, null), null);
     }
 
     /**
      * Makes a PUT request to an absolute URL.
      */
     public <T> T putAbsolute(String absoluteUrl, Object body, Class<T> responseType) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(absoluteUrl)
-                    .put(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        return execute(jsonRequest("PUT", absoluteUrl, body, null), readerFor(responseType));
     }
 
     /**
      * Makes a PATCH request to an absolute URL.
      */
     public <T> T patchAbsolute(String absoluteUrl, Object body, Class<T> responseType) throws RynkoException {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(jsonBody, JSON);
-
-            Request request = new Request.Builder()
-                    .url(absoluteUrl)
-                    .patch(requestBody)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+        return execute(jsonRequest("PATCH", absoluteUrl, body, null), readerFor(responseType));
     }
 
     /**
      * Makes a DELETE request to an absolute URL.
      */
     public void deleteAbsolute(String absoluteUrl) throws RynkoException {
-        Request request = new Request.Builder()
-                .url(absoluteUrl)
-                .delete()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .build();
-
-        executeVoidWithRetry(request);
-    }
-
-    /**
-     * Makes a GET request to an absolute URL returning a specific class.
-     */
-    public <T> T getAbsolute(String absoluteUrl, Map<String, String> queryParams, Class<T> responseType) throws RynkoException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(absoluteUrl).newBuilder();
-        if (queryParams != null) {
-            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-                if (entry.getValue() != null) {
-                    urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-
-        Request request = new Request.Builder()
-                .url(urlBuilder.build())
-                .get()
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
-
-        return executeWithRetry(request, responseType);
+        execute(deleteRequest(absoluteUrl), null);
     }
 
     /**
@@ -445,34 +423,7 @@ public class HttpClient {
      */
     public <T> T postMultipart(String url, List<File> files, Map<String, String> formFields,
                                 Class<T> responseType) throws RynkoException {
-        MultipartBody.Builder bodyBuilder = new MultipartBody.Builder()
-                .setType(MultipartBody.FORM);
-
-        if (files != null) {
-            for (File file : files) {
-                String contentType = guessContentType(file.getName());
-                bodyBuilder.addFormDataPart("files", file.getName(),
-                        RequestBody.create(file, MediaType.parse(contentType)));
-            }
-        }
-
-        if (formFields != null) {
-            for (Map.Entry<String, String> entry : formFields.entrySet()) {
-                if (entry.getValue() != null) {
-                    bodyBuilder.addFormDataPart(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-
-        Request request = new Request.Builder()
-                .url(url)
-                .post(bodyBuilder.build())
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("User-Agent", USER_AGENT)
-                .addHeader("Accept", "application/json")
-                .build();
-
-        return executeWithRetry(request, responseType);
+        return execute(multipartRequest(url, files, formFields, null, null), readerFor(responseType));
     }
 
     /**
@@ -488,210 +439,1491 @@ public class HttpClient {
      */
     public <T> T postMultipartWithJson(String url, List<File> files, Object jsonBody,
                                         String jsonFieldName, Class<T> responseType) throws RynkoException {
-        try {
-            MultipartBody.Builder bodyBuilder = new MultipartBody.Builder()
-                    .setType(MultipartBody.FORM);
+        return postMultipartWithJson(url, files, null, jsonBody, jsonFieldName, responseType);
+    }
 
-            if (files != null) {
-                for (File file : files) {
-                    String contentType = guessContentType(file.getName());
-                    bodyBuilder.addFormDataPart("files", file.getName(),
-                            RequestBody.create(file, MediaType.parse(contentType)));
-                }
-            }
+    /**
+     * Makes a POST request with multipart form data including form fields and a JSON body part.
+     *
+     * @param url          The absolute URL
+     * @param files        List of files to upload
+     * @param formFields   Additional form fields (key-value pairs)
+     * @param jsonBody     Object to serialize as JSON and include as a form field
+     * @param jsonFieldName The form field name for the JSON body
+     * @param responseType The response class
+     * @return The deserialized response
+     * @throws RynkoException if the request fails
+     */
+    public <T> T postMultipartWithJson(String url, List<File> files, Map<String, String> formFields,
+                                        Object jsonBody, String jsonFieldName, Class<T> responseType)
+            throws RynkoException {
+        return execute(multipartRequest(url, files, formFields, jsonBody, jsonFieldName), readerFor(responseType));
+    }
 
-            if (jsonBody != null) {
-                String json = objectMapper.writeValueAsString(jsonBody);
-                bodyBuilder.addFormDataPart(jsonFieldName, json);
-            }
+    /**
+     * Downloads the body of an absolute URL as bytes.
+     *
+     * <p>Download URLs are signed and may point outside the API, so the
+     * request carries no {@code Authorization} header, and none of the
+     * guards that protect the API apply: the body is not limited by
+     * {@link RynkoConfig#getMaxResponseBytes()}, and the call is neither
+     * rate limited, concurrency limited, coalesced, hedged nor counted by
+     * the circuit breaker. It is retried within the deadline and reported
+     * to metrics and tracing like any other call.</p>
+     *
+     * @param absoluteUrl The URL to download
+     * @return The response body
+     * @throws RynkoException if the request fails
+     */
+    public byte[] download(String absoluteUrl) throws RynkoException {
+        TransportRequest request = downloadRequest(absoluteUrl);
+        String route = route(request);
+        Span span = tracing.startCall(request, route);
+        try {
+            byte[] body = downloadAttempts(request, route, span);
+            tracing.end(span, null);
+            return body;
+        } catch (RuntimeException e) {
+            tracing.end(span, e);
+            throw e;
+        }
+    }
 
-            Request request = new Request.Builder()
-                    .url(url)
-                    .post(bodyBuilder.build())
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("User-Agent", USER_AGENT)
-                    .addHeader("Accept", "application/json")
-                    .build();
+    // ---- Async requests ----
 
-            return executeWithRetry(request, responseType);
-        } catch (IOException e) {
-            throw new RynkoException("Failed to serialize request body", e);
-        }
+    /**
+     * Makes an asynchronous GET request with query parameters.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, String> queryParams, Class<T> responseType) {
+        return getAbsoluteAsync(baseUrl + path, queryParams, responseType);
     }
 
-    private String guessContentType(String filename) {
-        String lower = filename.toLowerCase();
-        if (lower.endsWith(".pdf")) return "application/pdf";
-        if (lower.endsWith(".png")) return "image/png";
-        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
-        if (lower.endsWith(".csv")) return "text/csv";
-        if (lower.endsWith(".xlsx")) return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-        if (lower.endsWith(".xls")) return "application/vnd.ms-excel";
-        if (lower.endsWith(".json")) return "application/json";
-        if (lower.endsWith(".xml")) return "application/xml";
-        if (lower.endsWith(".txt")) return "text/plain";
-        return "application/octet-stream";
+    /**
+     * Makes an asynchronous GET request with a TypeReference for generic types.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, String> queryParams, TypeReference<T> typeReference) {
+        return getAbsoluteAsync(baseUrl + path, queryParams, typeReference);
     }
 
     /**
-     * Gets the base URL without the /api/v1 suffix (for auth endpoints).
+     * Makes an asynchronous POST request.
      */
-    public String getBaseUrlWithoutVersion() {
-        if (baseUrl.endsWith("/api/v1")) {
-            return baseUrl.substring(0, baseUrl.length() - 7);
-        }
-        return baseUrl;
+    public <T> CompletableFuture<T> postAsync(String path, Object body, Class<T> responseType) {
+        return postAbsoluteAsync(baseUrl + path, body, responseType, null);
     }
 
-    private <T> T executeWithRetry(Request request, Class<T> responseType) throws RynkoException {
-        int maxAttempts = config.isRetryEnabled() ? config.getMaxRetries() : 1;
-        RynkoException lastError = null;
+    /**
+     * Makes an asynchronous POST request with a caller-chosen idempotency key.
+     * A null key falls back to a generated one.
+     */
+    public <T> CompletableFuture<T> postAsync(String path, Object body, Class<T> responseType, String idempotencyKey) {
+        return postAbsoluteAsync(baseUrl + path, body, responseType, idempotencyKey);
+    }
 
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            try (Response response = client.newCall(request).execute()) {
-                String responseBody = response.body() != null ? response.body().string() : "";
+    /**
+     * Makes an asynchronous PUT request.
+     */
+    public <T> CompletableFuture<T> putAsync(String path, Object body, Class<T> responseType) {
+        return putAbsoluteAsync(baseUrl + path, body, responseType);
+    }
 
-                if (!response.isSuccessful()) {
-                    if (shouldRetry(response.code())) {
-                        Long retryAfterMs = parseRetryAfter(response.header("Retry-After"));
-                        long delay = calculateDelay(attempt, retryAfterMs);
+    /**
+     * Makes an asynchronous PATCH request.
+     */
+    public <T> CompletableFuture<T> patchAsync(String path, Object body, Class<T> responseType) {
+        return patchAbsoluteAsync(baseUrl + path, body, responseType);
+    }
 
-                        // Store the error in case this is the last attempt
-                        lastError = createExceptionFromResponse(response.code(), responseBody);
+    /**
+     * Makes an asynchronous DELETE request.
+     */
+    public CompletableFuture<Void> deleteAsync(String path) {
+        return deleteAbsoluteAsync(baseUrl + path);
+    }
 
-                        // If we have more attempts, wait and retry
-                        if (attempt < maxAttempts - 1) {
-                            Thread.sleep(delay);
-                            continue;
-                        }
-                    }
-                    handleError(response.code(), responseBody);
-                }
+    /**
+     * Makes an asynchronous GET request to an absolute URL returning a specific class.
+     */
+    public <T> CompletableFuture<T> getAbsoluteAsync(String absoluteUrl, Map<String, String> queryParams, Class<T> responseType) {
+        return executeAsync(() -> getRequest(absoluteUrl, queryParams), readerFor(responseType));
+    }
 
-                if (responseType == Void.class || responseBody.isEmpty()) {
-                    return null;
-                }
+    /**
+     * Makes an asynchronous GET request to an absolute URL with a TypeReference.
+     */
+    public <T> CompletableFuture<T> getAbsoluteAsync(String absoluteUrl, Map<String, String> queryParams, TypeReference<T> typeReference) {
+        return executeAsync(() -> getRequest(absoluteUrl, queryParams), readerFor(typeReference));
+    }
 
-                return objectMapper.readValue(responseBody, responseType);
-            } catch (IOException e) {
-                throw new RynkoException("Request failed", e);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RynkoException("Request interrupted during retry", e);
-            }
-        }
+    /**
+     * Makes an asynchronous POST request to an absolute URL.
+     */
+    public <T> CompletableFuture<T> postAbsoluteAsync(String absoluteUrl, Object body, Class<T> responseType) {
+        return postAbsoluteAsync(absoluteUrl, body, responseType, null);
+    }
 
-        // If we've exhausted all retries, throw the last error
-        if (lastError != null) {
-            throw lastError;
-        }
+    /**
+     * Makes an asynchronous POST request to an absolute URL with a
+     * caller-chosen idempotency key. A null key falls back to a generated one.
+     */
+    public <T> CompletableFuture<T> postAbsoluteAsync(String absoluteUrl, Object body, Class<T> responseType,
+                                                      String idempotencyKey) {
+        return executeAsync(() -> jsonRequest("POST", absoluteUrl, body, idempotencyKey), readerFor(responseType));
+    }
 
-        throw new RynkoException("Request failed after retries", null, 0);
+    /**
+     * Makes an asynchronous POST request to an absolute URL with a TypeReference.
+     */
+    public <T> CompletableFuture<T> postAbsoluteAsync(String absoluteUrl, Object body, TypeReference<T> typeReference) {
+        return executeAsync(() -> jsonRequest("POST", absoluteUrl, body, null), readerFor(typeReference));
     }
 
-    private <T> T executeWithRetry(Request request, TypeReference<T> typeReference) throws RynkoException {
-        int maxAttempts = config.isRetryEnabled() ? config.getMaxRetries() : 1;
-        RynkoException lastError = null;
+    /**
+     * Makes an asynchronous PUT request to an absolute URL.
+     */
+    public <T> CompletableFuture<T> putAbsoluteAsync(String absoluteUrl, Object body, Class<T> responseType) {
+        return executeAsync(() -> jsonRequest("PUT", absoluteUrl, body, null), readerFor(responseType));
+    }
 
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            try (Response response = client.newCall(request).execute()) {
-                String responseBody = response.body() != null ? response.body().string() : "";
+    /**
+     * Makes an asynchronous PATCH request to an absolute URL.
+     */
+    public <T> CompletableFuture<T> patchAbsoluteAsync(String absoluteUrl, Object body, Class<T> responseType) {
+        return executeAsync(() -> jsonRequest("PATCH", absoluteUrl, body, null), readerFor(responseType));
+    }
 
-                if (!response.isSuccessful()) {
-                    if (shouldRetry(response.code())) {
-                        Long retryAfterMs = parseRetryAfter(response.header("Retry-After"));
-                        long delay = calculateDelay(attempt, retryAfterMs);
+    /**
+     * Makes an asynchronous DELETE request to an absolute URL.
+     */
+    public CompletableFuture<Void> deleteAbsoluteAsync(String absoluteUrl) {
+        return executeAsync(() -> deleteRequest(absoluteUrl), null);
+    }
 
-                        // Store the error in case this is the last attempt
-                        lastError = createExceptionFromResponse(response.code(), responseBody);
+    /**
+     * Makes an asynchronous POST request with multipart form data.
+     */
+    public <T> CompletableFuture<T> postMultipartAsync(String url, List<File> files, Map<String, String> formFields,
+                                                       Class<T> responseType) {
+        return executeAsync(() -> multipartRequest(url, files, formFields, null, null), readerFor(responseType));
+    }
 
-                        // If we have more attempts, wait and retry
-                        if (attempt < maxAttempts - 1) {
-                            Thread.sleep(delay);
-                            continue;
-                        }
-                    }
-                    handleError(response.code(), responseBody);
-                }
+    /**
+     * Makes an asynchronous POST request with multipart form data including a JSON body part.
+     */
+    public <T> CompletableFuture<T> postMultipartWithJsonAsync(String url, List<File> files, Object jsonBody,
+                                                               String jsonFieldName, Class<T> responseType) {
+        return postMultipartWithJsonAsync(url, files, null, jsonBody, jsonFieldName, responseType);
+    }
 
-                if (responseBody.isEmpty()) {
-                    return null;
-                }
+    /**
+     * Makes an asynchronous POST request with multipart form data including form fields and a JSON body part.
+     */
+    public <T> CompletableFuture<T> postMultipartWithJsonAsync(String url, List<File> files,
+                                                               Map<String, String> formFields, Object jsonBody,
+                                                               String jsonFieldName, Class<T> responseType) {
+        return executeAsync(() -> multipartRequest(url, files, formFields, jsonBody, jsonFieldName),
+                readerFor(responseType));
+    }
 
-                return objectMapper.readValue(responseBody, typeReference);
-            } catch (IOException e) {
-                throw new RynkoException("Request failed", e);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RynkoException("Request interrupted during retry", e);
+    /**
+     * Downloads the body of an absolute URL as bytes, asynchronously.
+     *
+     * @see #download(String)
+     */
+    public CompletableFuture<byte[]> downloadAsync(String absoluteUrl) {
+        TransportRequest request;
+        try {
+            request = downloadRequest(absoluteUrl);
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+        AsyncCall<byte[]> call = new AsyncCall<>(request, null);
+        attemptDownload(call, 0);
+        return call.result;
+    }
+
+    /**
+     * Schedules a task on the shared retry scheduler. Used by async
+     * resources to poll without holding a thread between polls.
+     *
+     * @param task    The task to run
+     * @param delayMs Delay before running the task in milliseconds
+     */
+    public void schedule(Runnable task, long delayMs) {
+        RetryScheduler.schedule(task, delayMs);
+    }
+
+    /**
+     * Returns a future that has already completed with the given exception.
+     */
+    public static <T> CompletableFuture<T> failedFuture(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    // ---- Warm-up ----
+
+    /**
+     * Opens connections to the API host ahead of the first call, and
+     * prepares the JSON serializers and deserializers of the given types.
+     *
+     * <p>Connections are opened by sending concurrent
+     * {@code GET /api/auth/verify} requests, the cheap endpoint behind
+     * {@code me()}, with the client's API key. A multi-tenant client has no
+     * key of its own, so its requests are sent without one and answered with
+     * 401, which opens the connections all the same. Each response is held unread
+     * until all have arrived, so every request needs its own connection, and
+     * then closed, which returns the connections to the pool. A response
+     * without a body frees its connection early, so fewer connections may
+     * end up open. Warm-up requests bypass rate limiting,
+     * retries and metrics. They fail silently, as warming up is only an
+     * optimization.</p>
+     *
+     * <p>Opens {@link RynkoConfig#getPrewarmConnections()} connections, or
+     * one if that is not set.</p>
+     *
+     * @param types Model types to prepare (de)serializers for
+     * @return A future completed once the connections are open or have failed
+     */
+    public CompletableFuture<Void> warmUp(Class<?>... types) {
+        CompletableFuture<Void> opened = warmUpConnections(Math.max(config.getPrewarmConnections(), 1));
+        for (Class<?> type : types) {
+            readerFor(type);
+            writers.computeIfAbsent(type, objectMapper::writerFor);
+        }
+        return opened;
+    }
+
+    /**
+     * Opens the configured number of connections in the background, if any.
+     */
+    public void prewarm() {
+        if (config.getPrewarmConnections() > 0) {
+            warmUpConnections(config.getPrewarmConnections());
+        }
+    }
+
+    private CompletableFuture<Void> warmUpConnections(int connections) {
+        TransportRequest.Builder builder = TransportRequest.builder()
+                .url(getBaseUrlWithoutVersion() + "/api/auth/verify")
+                .method("GET", null)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        TransportRequest request = builder.build();
+        Queue<TransportResponse> responses = new ConcurrentLinkedQueue<>();
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            transport.newCall(request).enqueue(new TransportCall.Callback() {
+                @Override
+                public void onResponse(TransportResponse response) {
+                    responses.add(response);
+                    done.complete(null);
+                }
+
+                @Override
+                public void onFailure(IOException e) {
+                    done.complete(null);
+                }
+            });
+            calls[i] = done;
+        }
+        return CompletableFuture.allOf(calls).whenComplete((value, error) -> {
+            for (TransportResponse response : responses) {
+                response.close();
             }
+        });
+    }
+
+    // ---- Request building ----
+
+    /**
+     * Starts a request to the given URL, failing with a RynkoException
+     * rather than an unchecked exception if the URL cannot be parsed.
+     */
+    private static TransportRequest.Builder requestTo(String url) {
+        try {
+            return TransportRequest.builder().url(url);
+        } catch (IllegalArgumentException e) {
+            throw new RynkoException("Invalid URL: " + url, e);
         }
+    }
+
+    private TransportRequest getRequest(String url, Map<String, String> queryParams) {
+        return build(requestTo(withQuery(url, queryParams))
+                .method("GET", null)
+                .header("Authorization", authorization())
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json"));
+    }
 
-        // If we've exhausted all retries, throw the last error
-        if (lastError != null) {
-            throw lastError;
+    /**
+     * Builds a request after applying the headers and timeouts of the
+     * request options, which take precedence over the client's.
+     */
+    private TransportRequest build(TransportRequest.Builder builder) {
+        for (Map.Entry<String, String> header : options.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
         }
+        return builder
+                .readTimeoutMs(options.getReadTimeoutMs())
+                .writeTimeoutMs(options.getWriteTimeoutMs())
+                .build();
+    }
 
-        throw new RynkoException("Request failed after retries", null, 0);
+    /**
+     * Appends form-encoded query parameters to a URL, skipping null values.
+     */
+    private static String withQuery(String url, Map<String, String> queryParams) {
+        if (queryParams == null || queryParams.isEmpty()) {
+            return url;
+        }
+        StringBuilder query = new StringBuilder(url);
+        char separator = url.indexOf('?') >= 0 ? '&' : '?';
+        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+            if (entry.getValue() != null) {
+                query.append(separator).append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+                separator = '&';
+            }
+        }
+        return query.toString();
+    }
+
+    private static String encode(String value) {
+        try {
+            // URLEncoder writes spaces as '+', which not every server decodes in a query
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds a JSON request. The body is serialized once, as UTF-8 bytes, and
+     * the same bytes are replayed on every attempt. Bodies at or above the
+     * configured threshold are gzipped when enabled.
+     */
+    private TransportRequest jsonRequest(String method, String url, Object body, String idempotencyKey)
+            throws RynkoException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        TransportRequest.Builder builder = requestTo(url)
+                .header("Authorization", authorization())
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json");
+        addIdempotencyKey(builder, method, idempotencyKey);
+
+        try {
+            Object payload = options.getWorkspaceId() != null ? withWorkspace(body) : body;
+            writerFor(payload).writeValue(buffer, payload);
+
+            if (config.isGzipRequests() && buffer.size() >= config.getGzipThresholdBytes()) {
+                buffer = gzip(buffer);
+                builder.header("Content-Encoding", "gzip");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RynkoException("Failed to serialize request body", e);
+        }
+
+        return build(builder.method(method, TransportRequest.Body.of(buffer.toByteArray(), JSON)));
+    }
+
+    /**
+     * Returns a copy of a workspace-scoped body with the default workspace
+     * filled in, if it left its own unset, or else the body itself. The
+     * caller's object is not changed, and the copy is written by the cached
+     * writer of its class.
+     */
+    private Object withWorkspace(Object body) {
+        if (body instanceof WorkspaceScoped && ((WorkspaceScoped<?>) body).getWorkspaceId() == null) {
+            return ((WorkspaceScoped<?>) body).withWorkspaceId(options.getWorkspaceId());
+        }
+        return body;
+    }
+
+    /**
+     * Adds the caller's idempotency key, or a generated one for POST and PATCH
+     * when enabled. The key is fixed in the built request, so every retry of
+     * the call sends the same key.
+     */
+    private void addIdempotencyKey(TransportRequest.Builder builder, String method, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            builder.header(IDEMPOTENCY_KEY, idempotencyKey);
+        } else if (config.isIdempotencyKeys() && ("POST".equals(method) || "PATCH".equals(method))) {
+            builder.header(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+        }
+    }
+
+    private static ByteArrayOutputStream gzip(ByteArrayOutputStream source) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(source.size() / 4);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            source.writeTo(out);
+        }
+        return compressed;
+    }
+
+    private TransportRequest downloadRequest(String url) {
+        return build(requestTo(url)
+                .method("GET", null)
+                .header("User-Agent", USER_AGENT));
+    }
+
+    private TransportRequest deleteRequest(String url) {
+        return build(requestTo(url)
+                .method("DELETE", null)
+                .header("Authorization", authorization())
+                .header("User-Agent", USER_AGENT));
+    }
+
+    private TransportRequest multipartRequest(String url, List<File> files, Map<String, String> formFields,
+                                              Object jsonBody, String jsonFieldName) throws RynkoException {
+        MultipartBody body = new MultipartBody();
+
+        if (files != null) {
+            for (File file : files) {
+                body.addFile("files", file, guessContentType(file.getName()));
+            }
+        }
+
+        if (formFields != null) {
+            for (Map.Entry<String, String> entry : formFields.entrySet()) {
+                if (entry.getValue() != null) {
+                    body.addField(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        if (jsonBody != null) {
+            try {
+                String json = writerFor(jsonBody).writeValueAsString(jsonBody);
+                body.addField(jsonFieldName, json);
+            } catch (IOException e) {
+                throw new RynkoException("Failed to serialize request body", e);
+            }
+        }
+
+        TransportRequest.Builder builder = requestTo(url)
+                .method("POST", body.finish())
+                .header("Authorization", authorization())
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json");
+        addIdempotencyKey(builder, "POST", null);
+        return build(builder);
+    }
+
+    private String guessContentType(String filename) {
+        String lower = filename.toLowerCase();
+        if (lower.endsWith(".pdf")) return "application/pdf";
+        if (lower.endsWith(".png")) return "image/png";
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
+        if (lower.endsWith(".csv")) return "text/csv";
+        if (lower.endsWith(".xlsx")) return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+        if (lower.endsWith(".xls")) return "application/vnd.ms-excel";
+        if (lower.endsWith(".json")) return "application/json";
+        if (lower.endsWith(".xml")) return "application/xml";
+        if (lower.endsWith(".txt")) return "text/plain";
+        return "application/octet-stream";
+    }
+
+    /**
+     * Gets the base URL without the /api/v1 suffix (for auth endpoints).
+     */
+    public String getBaseUrlWithoutVersion() {
+        if (baseUrl.endsWith("/api/v1")) {
+            return baseUrl.substring(0, baseUrl.length() - 7);
+        }
+        return baseUrl;
+    }
+
+    // ---- Execution ----
+
+    /**
+     * Returns the route a request is reported under, or null when neither
+     * metrics nor tracing is enabled.
+     */
+    private String route(TransportRequest request) {
+        if (!metrics.isEnabled() && !tracing.isEnabled()) {
+            return null;
+        }
+        return RequestMetrics.routeOf(request.getMethod(), request.getUrl().getRawPath());
+    }
+
+    private ObjectReader readerFor(TypeReference<?> typeReference) {
+        return readerFor(typeReference.getType());
+    }
+
+    /**
+     * Returns the reader for a response type, or null for {@link Void},
+     * whose body is discarded. Readers are immutable and built once per
+     * type, with their root deserializer resolved, so that calls skip
+     * resolving the type and looking up the deserializer.
+     */
+    private ObjectReader readerFor(Type type) {
+        if (type == Void.class) {
+            return null;
+        }
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type,
+                    t -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(t)));
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the writer for a request body, built once per body class.
+     */
+    private ObjectWriter writerFor(Object body) {
+        if (body == null) {
+            return objectMapper.writer();
+        }
+        ObjectWriter writer = writers.get(body.getClass());
+        if (writer == null) {
+            writer = writers.computeIfAbsent(body.getClass(), objectMapper::writerFor);
+        }
+        return writer;
+    }
+
+    /**
+     * Executes a request on the calling thread, retrying retryable statuses
+     * and, for requests that are safe to repeat, network errors. A null
+     * reader discards the response body.
+     *
+     * <p>Blocking callers necessarily wait on their own thread between
+     * attempts. Callers that must not hold a thread during backoff should use
+     * the {@code *Async} methods, whose retries are scheduled on the shared
+     * {@link RetryScheduler}.</p>
+     *
+     * <p>With {@link RynkoConfig#isCoalesceGets()}, a GET that is already
+     * in flight with the same URL, headers and response type is not sent
+     * again: the caller waits for the result of the call in flight.</p>
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T execute(TransportRequest request, ObjectReader reader) throws RynkoException {
+        if (!coalescer.appliesTo(request)) {
+            return send(request, reader);
+        }
+        RequestCoalescer.Key key = new RequestCoalescer.Key(request, reader);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = coalescer.join(key, flight);
+        if (existing != null) {
+            // Wait on a copy, so that an interrupted caller does not cancel the call for the others
+            return await(existing.thenApply(value -> (T) value));
+        }
+        T value;
+        try {
+            value = send(request, reader);
+        } catch (RuntimeException | Error e) {
+            coalescer.complete(key, flight, null, e);
+            throw e;
+        }
+        coalescer.complete(key, flight, value, null);
+        return value;
+    }
+
+    private <T> T send(TransportRequest request, ObjectReader reader) throws RynkoException {
+        if (hedger.appliesTo(request)) {
+            // Hedging races two calls, which needs the async machinery
+            return await(startAsync(request, reader));
+        }
+
+        String route = route(request);
+        Span span = tracing.startCall(request, route);
+        try {
+            T value = executeAttempts(request, reader, route, span);
+            tracing.end(span, null);
+            return value;
+        } catch (RuntimeException e) {
+            tracing.end(span, e);
+            throw e;
+        }
     }
 
-    private void executeVoidWithRetry(Request request) throws RynkoException {
-        int maxAttempts = config.isRetryEnabled() ? config.getMaxRetries() : 1;
-        RynkoException lastError = null;
+    private <T> T executeAttempts(TransportRequest request, ObjectReader reader, String route, Span span)
+            throws RynkoException {
+        int maxAttempts = maxAttempts();
+        EndpointGroup group = EndpointGroup.of(request.getUrl());
+        Deadline deadline = deadline();
+        Throwable lastFailure = null;
 
         for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            try (Response response = client.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String responseBody = response.body() != null ? response.body().string() : "";
+            boolean probe = circuitBreaker.acquire(group);
+            try {
+                pace(group, deadline, attempt, lastFailure);
+                acquireSlot(group, deadline, attempt, lastFailure);
+            } catch (RuntimeException e) {
+                // The attempt is never sent, so a half-open probe it holds goes to another caller
+                releaseProbe(group, probe);
+                throw e;
+            }
+            if (deadline.isExpired()) {
+                concurrencyLimiter.release(group);
+                releaseProbe(group, probe);
+                throw deadline.exceeded(attempt, lastFailure);
+            }
+            metrics.onAttempt(route, attempt, request);
+            Span attemptSpan = tracing.startAttempt(span, request, route, attempt, false);
+
+            long delay;
+            long sentAt = System.nanoTime();
+            long latencyNanos = -1;
+            boolean overloaded = false;
+            Throwable failure = null;
+            TransportCall call = transport.newCall(tracing.inject(deadline.apply(request), attemptSpan));
+            try (TransportResponse response = call.execute()) {
+                latencyNanos = System.nanoTime() - sentAt;
+                metrics.onResponse(route, response.getStatusCode(), latencyNanos);
+                tracing.onResponse(attemptSpan, response.getStatusCode());
+                overloaded = isOverloaded(response.getStatusCode());
+                circuitBreaker.onResponse(group, response.getStatusCode());
+
+                Long retryAfterMs = parseRetryAfter(response.getHeader("Retry-After"));
+                rateLimiter.onResponse(group, response, retryAfterMs);
+
+                if (isSuccessful(response)) {
+                    retryBudget.onSuccess();
+                    return readResponse(response, reader, route);
+                }
 
-                    if (shouldRetry(response.code())) {
-                        Long retryAfterMs = parseRetryAfter(response.header("Retry-After"));
-                        long delay = calculateDelay(attempt, retryAfterMs);
+                RynkoException error = createExceptionFromResponse(response.getStatusCode(),
+                        readErrorBody(response, route));
+                failure = error;
+                if (!shouldRetry(response.getStatusCode()) || attempt >= maxAttempts - 1) {
+                    throw error;
+                }
+                delay = calculateDelay(attempt, retryAfterMs);
+                if (deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+                    throw deadline.exceeded(attempt + 1, error);
+                }
+                if (!retryBudget.tryAcquire()) {
+                    throw error;
+                }
+                lastFailure = error;
+                tracing.onRetry(attemptSpan, delay);
+            } catch (IOException e) {
+                failure = e;
+                boolean noResponse = latencyNanos < 0;
+                // A call cut short by its own deadline says nothing about the server's health
+                boolean expired = deadline.isExpired();
+                if (noResponse) {
+                    if (!expired) {
+                        circuitBreaker.onFailure(group);
+                    }
+                    metrics.onNetworkError(route, System.nanoTime() - sentAt);
+                }
+                if (e instanceof SocketTimeoutException) {
+                    latencyNanos = System.nanoTime() - sentAt;
+                    overloaded = true;
+                }
+                if (expired) {
+                    throw deadline.exceeded(attempt + 1, e);
+                }
+                if (!noResponse || !shouldRetryNetworkError(request, attempt, maxAttempts)) {
+                    throw new RynkoException("Request failed", e);
+                }
+                delay = calculateDelay(attempt, null);
+                if (deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+                    throw deadline.exceeded(attempt + 1, e);
+                }
+                if (!retryBudget.tryAcquire()) {
+                    throw new RynkoException("Request failed", e);
+                }
+                lastFailure = e;
+                tracing.onRetry(attemptSpan, delay);
+            } finally {
+                releaseSlot(group, latencyNanos, overloaded);
+                metrics.onCallTimings(route, call);
+                tracing.end(attemptSpan, failure);
+            }
 
-                        // Store the error in case this is the last attempt
-                        lastError = createExceptionFromResponse(response.code(), responseBody);
+            // Back off only after the response is closed so its connection returns to the pool
+            metrics.onBackoff(route, delay);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RynkoException("Request interrupted during retry", e);
+            }
+        }
 
-                        // If we have more attempts, wait and retry
-                        if (attempt < maxAttempts - 1) {
-                            Thread.sleep(delay);
-                            continue;
-                        }
+        throw new RynkoException("Request failed after retries", null, 0);
+    }
+
+    /**
+     * Waits for an async request on the calling thread, rethrowing its failure.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws RynkoException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RynkoException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RynkoException) {
+                throw (RynkoException) e.getCause();
+            }
+            throw new RynkoException("Request failed", e.getCause());
+        }
+    }
+
+    /**
+     * Waits on the calling thread until the rate limiter allows the next
+     * request of the given group. Fails at once, without waiting, if the
+     * wait would reach the deadline.
+     */
+    private void pace(EndpointGroup group, Deadline deadline, int attempt, Throwable lastFailure) {
+        long waitNanos = rateLimiter.reserve(group);
+        if (waitNanos <= 0) {
+            return;
+        }
+        if (deadline.expiresWithin(waitNanos, TimeUnit.NANOSECONDS)) {
+            throw deadline.exceeded(attempt, lastFailure);
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RynkoException("Request interrupted while rate limited", e);
+        }
+    }
+
+    /**
+     * Waits on the calling thread for a concurrency slot of the given group,
+     * for no longer than the time left before the deadline.
+     */
+    private void acquireSlot(EndpointGroup group, Deadline deadline, int attempt, Throwable lastFailure) {
+        CompletableFuture<Void> slot = concurrencyLimiter.acquire(group);
+        if (slot.isDone()) {
+            return;
+        }
+        try {
+            slot.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!slot.cancel(false)) {
+                concurrencyLimiter.release(group);
+            }
+            throw deadline.exceeded(attempt, lastFailure);
+        } catch (InterruptedException e) {
+            // If the slot was granted concurrently, hand it back
+            if (!slot.cancel(false)) {
+                concurrencyLimiter.release(group);
+            }
+            Thread.currentThread().interrupt();
+            throw new RynkoException("Request interrupted while waiting for a concurrency slot", e);
+        } catch (ExecutionException e) {
+            throw new RynkoException("Failed to acquire a concurrency slot", e.getCause());
+        }
+    }
+
+    private void releaseProbe(EndpointGroup group, boolean probe) {
+        if (probe) {
+            circuitBreaker.release(group);
+        }
+    }
+
+    /**
+     * Returns a concurrency slot. A negative latency means the request got no
+     * response, and the outcome does not adjust the limit.
+     */
+    private void releaseSlot(EndpointGroup group, long latencyNanos, boolean overloaded) {
+        if (latencyNanos < 0) {
+            concurrencyLimiter.release(group);
+        } else {
+            concurrencyLimiter.release(group, latencyNanos, overloaded);
+        }
+    }
+
+    private static boolean isOverloaded(int statusCode) {
+        return statusCode == 429 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Builds a request and executes it asynchronously. Building fails on an
+     * invalid URL, a body that cannot be serialized or a multi-tenant client
+     * without a tenant; like any other failure, that completes the returned
+     * future exceptionally instead of being thrown to the caller.
+     */
+    private <T> CompletableFuture<T> executeAsync(Supplier<TransportRequest> request, ObjectReader reader) {
+        TransportRequest built;
+        try {
+            built = request.get();
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+        return executeAsync(built, reader);
+    }
+
+    /**
+     * Executes a request with OkHttp's {@code enqueue}, retrying retryable
+     * statuses and, for requests that are safe to repeat, network errors on
+     * the retry scheduler. Cancelling the returned future cancels the
+     * in-flight call, unless it is shared with other callers.
+     *
+     * <p>With {@link RynkoConfig#isCoalesceGets()}, a GET that is already
+     * in flight with the same URL, headers and response type is not sent
+     * again: the returned future completes with the result of the call in
+     * flight.</p>
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> executeAsync(TransportRequest request, ObjectReader reader) {
+        if (!coalescer.appliesTo(request)) {
+            return startAsync(request, reader);
+        }
+        RequestCoalescer.Key key = new RequestCoalescer.Key(request, reader);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = coalescer.join(key, flight);
+        if (existing == null) {
+            this.<T>startAsync(request, reader)
+                    .whenComplete((value, error) -> coalescer.complete(key, flight, value, error));
+            existing = flight;
+        }
+        // Each caller gets its own copy, so that cancelling it does not cancel the call for the others
+        return existing.thenApply(value -> (T) value);
+    }
+
+    private <T> CompletableFuture<T> startAsync(TransportRequest request, ObjectReader reader) {
+        AsyncCall<T> call = new AsyncCall<>(request, reader);
+        attemptAsync(call, 0);
+        return call.result;
+    }
+
+    /**
+     * State shared by the attempts of one async call.
+     */
+    private final class AsyncCall<T> {
+        final TransportRequest request;
+        final ObjectReader reader;
+        final EndpointGroup group;
+        final String route;
+        final Span span;
+        final int maxAttempts;
+        final Deadline deadline;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicReference<TransportCall> currentCall = new AtomicReference<>();
+        final AtomicBoolean spanEnded = new AtomicBoolean();
+        // Attempts run one after another, so the failure of the last one is all that is kept
+        volatile Throwable lastFailure;
+
+        AsyncCall(TransportRequest request, ObjectReader reader) {
+            this.request = request;
+            this.reader = reader;
+            this.group = EndpointGroup.of(request.getUrl());
+            this.route = route(request);
+            this.span = tracing.startCall(request, route);
+            this.maxAttempts = maxAttempts();
+            this.deadline = deadline();
+
+            result.whenComplete((value, error) -> {
+                TransportCall call = currentCall.get();
+                if (result.isCancelled() && call != null) {
+                    call.cancel();
+                }
+                endSpan(error);
+            });
+        }
+
+        private void endSpan(Throwable error) {
+            if (spanEnded.compareAndSet(false, true)) {
+                tracing.end(span, error);
+            }
+        }
+
+        /**
+         * Completes the call. The span is ended first, so that it is complete
+         * by the time the caller sees the result. Calls that end on a timer
+         * are completed off the shared retry scheduler thread.
+         */
+        void complete(T value) {
+            endSpan(null);
+            RetryScheduler.complete(() -> result.complete(value));
+        }
+
+        void fail(Throwable error) {
+            endSpan(error);
+            RetryScheduler.complete(() -> result.completeExceptionally(error));
+        }
+    }
+
+    private <T> void attemptAsync(AsyncCall<T> call, int attempt) {
+        if (call.result.isDone()) {
+            return;
+        }
+        if (call.deadline.isExpired()) {
+            call.fail(call.deadline.exceeded(attempt, call.lastFailure));
+            return;
+        }
+
+        boolean probe;
+        try {
+            probe = circuitBreaker.acquire(call.group);
+        } catch (RynkoException e) {
+            call.fail(e);
+            return;
+        }
+
+        long waitNanos = rateLimiter.reserve(call.group);
+        if (waitNanos > 0) {
+            if (call.deadline.expiresWithin(waitNanos, TimeUnit.NANOSECONDS)) {
+                releaseProbe(call.group, probe);
+                call.fail(call.deadline.exceeded(attempt, call.lastFailure));
+                return;
+            }
+            RetryScheduler.schedule(() -> sendAsync(call, attempt, probe), waitNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        sendAsync(call, attempt, probe);
+    }
+
+    /**
+     * Waits for a concurrency slot, then sends the attempt. Every exit that
+     * does not send it gives back the half-open probe the attempt holds.
+     */
+    private <T> void sendAsync(AsyncCall<T> call, int attempt, boolean probe) {
+        if (call.result.isDone()) {
+            releaseProbe(call.group, probe);
+            return;
+        }
+
+        CompletableFuture<Void> slot = concurrencyLimiter.acquire(call.group);
+        if (slot.isDone()) {
+            dispatchAsync(call, attempt, probe);
+        } else if (call.deadline == Deadline.NONE) {
+            slot.thenRun(() -> dispatchAsync(call, attempt, probe));
+        } else {
+            // Give up waiting for the slot when the deadline passes
+            ScheduledFuture<?> timeout = RetryScheduler.schedule(() -> {
+                if (slot.cancel(false)) {
+                    releaseProbe(call.group, probe);
+                    call.fail(call.deadline.exceeded(attempt, call.lastFailure));
+                }
+            }, call.deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            slot.thenRun(() -> {
+                timeout.cancel(false);
+                dispatchAsync(call, attempt, probe);
+            });
+        }
+    }
+
+    /**
+     * Sends one attempt once a concurrency slot is held.
+     */
+    private <T> void dispatchAsync(AsyncCall<T> call, int attempt, boolean probe) {
+        if (call.result.isDone()) {
+            concurrencyLimiter.release(call.group);
+            releaseProbe(call.group, probe);
+            return;
+        }
+        if (call.deadline.isExpired()) {
+            concurrencyLimiter.release(call.group);
+            releaseProbe(call.group, probe);
+            call.fail(call.deadline.exceeded(attempt, call.lastFailure));
+            return;
+        }
+        new AsyncAttempt<>(call, attempt).start();
+    }
+
+    /**
+     * One async attempt, made of the primary call and, for hedged GETs, a
+     * second copy sent when the primary is slow. The first response wins and
+     * the other call is cancelled. The attempt's concurrency slot is released
+     * exactly once, when the attempt settles.
+     */
+    private final class AsyncAttempt<T> {
+        private final AsyncCall<T> asyncCall;
+        private final TransportRequest request;
+        private final EndpointGroup group;
+        private final String route;
+        private final int attempt;
+        private final CompletableFuture<T> result;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Queue<TransportCall> calls = new ConcurrentLinkedQueue<>();
+
+        AsyncAttempt(AsyncCall<T> asyncCall, int attempt) {
+            this.asyncCall = asyncCall;
+            this.request = asyncCall.request;
+            this.group = asyncCall.group;
+            this.route = asyncCall.route;
+            this.attempt = attempt;
+            this.result = asyncCall.result;
+        }
+
+        void start() {
+            TransportCall call = send(false);
+            asyncCall.currentCall.set(call);
+
+            if (hedger.appliesTo(request)) {
+                long hedgeDelay = hedger.delayNanos(group);
+                if (hedgeDelay >= 0) {
+                    RetryScheduler.schedule(this::hedge, hedgeDelay, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private void hedge() {
+            if (settled.get() || result.isDone() || !hedger.tryHedge()) {
+                return;
+            }
+            TransportCall call = send(true);
+            result.whenComplete((value, error) -> call.cancel());
+        }
+
+        private TransportCall send(boolean hedge) {
+            long sentAt = System.nanoTime();
+            Span span = tracing.startAttempt(asyncCall.span, request, route, attempt, hedge);
+            TransportCall call = transport.newCall(tracing.inject(asyncCall.deadline.apply(request), span));
+            calls.add(call);
+            pending.incrementAndGet();
+            metrics.onAttempt(route, attempt, request);
+            call.enqueue(new TransportCall.Callback() {
+                @Override
+                public void onFailure(IOException e) {
+                    // OkHttp cancels a call that runs out of time, so a cancelled call
+                    // past the deadline timed out rather than being given up on
+                    boolean expired = asyncCall.deadline.isExpired();
+                    boolean canceled = call.isCanceled() && !expired;
+                    if (!canceled) {
+                        metrics.onNetworkError(route, System.nanoTime() - sentAt);
+                        metrics.onCallTimings(route, call);
+                    }
+                    // While another copy is still in flight, let it decide the attempt
+                    if (pending.decrementAndGet() > 0 || !settled.compareAndSet(false, true)) {
+                        tracing.end(span, canceled ? null : e);
+                        return;
+                    }
+                    // A call cut short by its own deadline says nothing about the server's health
+                    if (!canceled && !expired) {
+                        circuitBreaker.onFailure(group);
                     }
-                    handleError(response.code(), responseBody);
+                    if (e instanceof SocketTimeoutException) {
+                        releaseSlot(group, System.nanoTime() - sentAt, true);
+                    } else {
+                        concurrencyLimiter.release(group);
+                    }
+                    if (expired) {
+                        tracing.end(span, e);
+                        asyncCall.fail(asyncCall.deadline.exceeded(attempt + 1, e));
+                        return;
+                    }
+                    if (!canceled && !result.isDone()
+                            && shouldRetryNetworkError(request, attempt, asyncCall.maxAttempts)) {
+                        retry(span, calculateDelay(attempt, null), e, new RynkoException("Request failed", e));
+                        tracing.end(span, e);
+                        return;
+                    }
+                    tracing.end(span, canceled ? null : e);
+                    asyncCall.fail(new RynkoException("Request failed", e));
+                }
+
+                @Override
+                public void onResponse(TransportResponse response) {
+                    long latencyNanos = System.nanoTime() - sentAt;
+                    metrics.onResponse(route, response.getStatusCode(), latencyNanos);
+                    tracing.onResponse(span, response.getStatusCode());
+                    pending.decrementAndGet();
+                    if (!settled.compareAndSet(false, true)) {
+                        response.close();
+                        metrics.onCallTimings(route, call);
+                        tracing.end(span, null);
+                        return;
+                    }
+                    cancelOthers(call);
+                    hedger.recordLatency(group, latencyNanos);
+                    complete(call, response, latencyNanos, span);
                 }
+            });
+            return call;
+        }
+
+        private void cancelOthers(TransportCall winner) {
+            for (TransportCall call : calls) {
+                if (call != winner) {
+                    call.cancel();
+                }
+            }
+        }
+
+        /**
+         * Schedules the next attempt of the call after a backoff delay. Fails
+         * the call if the backoff would overrun its deadline, or with
+         * {@code exhausted} if the retry budget is spent; a token is only
+         * taken for a retry that is actually scheduled.
+         */
+        private void retry(Span span, long delay, Throwable cause, RynkoException exhausted) {
+            if (asyncCall.deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+                asyncCall.fail(asyncCall.deadline.exceeded(attempt + 1, cause));
                 return;
+            }
+            if (!retryBudget.tryAcquire()) {
+                asyncCall.fail(exhausted);
+                return;
+            }
+            asyncCall.lastFailure = cause;
+            metrics.onBackoff(route, delay);
+            tracing.onRetry(span, delay);
+            RetryScheduler.schedule(() -> attemptAsync(asyncCall, attempt + 1), delay);
+        }
+
+        private void complete(TransportCall call, TransportResponse response, long latencyNanos, Span span) {
+            T value = null;
+            Throwable error = null;
+            try (TransportResponse r = response) {
+                circuitBreaker.onResponse(group, r.getStatusCode());
+                Long retryAfterMs = parseRetryAfter(r.getHeader("Retry-After"));
+                rateLimiter.onResponse(group, r, retryAfterMs);
+
+                if (isSuccessful(r)) {
+                    retryBudget.onSuccess();
+                    value = readResponse(r, asyncCall.reader, route);
+                } else {
+                    String responseBody = readErrorBody(r, route);
+
+                    RynkoException failure = createExceptionFromResponse(r.getStatusCode(), responseBody);
+                    error = failure;
+                    if (shouldRetry(r.getStatusCode()) && attempt < asyncCall.maxAttempts - 1) {
+                        releaseSlot(group, latencyNanos, isOverloaded(r.getStatusCode()));
+                        retry(span, calculateDelay(attempt, retryAfterMs), failure, failure);
+                        tracing.end(span, error);
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                error = new RynkoException("Request failed", e);
+            } catch (RuntimeException e) {
+                error = e;
+            } finally {
+                // The response is closed by now, so the call's timings are complete
+                metrics.onCallTimings(route, call);
+            }
+
+            // Free the slot before completing so dependent stages can use it straight away
+            releaseSlot(group, latencyNanos, isOverloaded(response.getStatusCode()));
+            tracing.end(span, error);
+            if (error != null) {
+                asyncCall.fail(error);
+            } else {
+                asyncCall.complete(value);
+            }
+        }
+    }
+
+    // ---- Downloads ----
+
+    /**
+     * Sends a download on the calling thread, retrying retryable statuses
+     * and network errors within the deadline. Unlike
+     * {@link #executeAttempts}, it bypasses the rate limiter, concurrency
+     * limiter and circuit breaker, which guard the API rather than the
+     * storage that download URLs point to.
+     */
+    private byte[] downloadAttempts(TransportRequest request, String route, Span span) throws RynkoException {
+        int maxAttempts = maxAttempts();
+        Deadline deadline = deadline();
+        Throwable lastFailure = null;
+
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (deadline.isExpired()) {
+                throw deadline.exceeded(attempt, lastFailure);
+            }
+            metrics.onAttempt(route, attempt, request);
+            Span attemptSpan = tracing.startAttempt(span, request, route, attempt, false);
+
+            long delay;
+            long sentAt = System.nanoTime();
+            Throwable failure = null;
+            TransportCall call = transport.newCall(tracing.inject(deadline.apply(request), attemptSpan));
+            try (TransportResponse response = call.execute()) {
+                metrics.onResponse(route, response.getStatusCode(), System.nanoTime() - sentAt);
+                tracing.onResponse(attemptSpan, response.getStatusCode());
+
+                if (isSuccessful(response)) {
+                    retryBudget.onSuccess();
+                    return readBody(response, route);
+                }
+
+                RynkoException error = createExceptionFromResponse(response.getStatusCode(),
+                        readErrorBody(response, route));
+                failure = error;
+                if (!shouldRetry(response.getStatusCode()) || attempt >= maxAttempts - 1) {
+                    throw error;
+                }
+                delay = calculateDelay(attempt, parseRetryAfter(response.getHeader("Retry-After")));
+                if (deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+                    throw deadline.exceeded(attempt + 1, error);
+                }
+                if (!retryBudget.tryAcquire()) {
+                    throw error;
+                }
+                lastFailure = error;
+                tracing.onRetry(attemptSpan, delay);
             } catch (IOException e) {
-                throw new RynkoException("Request failed", e);
+                failure = e;
+                metrics.onNetworkError(route, System.nanoTime() - sentAt);
+                if (deadline.isExpired()) {
+                    throw deadline.exceeded(attempt + 1, e);
+                }
+                if (!shouldRetryNetworkError(request, attempt, maxAttempts)) {
+                    throw new RynkoException("Request failed", e);
+                }
+                delay = calculateDelay(attempt, null);
+                if (deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+                    throw deadline.exceeded(attempt + 1, e);
+                }
+                if (!retryBudget.tryAcquire()) {
+                    throw new RynkoException("Request failed", e);
+                }
+                lastFailure = e;
+                tracing.onRetry(attemptSpan, delay);
+            } finally {
+                metrics.onCallTimings(route, call);
+                tracing.end(attemptSpan, failure);
+            }
+
+            metrics.onBackoff(route, delay);
+            try {
+                Thread.sleep(delay);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new RynkoException("Request interrupted during retry", e);
             }
         }
 
-        // If we've exhausted all retries, throw the last error
-        if (lastError != null) {
-            throw lastError;
+        throw new RynkoException("Request failed after retries", null, 0);
+    }
+
+    /**
+     * Sends one attempt of an async download, scheduling the next one on
+     * the retry scheduler when the attempt is retryable. Like
+     * {@link #downloadAttempts}, it bypasses the guards that protect the API.
+     */
+    private void attemptDownload(AsyncCall<byte[]> call, int attempt) {
+        if (call.result.isDone()) {
+            return;
+        }
+        if (call.deadline.isExpired()) {
+            call.fail(call.deadline.exceeded(attempt, call.lastFailure));
+            return;
         }
 
-        throw new RynkoException("Request failed after retries", null, 0);
+        String route = call.route;
+        long sentAt = System.nanoTime();
+        Span span = tracing.startAttempt(call.span, call.request, route, attempt, false);
+        TransportCall transportCall = transport.newCall(tracing.inject(call.deadline.apply(call.request), span));
+        call.currentCall.set(transportCall);
+        metrics.onAttempt(route, attempt, call.request);
+        transportCall.enqueue(new TransportCall.Callback() {
+            @Override
+            public void onFailure(IOException e) {
+                boolean expired = call.deadline.isExpired();
+                boolean canceled = transportCall.isCanceled() && !expired;
+                if (!canceled) {
+                    metrics.onNetworkError(route, System.nanoTime() - sentAt);
+                    metrics.onCallTimings(route, transportCall);
+                }
+                if (expired) {
+                    tracing.end(span, e);
+                    call.fail(call.deadline.exceeded(attempt + 1, e));
+                } else if (!canceled && shouldRetryNetworkError(call.request, attempt, call.maxAttempts)) {
+                    retryDownload(call, attempt, span, calculateDelay(attempt, null), e,
+                            new RynkoException("Request failed", e));
+                    tracing.end(span, e);
+                } else {
+                    tracing.end(span, canceled ? null : e);
+                    call.fail(new RynkoException("Request failed", e));
+                }
+            }
+
+            @Override
+            public void onResponse(TransportResponse response) {
+                metrics.onResponse(route, response.getStatusCode(), System.nanoTime() - sentAt);
+                tracing.onResponse(span, response.getStatusCode());
+                byte[] body = null;
+                Throwable error = null;
+                try (TransportResponse r = response) {
+                    if (isSuccessful(r)) {
+                        retryBudget.onSuccess();
+                        body = readBody(r, route);
+                    } else {
+                        RynkoException failure = createExceptionFromResponse(r.getStatusCode(),
+                                readErrorBody(r, route));
+                        error = failure;
+                        if (shouldRetry(r.getStatusCode()) && attempt < call.maxAttempts - 1) {
+                            Long retryAfterMs = parseRetryAfter(r.getHeader("Retry-After"));
+                            retryDownload(call, attempt, span, calculateDelay(attempt, retryAfterMs), failure,
+                                    failure);
+                            tracing.end(span, error);
+                            return;
+                        }
+                    }
+                } catch (IOException e) {
+                    error = new RynkoException("Request failed", e);
+                } finally {
+                    metrics.onCallTimings(route, transportCall);
+                }
+
+                tracing.end(span, error);
+                if (error != null) {
+                    call.fail(error);
+                } else {
+                    call.complete(body);
+                }
+            }
+        });
+    }
+
+    private void retryDownload(AsyncCall<byte[]> call, int attempt, Span span, long delay, Throwable cause,
+                               RynkoException exhausted) {
+        if (call.deadline.expiresWithin(delay, TimeUnit.MILLISECONDS)) {
+            call.fail(call.deadline.exceeded(attempt + 1, cause));
+            return;
+        }
+        if (!retryBudget.tryAcquire()) {
+            call.fail(exhausted);
+            return;
+        }
+        call.lastFailure = cause;
+        metrics.onBackoff(call.route, delay);
+        tracing.onRetry(span, delay);
+        RetryScheduler.schedule(() -> attemptDownload(call, attempt + 1), delay);
+    }
+
+    /**
+     * Reads a download body in full. Downloads are not limited by
+     * {@link RynkoConfig#getMaxResponseBytes()}, which bounds API responses.
+     */
+    private byte[] readBody(TransportResponse response, String route) throws IOException {
+        long length = response.getContentLength();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                length > 0 && length < Integer.MAX_VALUE ? (int) length : 8192);
+        InputStream body = response.getBody();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = body.read(chunk)) != -1) {
+            out.write(chunk, 0, n);
+        }
+        metrics.onBytesReceived(route, out.size());
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserializes a successful response straight from the socket, without
+     * buffering the body as a String. Returns null for void calls and empty
+     * bodies.
+     */
+    private <T> T readResponse(TransportResponse response, ObjectReader reader, String route) throws IOException {
+        if (reader == null) {
+            return null;
+        }
+
+        long maxBytes = config.getMaxResponseBytes();
+        if (maxBytes > 0 && response.getContentLength() > maxBytes) {
+            throw responseTooLarge(response.getStatusCode());
+        }
+
+        CountingInputStream in = new CountingInputStream(response.getBody(), maxBytes);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            T value = parser.nextToken() != null ? reader.readValue(parser) : null;
+            metrics.onBytesReceived(route, in.count);
+            return value;
+        } catch (ResponseTooLargeException e) {
+            throw responseTooLarge(response.getStatusCode());
+        }
+    }
+
+    /**
+     * Buffers an error body for the exception message. Error bodies are
+     * small, so anything past {@link #MAX_ERROR_BODY_BYTES} is dropped.
+     */
+    private String readErrorBody(TransportResponse response, String route) throws IOException {
+        InputStream body = response.getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while (out.size() < MAX_ERROR_BODY_BYTES
+                && (n = body.read(chunk, 0, (int) Math.min(chunk.length, MAX_ERROR_BODY_BYTES - out.size()))) != -1) {
+            out.write(chunk, 0, n);
+        }
+        metrics.onBytesReceived(route, out.size());
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSuccessful(TransportResponse response) {
+        return response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+    }
+
+    private RynkoException responseTooLarge(int statusCode) {
+        return new RynkoException("Response body exceeds maxResponseBytes (" + config.getMaxResponseBytes() + ")",
+                "ERR_RESPONSE_TOO_LARGE", statusCode);
+    }
+
+    /**
+     * Input stream that counts the bytes read and fails once more than a
+     * limit is read. A limit of 0 or less disables the check.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        CountingInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws ResponseTooLargeException {
+            count += n;
+            if (maxBytes > 0 && count > maxBytes) {
+                throw new ResponseTooLargeException();
+            }
+        }
+    }
+
+    private static final class ResponseTooLargeException extends IOException {
     }
 
     private RynkoException createExceptionFromResponse(int statusCode, String responseBody) {
         try {
-            ApiError error = objectMapper.readValue(responseBody, ApiError.class);
+            ApiError error = errorReader.readValue(responseBody);
             return new RynkoException(error.getMessage(), error.getCode(), statusCode);
         } catch (IOException e) {
             return new RynkoException("HTTP " + statusCode + ": " + responseBody, null, statusCode);
         }
     }
 
-    private void handleError(int statusCode, String responseBody) throws RynkoException {
-        try {
-            ApiError error = objectMapper.readValue(responseBody, ApiError.class);
-            throw new RynkoException(error.getMessage(), error.getCode(), statusCode);
-        } catch (IOException e) {
-            throw new RynkoException("HTTP " + statusCode + ": " + responseBody, null, statusCode);
-        }
+    /**
+     * Returns the current adaptive concurrency limit and in-flight count of
+     * an endpoint group.
+     */
+    public ConcurrencyStats getConcurrencyStats(EndpointGroup group) {
+        return concurrencyLimiter.stats(group);
+    }
+
+    /**
+     * Returns the circuit breaker state of an endpoint group.
+     */
+    public CircuitState getCircuitState(EndpointGroup group) {
+        return circuitBreaker.state(group);
     }
 
     public ObjectMapper getObjectMapper() {
@@ -0,0 +1,154 @@
+package dev.rynko.utils;
+
+import dev.rynko.transport.TransportRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A {@code multipart/form-data} body. Files are streamed from disk on every
+ * send rather than loaded into memory, so the body can be replayed on retry.
+ */
+final class MultipartBody implements TransportRequest.Body {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final String boundary = UUID.randomUUID().toString();
+    // Each part is a byte[] or a File
+    private final List<Object> parts = new ArrayList<>();
+    private long contentLength;
+
+    /**
+     * Adds a text field.
+     */
+    MultipartBody addField(String name, String value) {
+        addBytes(header(name, null, null));
+        addBytes(value.getBytes(StandardCharsets.UTF_8));
+        addBytes(CRLF);
+        return this;
+    }
+
+    /**
+     * Adds a file, streamed from disk when the body is sent.
+     */
+    MultipartBody addFile(String name, File file, String contentType) {
+        addBytes(header(name, file.getName(), contentType));
+        parts.add(file);
+        contentLength += file.length();
+        addBytes(CRLF);
+        return this;
+    }
+
+    /**
+     * Writes the closing boundary. No parts can be added afterwards.
+     */
+    MultipartBody finish() {
+        addBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    private byte[] header(String name, String filename, String contentType) {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=").append(quote(name));
+        if (filename != null) {
+            header.append("; filename=").append(quote(filename));
+        }
+        header.append("\r\n");
+        if (contentType != null) {
+            header.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        return header.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Quotes a name the way browsers do, percent-encoding the characters that
+     * would end the header.
+     */
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\n':
+                    quoted.append("%0A");
+                    break;
+                case '\r':
+                    quoted.append("%0D");
+                    break;
+                case '"':
+                    quoted.append("%22");
+                    break;
+                default:
+                    quoted.append(c);
+                    break;
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void addBytes(byte[] bytes) {
+        parts.add(bytes);
+        contentLength += bytes.length;
+    }
+
+    @Override
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream open() {
+        Iterator<Object> remaining = parts.iterator();
+        // Files are opened lazily, one at a time, as the stream reaches them
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return remaining.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                Object part = remaining.next();
+                if (part instanceof byte[]) {
+                    return new ByteArrayInputStream((byte[]) part);
+                }
+                try {
+                    return new FileInputStream((File) part);
+                } catch (IOException e) {
+                    return new FailingInputStream(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Surfaces a file that could not be opened as a read failure of the body.
+     */
+    private static final class FailingInputStream extends InputStream {
+        private final IOException error;
+
+        FailingInputStream(IOException error) {
+            this.error = error;
+        }
+
+        @Override
+        public int read() throws IOException {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package dev.rynko.utils;
+
+import dev.rynko.EndpointGroup;
+import dev.rynko.RynkoConfig;
+import dev.rynko.transport.TransportResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side token-bucket rate limiter with one bucket per endpoint group.
+ *
+ * <p>Requests are paced before they are sent rather than rejected: callers
+ * reserve a slot and wait for the returned delay. Buckets follow the server's
+ * {@code Retry-After} and {@code RateLimit-*} / {@code X-RateLimit-*}
+ * headers, so every thread sharing the client slows down together as soon as
+ * one of them sees the quota running out. Groups without a configured rate
+ * are not limited.</p>
+ */
+final class RateLimiter {
+
+    private final Map<EndpointGroup, Bucket> buckets = new EnumMap<>(EndpointGroup.class);
+
+    RateLimiter(RynkoConfig config) {
+        for (Map.Entry<EndpointGroup, Double> entry : config.getRateLimits().entrySet()) {
+            buckets.put(entry.getKey(), new Bucket(entry.getValue(), config.getRateLimitBurst()));
+        }
+    }
+
+    /**
+     * Reserves a slot for one request and returns how long the caller must
+     * wait before sending it, in nanoseconds.
+     */
+    long reserve(EndpointGroup group) {
+        Bucket bucket = buckets.get(group);
+        return bucket != null ? bucket.reserve(System.nanoTime()) : 0;
+    }
+
+    /**
+     * Adjusts the group's bucket from the rate-limit headers of a response.
+     */
+    void onResponse(EndpointGroup group, TransportResponse response, Long retryAfterMs) {
+        Bucket bucket = buckets.get(group);
+        if (bucket == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (retryAfterMs != null && (response.getStatusCode() == 429 || response.getStatusCode() == 503)) {
+            bucket.pauseUntil(now + TimeUnit.MILLISECONDS.toNanos(retryAfterMs));
+            return;
+        }
+
+        Long remaining = parseLong(header(response, "RateLimit-Remaining", "X-RateLimit-Remaining"));
+        Long resetSeconds = parseResetSeconds(header(response, "RateLimit-Reset", "X-RateLimit-Reset"));
+        if (remaining == null || resetSeconds == null) {
+            return;
+        }
+
+        if (remaining <= 0) {
+            bucket.pauseUntil(now + TimeUnit.SECONDS.toNanos(resetSeconds));
+        } else {
+            // Spread what is left of the window evenly over the time until it resets
+            bucket.throttle(resetSeconds > 0 ? (double) remaining / resetSeconds : Double.MAX_VALUE);
+        }
+    }
+
+    private static String header(TransportResponse response, String name, String fallbackName) {
+        String value = response.getHeader(name);
+        return value != null ? value : response.getHeader(fallbackName);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a reset header, which is either a delay in seconds or, for some
+     * {@code X-RateLimit-Reset} implementations, a Unix timestamp.
+     */
+    private static Long parseResetSeconds(String value) {
+        Long reset = parseLong(value);
+        if (reset == null) {
+            return null;
+        }
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        if (reset > nowSeconds / 2) {
+            reset -= nowSeconds;
+        }
+        return Math.max(reset, 0);
+    }
+
+    /**
+     * A token bucket implemented as a generic cell rate algorithm: a single
+     * theoretical arrival time is advanced with compare-and-set, so
+     * reservations never block each other.
+     */
+    private static final class Bucket {
+        private final long configuredIntervalNanos;
+        private final int burst;
+        private volatile long intervalNanos;
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(double permitsPerSecond, int burst) {
+            this.configuredIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.burst = Math.max(burst, 1);
+            this.intervalNanos = configuredIntervalNanos;
+            // Start with a full bucket
+            this.theoreticalArrival = new AtomicLong(System.nanoTime() - configuredIntervalNanos * this.burst);
+        }
+
+        long reserve(long now) {
+            while (true) {
+                long interval = intervalNanos;
+                long tolerance = interval * (burst - 1);
+                long arrival = theoreticalArrival.get();
+                long next = Math.max(arrival, now) + interval;
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return Math.max(arrival - tolerance - now, 0);
+                }
+            }
+        }
+
+        void pauseUntil(long resumeAt) {
+            long tolerance = intervalNanos * (burst - 1);
+            long target = resumeAt + tolerance;
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                if (arrival >= target || theoreticalArrival.compareAndSet(arrival, target)) {
+                    return;
+                }
+            }
+        }
+
+        void throttle(double permitsPerSecond) {
+            // Never exceed the configured rate; recover to it once the server allows
+            long serverInterval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            intervalNanos = Math.max(configuredIntervalNanos, serverInterval);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package dev.rynko.utils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.rynko.RynkoConfig;
+import dev.rynko.transport.TransportRequest;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one call between concurrent identical GETs.
+ *
+ * <p>The first caller of a GET registers its call in the in-flight map and
+ * sends it; callers of the same GET that arrive while it is in flight wait
+ * for its result instead. Registering and joining are a single
+ * {@link ConcurrentHashMap#putIfAbsent}, and a finished call is removed
+ * before its result is published, so callers that come later send a new
+ * request rather than receiving a result from before they asked.</p>
+ */
+final class RequestCoalescer {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    RequestCoalescer(RynkoConfig config) {
+        this.enabled = config.isCoalesceGets();
+    }
+
+    /**
+     * Returns whether a request may share a call. Only GETs may, because
+     * they do not change anything on the server.
+     */
+    boolean appliesTo(TransportRequest request) {
+        return enabled && "GET".equals(request.getMethod());
+    }
+
+    /**
+     * Returns the call in flight for the same request, or registers the
+     * given call for it and returns null, in which case the caller must
+     * send the request and then {@link #complete} the call.
+     */
+    CompletableFuture<Object> join(Key key, CompletableFuture<Object> call) {
+        return inFlight.putIfAbsent(key, call);
+    }
+
+    /**
+     * Unregisters a call and hands its result to the callers that joined it.
+     */
+    void complete(Key key, CompletableFuture<Object> call, Object value, Throwable error) {
+        inFlight.remove(key, call);
+        if (error != null) {
+            call.completeExceptionally(error);
+        } else {
+            call.complete(value);
+        }
+    }
+
+    /**
+     * Identifies requests that can share a call: the same URL and headers,
+     * which include the API key, read as the same response type.
+     */
+    static final class Key {
+        private final String url;
+        private final Map<String, String> headers;
+        private final ObjectReader reader;
+        private final int hash;
+
+        Key(TransportRequest request, ObjectReader reader) {
+            this.url = request.getUrl().toString();
+            this.headers = request.getHeaders();
+            // Readers are cached per type, so the same type has the same reader
+            this.reader = reader;
+            this.hash = 31 * (31 * url.hashCode() + headers.hashCode()) + System.identityHashCode(reader);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && reader == other.reader
+                    && url.equals(other.url) && headers.equals(other.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
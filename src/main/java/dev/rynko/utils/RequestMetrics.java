@@ -0,0 +1,146 @@
+package dev.rynko.utils;
+
+import dev.rynko.RynkoConfig;
+import dev.rynko.metrics.CallTimings;
+import dev.rynko.metrics.MetricsListener;
+import dev.rynko.transport.TransportCall;
+import dev.rynko.transport.TransportRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports request measurements to the configured {@link MetricsListener}.
+ *
+ * <p>Without a listener every method returns straight away and routes are
+ * not computed, so metrics cost nothing unless enabled. With one, each call
+ * builds its route string once, in {@link #routeOf}. A faulty listener
+ * must not break the request path, so its exceptions are swallowed.</p>
+ */
+final class RequestMetrics {
+
+    private final MetricsListener listener;
+
+    RequestMetrics(RynkoConfig config) {
+        this.listener = config.getMetricsListener();
+    }
+
+    boolean isEnabled() {
+        return listener != null;
+    }
+
+    /**
+     * Names a request by method and path, replacing segments that look like
+     * identifiers, because they contain a digit or an underscore, with
+     * {@code {id}} so that routes stay few. API version segments such as
+     * {@code v1} are kept.
+     */
+    static String routeOf(String method, String path) {
+        StringBuilder route = new StringBuilder(method.length() + 1 + (path != null ? path.length() : 1))
+                .append(method).append(' ');
+        if (path == null || path.isEmpty()) {
+            return route.append('/').toString();
+        }
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (isIdentifier(path, start, end)) {
+                route.append("{id}");
+            } else {
+                route.append(path, start, end);
+            }
+            if (end < path.length()) {
+                route.append('/');
+            }
+            start = end + 1;
+        }
+        return route.toString();
+    }
+
+    private static boolean isIdentifier(String path, int start, int end) {
+        boolean version = end - start > 1 && path.charAt(start) == 'v';
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '_') {
+                return true;
+            }
+            if (Character.isDigit(c)) {
+                if (!version) {
+                    return true;
+                }
+            } else if (i > start) {
+                version = false;
+            }
+        }
+        return false;
+    }
+
+    void onAttempt(String route, int attempt, TransportRequest request) {
+        if (listener == null) {
+            return;
+        }
+        TransportRequest.Body body = request.getBody();
+        try {
+            listener.onAttempt(route, attempt, body != null ? Math.max(body.getContentLength(), 0) : 0);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    void onResponse(String route, int statusCode, long latencyNanos) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onResponse(route, statusCode, latencyNanos);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    void onNetworkError(String route, long latencyNanos) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onNetworkError(route, latencyNanos);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    void onBytesReceived(String route, long bytes) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onBytesReceived(route, bytes);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    void onBackoff(String route, long delayMs) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onBackoff(route, TimeUnit.MILLISECONDS.toNanos(delayMs));
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * Reports the phase timings of a finished call, if its transport measured them.
+     */
+    void onCallTimings(String route, TransportCall call) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            CallTimings timings = call.getTimings();
+            if (timings != null) {
+                listener.onCallTimings(route, timings);
+            }
+        } catch (RuntimeException ignored) {
+        }
+    }
+}
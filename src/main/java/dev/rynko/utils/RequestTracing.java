@@ -0,0 +1,129 @@
+package dev.rynko.utils;
+
+import dev.rynko.RynkoConfig;
+import dev.rynko.tracing.Span;
+import dev.rynko.tracing.TraceContext;
+import dev.rynko.tracing.Tracer;
+import dev.rynko.transport.TransportRequest;
+
+/**
+ * Reports calls and attempts to the configured {@link Tracer} and adds the
+ * W3C trace headers to each attempt.
+ *
+ * <p>Without a tracer every span is {@link Span#NOOP} and requests are sent
+ * unchanged, so tracing costs nothing unless enabled. A faulty tracer must
+ * not break the request path, so its exceptions are swallowed.</p>
+ */
+final class RequestTracing {
+
+    private final Tracer tracer;
+
+    RequestTracing(RynkoConfig config) {
+        this.tracer = config.getTracer();
+    }
+
+    boolean isEnabled() {
+        return tracer != null;
+    }
+
+    /**
+     * Starts the span of a logical call.
+     */
+    Span startCall(TransportRequest request, String route) {
+        if (tracer == null) {
+            return Span.NOOP;
+        }
+        try {
+            Span span = tracer.startSpan(route, null);
+            span.setAttribute("http.request.method", request.getMethod());
+            span.setAttribute("rynko.route", route);
+            return span;
+        } catch (RuntimeException e) {
+            return Span.NOOP;
+        }
+    }
+
+    /**
+     * Starts the span of one attempt of a call.
+     */
+    Span startAttempt(Span call, TransportRequest request, String route, int attempt, boolean hedge) {
+        if (tracer == null) {
+            return Span.NOOP;
+        }
+        try {
+            Span span = tracer.startSpan(route, call);
+            span.setAttribute("http.request.method", request.getMethod());
+            span.setAttribute("rynko.route", route);
+            if (attempt > 0) {
+                span.setAttribute("http.request.resend_count", attempt);
+            }
+            if (hedge) {
+                span.setAttribute("rynko.hedge", "true");
+            }
+            return span;
+        } catch (RuntimeException e) {
+            return Span.NOOP;
+        }
+    }
+
+    /**
+     * Returns the request with the attempt span's {@code traceparent} and
+     * {@code tracestate} headers, or the request itself if there is no
+     * context to propagate.
+     */
+    TransportRequest inject(TransportRequest request, Span attempt) {
+        if (attempt == Span.NOOP) {
+            return request;
+        }
+        TraceContext context;
+        try {
+            context = attempt.getContext();
+        } catch (RuntimeException e) {
+            return request;
+        }
+        if (context == null) {
+            return request;
+        }
+        TransportRequest.Builder builder = request.newBuilder().header("traceparent", context.toTraceparent());
+        if (context.getTraceState() != null) {
+            builder.header("tracestate", context.getTraceState());
+        }
+        return builder.build();
+    }
+
+    void onResponse(Span attempt, int statusCode) {
+        if (attempt == Span.NOOP) {
+            return;
+        }
+        try {
+            attempt.setAttribute("http.response.status_code", statusCode);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    void onRetry(Span attempt, long delayMs) {
+        if (attempt == Span.NOOP) {
+            return;
+        }
+        try {
+            attempt.setAttribute("rynko.retry.delay_ms", delayMs);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * Ends a span, recording the error it failed with, if any.
+     */
+    void end(Span span, Throwable error) {
+        if (span == Span.NOOP) {
+            return;
+        }
+        try {
+            if (error != null) {
+                span.recordError(error);
+            }
+            span.end();
+        } catch (RuntimeException ignored) {
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev.rynko.utils;
+
+import dev.rynko.RynkoConfig;
+
+/**
+ * Client-wide budget that caps retries at a fraction of recent successful
+ * requests.
+ *
+ * <p>Without a budget every request retries independently, so an outage
+ * multiplies traffic by {@code maxRetries} exactly when the backend can
+ * least afford it. With a budget, retries stop as soon as they would exceed
+ * the configured ratio of successes seen in the last ten seconds, plus a
+ * small per-second reserve so low-traffic clients can still retry.</p>
+ */
+final class RetryBudget {
+
+    private static final long WINDOW_MS = 10000;
+    private static final int WINDOW_BUCKETS = 10;
+
+    private final boolean enabled;
+    private final double ratio;
+    private final long reserve;
+    // Successes are requests that succeeded, failures are retries spent
+    private final SlidingWindow window;
+
+    RetryBudget(RynkoConfig config) {
+        this.enabled = config.getRetryBudgetRatio() >= 0;
+        this.ratio = config.getRetryBudgetRatio();
+        this.reserve = (long) config.getRetryBudgetMinRetriesPerSecond() * WINDOW_MS / 1000;
+        this.window = new SlidingWindow(WINDOW_MS, WINDOW_BUCKETS);
+    }
+
+    void onSuccess() {
+        if (enabled) {
+            window.recordSuccess();
+        }
+    }
+
+    /**
+     * Spends one retry from the budget.
+     *
+     * @return false if the budget is exhausted and the request should fail now
+     */
+    boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        long allowed = reserve + (long) (window.successes() * ratio);
+        if (window.failures() >= allowed) {
+            return false;
+        }
+        window.recordFailure();
+        return true;
+    }
+}
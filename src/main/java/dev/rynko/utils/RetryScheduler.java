@@ -0,0 +1,91 @@
+package dev.rynko.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide scheduler for retry backoff and async polling.
+ *
+ * <p>A single daemon thread is shared by every {@link HttpClient}. It is
+ * started on first use and exits after a minute without work, so idle
+ * clients hold no threads. Scheduled tasks must be short; they only
+ * dispatch the next request.</p>
+ *
+ * <p>Callers' futures are never completed on the scheduler thread, since a
+ * blocking callback there would hold up the timers of every client in the
+ * JVM. Tasks that complete one go through {@link #complete}, which hands
+ * them to a separate pool when they run on the scheduler.</p>
+ */
+final class RetryScheduler {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private RetryScheduler() {
+    }
+
+    private static final class Holder {
+        static final ScheduledExecutorService SCHEDULER = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, SchedulerThread::new);
+            scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private static final class Completions {
+        static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            AtomicInteger count = new AtomicInteger();
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "rynko-async-completion-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    private static final class SchedulerThread extends Thread {
+        SchedulerThread(Runnable runnable) {
+            super(runnable, "rynko-retry-scheduler");
+            setDaemon(true);
+        }
+    }
+
+    /**
+     * Runs a task that completes a caller's future: inline, unless the
+     * current thread is the scheduler, in which case the task runs on a
+     * pooled {@code rynko-async-completion} thread instead.
+     */
+    static void complete(Runnable task) {
+        if (Thread.currentThread() instanceof SchedulerThread) {
+            Completions.EXECUTOR.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Runs a task after the given delay.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a task after the given delay.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return Holder.SCHEDULER.schedule(task, delay, unit);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.rynko.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free time-based sliding window counting successes and failures.
+ *
+ * <p>The window is split into fixed-width buckets kept in a ring. The first
+ * writer to find a slot holding an expired period swaps in a fresh bucket
+ * with compare-and-set, so recording is a couple of atomic operations and
+ * never blocks. A writer racing with the swap may land in the old bucket;
+ * that slight undercount is acceptable for the load-shedding decisions the
+ * counts drive.</p>
+ */
+final class SlidingWindow {
+
+    private final long bucketNanos;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    SlidingWindow(long windowMs, int bucketCount) {
+        this.bucketNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(windowMs) / bucketCount, 1);
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    void recordSuccess() {
+        current().successes.incrementAndGet();
+    }
+
+    void recordFailure() {
+        current().failures.incrementAndGet();
+    }
+
+    long successes() {
+        long total = 0;
+        long period = period();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isLive(bucket, period)) {
+                total += bucket.successes.get();
+            }
+        }
+        return total;
+    }
+
+    long failures() {
+        long total = 0;
+        long period = period();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isLive(bucket, period)) {
+                total += bucket.failures.get();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Drops every recorded outcome.
+     */
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    private long period() {
+        return System.nanoTime() / bucketNanos;
+    }
+
+    private boolean isLive(Bucket bucket, long period) {
+        return bucket.period > period - buckets.length();
+    }
+
+    private Bucket current() {
+        long period = period();
+        int index = (int) Math.floorMod(period, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket.period == period) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(period);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        final long period;
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+
+        Bucket(long period) {
+            this.period = period;
+        }
+    }
+}
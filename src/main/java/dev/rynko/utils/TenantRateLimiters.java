@@ -0,0 +1,66 @@
+package dev.rynko.utils;
+
+import dev.rynko.RynkoConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rate limiters of the tenants of a multi-tenant client, one per API key.
+ *
+ * <p>The API meters each key separately, so each tenant gets its own
+ * buckets. Limiters are keyed by a SHA-256 hash of the key, so that API keys
+ * are not kept in memory for the life of the client, and only the
+ * {@value #MAX_TENANTS} most recently used are kept. A tenant whose limiter
+ * was dropped starts again with full buckets, and the API's rate limit
+ * headers pace it from its next response on.</p>
+ */
+final class TenantRateLimiters {
+
+    static final int MAX_TENANTS = 1024;
+
+    private final RynkoConfig config;
+    // Views are created far less often than requests are made, so a lock is cheap enough. It is a
+    // ReentrantLock rather than a monitor, so that a virtual thread waiting for it unmounts instead of pinning
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, RateLimiter> limiters = new LinkedHashMap<String, RateLimiter>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RateLimiter> eldest) {
+            return size() > MAX_TENANTS;
+        }
+    };
+
+    TenantRateLimiters(RynkoConfig config) {
+        this.config = config;
+    }
+
+    RateLimiter forApiKey(String apiKey) {
+        String hash = sha256(apiKey);
+        lock.lock();
+        try {
+            return limiters.computeIfAbsent(hash, key -> new RateLimiter(config));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String sha256(String value) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
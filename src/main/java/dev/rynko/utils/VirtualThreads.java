@@ -0,0 +1,42 @@
+package dev.rynko.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for running blocking SDK calls.
+ *
+ * <p>This is the version for Java 8 to 20, which have no virtual threads: it
+ * falls back to a cached pool of daemon platform threads. The Java 21
+ * version of this class, in the multi-release part of the jar, starts one
+ * virtual thread per task.</p>
+ *
+ * @since 1.5.0
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether this JVM runs tasks of {@link #newExecutor()} on
+     * virtual threads.
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates an executor that runs each task on its own thread: a virtual
+     * thread on Java 21 and later, a pooled platform thread before that.
+     */
+    public static ExecutorService newExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "rynko-worker-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
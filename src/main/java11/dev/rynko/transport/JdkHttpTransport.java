@@ -0,0 +1,405 @@
+package dev.rynko.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Transport} backed by the JDK's {@code java.net.http.HttpClient},
+ * available on Java 11 and later. It negotiates HTTP/2 where the server
+ * supports it, multiplexing concurrent requests over one connection, and
+ * needs no third-party libraries.
+ *
+ * <p>Select it with {@code RynkoConfig.builder().transport(new JdkHttpTransport())},
+ * or leave OkHttp off the classpath and it is used by default. The OkHttp
+ * connection pool and dispatcher settings of {@code RynkoConfig} do not
+ * apply to it.</p>
+ *
+ * <p>The JDK client only bounds the wait for response headers. This
+ * transport also bounds reading the body: a read that gets no data for the
+ * read timeout, or that is still going when the call timeout runs out, fails
+ * with a {@link SocketTimeoutException}, as it would with OkHttp.</p>
+ *
+ * @since 1.5.0
+ */
+public class JdkHttpTransport implements Transport {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final HttpClient client;
+    private final Duration timeout;
+
+    /**
+     * Creates a transport with a 30 second connect and response timeout.
+     */
+    public JdkHttpTransport() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Creates a transport with the given connect and response timeout.
+     */
+    public JdkHttpTransport(Duration timeout) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .build(), timeout);
+    }
+
+    /**
+     * Creates a transport that sends requests with the given client. The
+     * timeout bounds how long each request waits for response headers, and
+     * how long each read of the body waits for data.
+     */
+    public JdkHttpTransport(HttpClient client, Duration timeout) {
+        this.client = client;
+        this.timeout = timeout;
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public TransportCall newCall(TransportRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUrl())
+                .timeout(timeout(request));
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+
+        TransportRequest.Body body = request.getBody();
+        if (body != null) {
+            builder.header("Content-Type", body.getContentType());
+        }
+        builder.method(request.getMethod(), publisher(body));
+        long readTimeoutMs = request.getReadTimeoutMs() > 0 ? request.getReadTimeoutMs() : timeout.toMillis();
+        return new JdkCall(builder.build(), readTimeoutMs, request.getCallTimeoutMs());
+    }
+
+    /**
+     * Returns the time the request may wait for response headers. The JDK
+     * client has no write timeout, so the read and call timeouts both bound
+     * the wait for headers.
+     */
+    private Duration timeout(TransportRequest request) {
+        Duration result = request.getReadTimeoutMs() > 0 ? Duration.ofMillis(request.getReadTimeoutMs()) : timeout;
+        if (request.getCallTimeoutMs() > 0 && request.getCallTimeoutMs() < result.toMillis()) {
+            result = Duration.ofMillis(request.getCallTimeoutMs());
+        }
+        return result;
+    }
+
+    private static HttpRequest.BodyPublisher publisher(TransportRequest.Body body) {
+        if (body == null || body.getContentLength() == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            try {
+                return body.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // Keep a known length so the request is not sent chunked
+        long length = body.getContentLength();
+        return length > 0 ? HttpRequest.BodyPublishers.fromPublisher(stream, length) : stream;
+    }
+
+    /**
+     * Maps the JDK's failures onto the transport contract: timeouts become
+     * {@link SocketTimeoutException}, everything else an {@link IOException}.
+     */
+    private static IOException toIOException(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof HttpTimeoutException) {
+            SocketTimeoutException timeout = new SocketTimeoutException(error.getMessage());
+            timeout.initCause(error);
+            return timeout;
+        }
+        if (error instanceof UncheckedIOException) {
+            return ((UncheckedIOException) error).getCause();
+        }
+        if (error instanceof IOException) {
+            return (IOException) error;
+        }
+        if (error instanceof CancellationException) {
+            return new IOException("Canceled", error);
+        }
+        return new IOException(error);
+    }
+
+    private final class JdkCall implements TransportCall {
+        private final HttpRequest request;
+        private final long readTimeoutMs;
+        private final long callTimeoutMs;
+        private long startedAt;
+        private volatile boolean canceled;
+        private volatile CompletableFuture<HttpResponse<InputStream>> future;
+
+        JdkCall(HttpRequest request, long readTimeoutMs, long callTimeoutMs) {
+            this.request = request;
+            this.readTimeoutMs = readTimeoutMs;
+            this.callTimeoutMs = callTimeoutMs;
+        }
+
+        @Override
+        public TransportResponse execute() throws IOException {
+            startedAt = System.nanoTime();
+            HttpResponse<InputStream> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException interrupted = new InterruptedIOException("interrupted");
+                interrupted.initCause(e);
+                throw interrupted;
+            } catch (IOException e) {
+                throw toIOException(e);
+            }
+            return checkCanceled(response(response));
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            startedAt = System.nanoTime();
+            future = client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (canceled) {
+                future.cancel(true);
+            }
+            future.whenComplete((response, error) -> {
+                if (error != null) {
+                    callback.onFailure(canceled ? new IOException("Canceled", error) : toIOException(error));
+                    return;
+                }
+                TransportResponse wrapped;
+                try {
+                    wrapped = checkCanceled(response(response));
+                } catch (IOException e) {
+                    callback.onFailure(e);
+                    return;
+                }
+                callback.onResponse(wrapped);
+            });
+        }
+
+        private JdkResponse response(HttpResponse<InputStream> response) {
+            long deadline = callTimeoutMs > 0 ? startedAt + TimeUnit.MILLISECONDS.toNanos(callTimeoutMs) : 0;
+            return new JdkResponse(response,
+                    new TimedInputStream(response.body(), TimeUnit.MILLISECONDS.toNanos(readTimeoutMs), deadline));
+        }
+
+        /**
+         * Drops a response that arrived after the call was cancelled, since
+         * older JDKs do not abort an exchange in flight.
+         */
+        private TransportResponse checkCanceled(TransportResponse response) throws IOException {
+            if (canceled) {
+                response.close();
+                throw new IOException("Canceled");
+            }
+            return response;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            CompletableFuture<HttpResponse<InputStream>> inFlight = future;
+            if (inFlight != null) {
+                inFlight.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+
+    private static final class JdkResponse implements TransportResponse {
+        private final HttpResponse<InputStream> response;
+        private final InputStream body;
+
+        JdkResponse(HttpResponse<InputStream> response, InputStream body) {
+            this.response = response;
+            this.body = body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Body stream that is closed when a read waits longer than the read
+     * timeout or the call timeout runs out, which ends the blocked read.
+     *
+     * <p>A single watchdog task per response checks the stream and
+     * reschedules itself, so reads do not schedule anything. Time the caller
+     * spends between reads does not count towards the read timeout.</p>
+     */
+    private static final class TimedInputStream extends FilterInputStream {
+        private final long readTimeoutNanos;
+        private final long deadlineNanos;
+        // When the read in progress started, or 0 when no read is in progress
+        private volatile long readStartedAt;
+        private volatile boolean timedOut;
+        private volatile boolean closed;
+        private volatile ScheduledFuture<?> watchdog;
+
+        TimedInputStream(InputStream in, long readTimeoutNanos, long deadlineNanos) {
+            super(in);
+            this.readTimeoutNanos = readTimeoutNanos;
+            this.deadlineNanos = deadlineNanos;
+            schedule(System.nanoTime(), readTimeoutNanos);
+        }
+
+        private void schedule(long now, long delayNanos) {
+            if (deadlineNanos != 0) {
+                delayNanos = Math.min(delayNanos, deadlineNanos - now);
+            }
+            if (!closed) {
+                watchdog = Holder.SCHEDULER.schedule(this::check, Math.max(delayNanos, 0), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void check() {
+            if (closed) {
+                return;
+            }
+            long now = System.nanoTime();
+            long started = readStartedAt;
+            if ((deadlineNanos != 0 && now - deadlineNanos >= 0)
+                    || (started != 0 && now - started >= readTimeoutNanos)) {
+                timedOut = true;
+                try {
+                    close();
+                } catch (IOException ignored) {
+                }
+                return;
+            }
+            schedule(now, started != 0 ? readTimeoutNanos - (now - started) : readTimeoutNanos);
+        }
+
+        @Override
+        public int read() throws IOException {
+            readStartedAt = System.nanoTime();
+            try {
+                return end(super.read());
+            } catch (IOException e) {
+                throw timedOut ? timeout(e) : e;
+            } finally {
+                readStartedAt = 0;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            readStartedAt = System.nanoTime();
+            try {
+                return end(super.read(b, off, len));
+            } catch (IOException e) {
+                throw timedOut ? timeout(e) : e;
+            } finally {
+                readStartedAt = 0;
+            }
+        }
+
+        /**
+         * Checks the result of a read: closing the stream ends a blocked read
+         * as if the body had ended, which must not pass for a complete body.
+         */
+        private int end(int result) throws IOException {
+            if (timedOut) {
+                throw timeout(null);
+            }
+            if (result == -1) {
+                close();
+            }
+            return result;
+        }
+
+        private static SocketTimeoutException timeout(IOException cause) {
+            SocketTimeoutException timeout = new SocketTimeoutException("Read timed out");
+            if (cause != null) {
+                timeout.initCause(cause);
+            }
+            return timeout;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            ScheduledFuture<?> task = watchdog;
+            if (task != null) {
+                task.cancel(false);
+            }
+            super.close();
+        }
+    }
+
+    /**
+     * Process-wide daemon thread for read timeouts. It is started on first
+     * use and exits after a minute without work.
+     */
+    private static final class Holder {
+        static final ScheduledExecutorService SCHEDULER = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "rynko-read-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.rynko.transport;
+
+import dev.rynko.RynkoConfig;
+
+import java.time.Duration;
+
+/**
+ * Picks the transport for a configuration.
+ *
+ * <p>This is the Java 11 version, which uses OkHttp when it is on the
+ * classpath and {@link JdkHttpTransport} otherwise, so services can drop
+ * OkHttp and its Kotlin runtime entirely. Clients configured for virtual
+ * threads always use the JDK transport.</p>
+ *
+ * @since 1.5.0
+ */
+public final class Transports {
+
+    // Checked without initializing OkHttp, so services that drop it never load it
+    private static final boolean OKHTTP_PRESENT = isPresent("okhttp3.OkHttpClient");
+
+    private Transports() {
+    }
+
+    /**
+     * Returns the configured transport, or the default one built from the
+     * configuration's connection settings.
+     */
+    public static Transport create(RynkoConfig config) {
+        if (config.getTransport() != null) {
+            return config.getTransport();
+        }
+        if (OKHTTP_PRESENT && !config.isVirtualThreads()) {
+            return OkHttpTransport.create(config);
+        }
+        return new JdkHttpTransport(Duration.ofMillis(config.getTimeoutMs()));
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, Transports.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.rynko.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors for running blocking SDK calls.
+ *
+ * <p>This is the Java 21 version, which starts one virtual thread per task.
+ * The SDK's own request path holds no monitors while it waits, so blocked
+ * calls park without pinning their carrier thread.</p>
+ *
+ * @since 1.5.0
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether this JVM runs tasks of {@link #newExecutor()} on
+     * virtual threads.
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates an executor that runs each task on its own virtual thread.
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rynko-virtual-", 0).factory());
+    }
+}
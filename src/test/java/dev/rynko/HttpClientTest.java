@@ -0,0 +1,1571 @@
+package dev.rynko;
+
+import dev.rynko.exceptions.CircuitBreakerOpenException;
+import dev.rynko.exceptions.DeadlineExceededException;
+import dev.rynko.exceptions.RynkoException;
+import dev.rynko.metrics.CallTimings;
+import dev.rynko.metrics.HistogramSnapshot;
+import dev.rynko.metrics.MetricsRecorder;
+import dev.rynko.metrics.RouteMetrics;
+import dev.rynko.models.FlowRun;
+import dev.rynko.models.GenerateRequest;
+import dev.rynko.models.GenerateResult;
+import dev.rynko.models.ExtractJob;
+import dev.rynko.models.ExtractJobRequest;
+import dev.rynko.models.SubmitRunRequest;
+import dev.rynko.tracing.Span;
+import dev.rynko.tracing.TraceContext;
+import dev.rynko.tracing.Tracer;
+import dev.rynko.transport.CachingDns;
+import dev.rynko.transport.Transport;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the HTTP layer against a local mock server.
+ */
+public class HttpClientTest {
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private RynkoConfig.Builder config() {
+        return RynkoConfig.builder()
+                .apiKey("test-api-key")
+                .baseUrl(server.url("/api/v1").toString())
+                .initialDelayMs(10)
+                .maxJitterMs(1);
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    // ==========================================
+    // Retry Tests
+    // ==========================================
+
+    @Test
+    void testBlockingRetriesRetryableStatus() throws Exception {
+        server.enqueue(json(429, "{\"message\":\"Too many requests\"}").setHeader("Retry-After", "0"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config().build());
+
+        FlowRun run = client.flow().getRun("run_1");
+
+        assertEquals("run_1", run.getId());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testBlockingThrowsLastErrorWhenRetriesExhausted() {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(503, "{\"message\":\"Still unavailable\"}"));
+        Rynko client = new Rynko(config().maxRetries(2).build());
+
+        RynkoException e = assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+
+        assertEquals(503, e.getStatusCode());
+        assertEquals("Still unavailable", e.getMessage());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testExhaustedRetryBudgetFailsFast() {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(503, "{\"message\":\"Still unavailable\"}"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable again\"}"));
+        Rynko client = new Rynko(config()
+                .retryBudgetRatio(1.0)
+                .retryBudgetMinRetriesPerSecond(0)
+                .build());
+
+        client.flow().getRun("run_1");
+        RynkoException e = assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+
+        // One success buys exactly one retry
+        assertEquals("Still unavailable", e.getMessage());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void testRetryRejectedByDeadlineKeepsBudget() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}").setHeader("Retry-After", "5"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}").setHeader("Retry-After", "5"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config()
+                .retryBudgetRatio(1.0)
+                .retryBudgetMinRetriesPerSecond(0)
+                .build());
+        Rynko bounded = client.withOptions(RequestOptions.builder().deadlineMs(1000).build());
+
+        client.flow().getRun("run_1");
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bounded.async().flow().getRun("run_1").get(5, TimeUnit.SECONDS));
+        assertThrows(DeadlineExceededException.class, () -> bounded.flow().getRun("run_1"));
+
+        // Neither backoff fitted the deadline, so the one retry the success bought is still there
+        assertTrue(e.getCause() instanceof DeadlineExceededException);
+        assertEquals("run_1", client.flow().getRun("run_1").getId());
+        assertEquals(5, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Async API Tests
+    // ==========================================
+
+    @Test
+    void testAsyncGenerate() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\",\"status\":\"queued\"}"));
+        Rynko client = new Rynko(config().build());
+
+        GenerateResult result = client.async().documents()
+                .generate(GenerateRequest.builder().templateId("tmpl_test").format("pdf").build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("job_123", result.getJobId());
+        assertEquals("/api/v1/documents/generate", server.takeRequest().getPath());
+    }
+
+    @Test
+    void testAsyncRetriesRetryableStatus() throws Exception {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config().build());
+
+        FlowRun run = client.async().flow().getRun("run_1").get(5, TimeUnit.SECONDS);
+
+        assertEquals("run_1", run.getId());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testAsyncErrorCompletesExceptionally() {
+        server.enqueue(json(404, "{\"message\":\"Not found\",\"code\":\"ERR_DOC_001\"}"));
+        Rynko client = new Rynko(config().build());
+
+        CompletableFuture<GenerateResult> future = client.async().documents().get("job_missing");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        RynkoException cause = assertInstanceOf(RynkoException.class, e.getCause());
+        assertEquals(404, cause.getStatusCode());
+        assertEquals("ERR_DOC_001", cause.getCode());
+    }
+
+    @Test
+    void testAsyncWaitForRunPolls() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"validating\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config().build());
+
+        FlowRun run = client.async().flow().waitForRun("run_1", 10, 5000).get(5, TimeUnit.SECONDS);
+
+        assertEquals("approved", run.getStatus());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testListPublisherFetchesNextPageOnDemand() throws Exception {
+        server.enqueue(json(200, "{\"data\":[{\"id\":\"run_1\"},{\"id\":\"run_2\"}],\"total\":3}"));
+        server.enqueue(json(200, "{\"data\":[{\"id\":\"run_3\"}],\"total\":3}"));
+        Rynko client = new Rynko(config().build());
+        RecordingSubscriber<FlowRun> subscriber = new RecordingSubscriber<>();
+
+        client.async().flow().listRunsPublisher(2, null).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals("run_1", subscriber.items.poll(5, TimeUnit.SECONDS).getId());
+        subscriber.subscription.request(1);
+        assertEquals("run_2", subscriber.items.poll(5, TimeUnit.SECONDS).getId());
+        // The second page is not fetched until there is demand beyond the first
+        assertEquals(1, server.getRequestCount());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals("run_3", subscriber.items.poll(5, TimeUnit.SECONDS).getId());
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+        assertEquals("1", server.takeRequest().getRequestUrl().queryParameter("page"));
+        assertEquals("2", server.takeRequest().getRequestUrl().queryParameter("page"));
+    }
+
+    @Test
+    void testListPublisherSignalsError() throws Exception {
+        server.enqueue(json(400, "{\"message\":\"Invalid status\",\"code\":\"ERR_FLOW_001\"}"));
+        Rynko client = new Rynko(config().build());
+        RecordingSubscriber<FlowRun> subscriber = new RecordingSubscriber<>();
+
+        client.async().flow().listRunsPublisher(2, "bogus").subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals("ERR_FLOW_001", ((RynkoException) subscriber.error).getCode());
+    }
+
+    @Test
+    void testWatchRunPublishesStatusChanges() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"validating\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"validating\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config().build());
+        RecordingSubscriber<FlowRun> subscriber = new RecordingSubscriber<>();
+
+        client.async().flow().watchRun("run_1", 10, 5000).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertEquals("validating", subscriber.items.poll().getStatus());
+        assertEquals("approved", subscriber.items.poll().getStatus());
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    private static final class RecordingSubscriber<T> implements Subscriber<T> {
+        final BlockingQueue<T> items = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    // ==========================================
+    // Connection Pool Tests
+    // ==========================================
+
+    @Test
+    void testClientsShareConnectionPool() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_2\",\"status\":\"approved\"}"));
+        ConnectionPool pool = new ConnectionPool();
+        Rynko first = new Rynko(config().connectionPool(pool).build());
+        Rynko second = new Rynko(config().connectionPool(pool).build());
+
+        first.flow().getRun("run_1");
+        second.flow().getRun("run_2");
+
+        assertEquals(1, pool.connectionCount());
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+    }
+
+    // ==========================================
+    // Response Streaming Tests
+    // ==========================================
+
+    @Test
+    void testIdsThatNeedEscapingArePercentEncoded() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job 1\"}"));
+        server.enqueue(json(200, "{\"jobId\":\"job 1\"}"));
+        Rynko client = new Rynko(config().build());
+
+        client.documents().get("id with space|{\"x\"}^é");
+        client.async().documents().get("50%[a]").get(5, TimeUnit.SECONDS);
+
+        assertEquals("/api/v1/documents/jobs/id%20with%20space%7C%7B%22x%22%7D%5E%C3%A9", server.takeRequest().getPath());
+        assertEquals("/api/v1/documents/jobs/50%25%5Ba%5D", server.takeRequest().getPath());
+    }
+
+    @Test
+    void testEmptyResponseBodyReturnsNull() {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        Rynko client = new Rynko(config().build());
+
+        assertNull(client.documents().get("job_123"));
+    }
+
+    @Test
+    void testResponseLargerThanLimitFails() {
+        StringBuilder body = new StringBuilder("{\"jobId\":\"");
+        for (int i = 0; i < 2048; i++) {
+            body.append('x');
+        }
+        body.append("\"}");
+        server.enqueue(json(200, body.toString()));
+        Rynko client = new Rynko(config().maxResponseBytes(1024).build());
+
+        RynkoException e = assertThrows(RynkoException.class, () -> client.documents().get("job_123"));
+
+        assertEquals("ERR_RESPONSE_TOO_LARGE", e.getCode());
+    }
+
+    @Test
+    void testChunkedResponseLargerThanLimitFails() {
+        StringBuilder body = new StringBuilder("{\"jobId\":\"");
+        for (int i = 0; i < 2048; i++) {
+            body.append('x');
+        }
+        body.append("\"}");
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setChunkedBody(body.toString(), 256));
+        Rynko client = new Rynko(config().maxResponseBytes(1024).build());
+
+        RynkoException e = assertThrows(RynkoException.class, () -> client.documents().get("job_123"));
+
+        assertEquals("ERR_RESPONSE_TOO_LARGE", e.getCode());
+    }
+
+    @Test
+    void testDownloadReadsBytesThroughTransport() throws Exception {
+        byte[] pdf = {'%', 'P', 'D', 'F', 0, (byte) 0xff, 1, 2};
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/pdf")
+                .setBody(new okio.Buffer().write(pdf)));
+        MetricsRecorder metrics = new MetricsRecorder();
+        Rynko client = new Rynko(config().metrics(metrics).build());
+
+        byte[] body = client.documents().download(server.url("/files/doc_1.pdf").toString());
+
+        assertArrayEquals(pdf, body);
+        RecordedRequest request = server.takeRequest();
+        assertEquals("GET", request.getMethod());
+        assertNull(request.getHeader("Authorization"));
+        RouteMetrics route = metrics.snapshot().getRoute("GET /files/{id}");
+        assertNotNull(route);
+        assertEquals(pdf.length, route.getBytesReceived());
+        assertEquals(1, route.getPhase(CallTimings.Phase.TIME_TO_FIRST_BYTE).getCount());
+        assertEquals(1, route.getPhase(CallTimings.Phase.RESPONSE_BODY).getCount());
+    }
+
+    @Test
+    void testAsyncDownloadReadsBytes() throws Exception {
+        server.enqueue(new MockResponse().setBody(new okio.Buffer().write(new byte[]{1, 2, 3})));
+        RynkoAsync client = new Rynko(config().build()).async();
+
+        byte[] body = client.documents().download(server.url("/files/doc_1.pdf").toString())
+                .get(5, TimeUnit.SECONDS);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, body);
+        assertNull(server.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    void testDownloadBypassesApiLimits() throws Exception {
+        server.enqueue(json(500, "{\"message\":\"Internal error\"}"));
+        String large = new String(new char[2048]).replace('\0', 'x');
+        server.enqueue(new MockResponse().setChunkedBody(large, 256));
+        server.enqueue(new MockResponse().setBody(large));
+        Rynko client = new Rynko(config()
+                .retryEnabled(false)
+                .maxResponseBytes(1024)
+                .circuitBreaker(true)
+                .circuitBreakerMinimumCalls(1)
+                .build());
+        assertThrows(RynkoException.class, () -> client.documents().get("job_1"));
+        assertEquals(CircuitState.OPEN, client.circuitState(EndpointGroup.DOCUMENTS));
+
+        // Signed URLs point at storage, so neither the size limit nor the open circuit applies
+        String url = server.url("/storage/documents/doc_1.pdf").toString();
+        assertEquals(2048, client.documents().download(url).length);
+        assertEquals(2048, client.async().documents().download(url).get(5, TimeUnit.SECONDS).length);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Request Body Tests
+    // ==========================================
+
+    @Test
+    void testJsonBodySentUncompressedByDefault() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        Rynko client = new Rynko(config().build());
+
+        client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build());
+
+        RecordedRequest request = server.takeRequest();
+        assertNull(request.getHeader("Content-Encoding"));
+        assertTrue(request.getBody().readUtf8().contains("\"templateId\":\"tmpl_test\""));
+    }
+
+    @Test
+    void testLargeJsonBodyIsGzippedWhenEnabled() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        Rynko client = new Rynko(config().gzipRequests(true).gzipThresholdBytes(64).build());
+        GenerateRequest.Builder builder = GenerateRequest.builder().templateId("tmpl_test");
+        for (int i = 0; i < 100; i++) {
+            builder.variable("field" + i, "value" + i);
+        }
+
+        client.documents().generate(builder.build());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("gzip", request.getHeader("Content-Encoding"));
+        String body = Okio.buffer(new GzipSource(request.getBody())).readUtf8();
+        assertTrue(body.contains("\"field99\":\"value99\""));
+    }
+
+    @Test
+    void testSmallJsonBodyIsNotGzipped() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        Rynko client = new Rynko(config().gzipRequests(true).build());
+
+        client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build());
+
+        assertNull(server.takeRequest().getHeader("Content-Encoding"));
+    }
+
+    // ==========================================
+    // Rate Limiter Tests
+    // ==========================================
+
+    @Test
+    void testEndpointGroupFromUrl() {
+        assertEquals(EndpointGroup.DOCUMENTS, EndpointGroup.of(URI.create("https://api.rynko.dev/api/v1/documents/jobs/1")));
+        assertEquals(EndpointGroup.FLOW, EndpointGroup.of(URI.create("https://api.rynko.dev/api/flow/gates/g1/validate")));
+        assertEquals(EndpointGroup.EXTRACT, EndpointGroup.of(URI.create("https://api.rynko.dev/api/extract/jobs")));
+        assertEquals(EndpointGroup.OTHER, EndpointGroup.of(URI.create("https://api.rynko.dev/api/templates/t1")));
+    }
+
+    @Test
+    void testRateLimitPacesRequests() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        }
+        Rynko client = new Rynko(config().rateLimit(EndpointGroup.DOCUMENTS, 20).build());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            client.documents().get("job_123");
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 90, "expected pacing at 20 req/s, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testRateLimitPausesWhenQuotaExhausted() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}")
+                .setHeader("RateLimit-Remaining", "0")
+                .setHeader("RateLimit-Reset", "1"));
+        server.enqueue(json(200, "{\"jobId\":\"job_2\"}"));
+        Rynko client = new Rynko(config().rateLimit(1000).build());
+
+        client.documents().get("job_1");
+        long start = System.nanoTime();
+        GenerateResult result = client.async().documents().get("job_2").get(5, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("job_2", result.getJobId());
+        assertTrue(elapsedMs >= 900, "expected to wait for the quota reset, took " + elapsedMs + "ms");
+    }
+
+    // ==========================================
+    // Adaptive Concurrency Tests
+    // ==========================================
+
+    @Test
+    void testConcurrencyLimitShrinksOnOverload() {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        Rynko client = new Rynko(config()
+                .retryEnabled(false)
+                .adaptiveConcurrency(true)
+                .initialConcurrencyLimit(10)
+                .build());
+
+        assertThrows(RynkoException.class, () -> client.documents().get("job_123"));
+
+        ConcurrencyStats stats = client.concurrencyStats(EndpointGroup.DOCUMENTS);
+        assertEquals(9, stats.getLimit());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(10, client.concurrencyStats(EndpointGroup.FLOW).getLimit());
+    }
+
+    @Test
+    void testConcurrencyLimitQueuesRequestsOverLimit() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}").setBodyDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(json(200, "{\"jobId\":\"job_2\"}"));
+        Rynko client = new Rynko(config()
+                .adaptiveConcurrency(true)
+                .initialConcurrencyLimit(1)
+                .maxConcurrencyLimit(1)
+                .build());
+
+        CompletableFuture<GenerateResult> first = client.async().documents().get("job_1");
+        CompletableFuture<GenerateResult> second = client.async().documents().get("job_2");
+
+        ConcurrencyStats stats = client.concurrencyStats(EndpointGroup.DOCUMENTS);
+        assertEquals(1, stats.getInFlight());
+        assertEquals(1, stats.getWaiting());
+        assertEquals("job_1", first.get(5, TimeUnit.SECONDS).getJobId());
+        assertEquals("job_2", second.get(5, TimeUnit.SECONDS).getJobId());
+        assertEquals(0, client.concurrencyStats(EndpointGroup.DOCUMENTS).getInFlight());
+    }
+
+    // ==========================================
+    // Circuit Breaker Tests
+    // ==========================================
+
+    @Test
+    void testCircuitBreakerOpensAndFailsFast() {
+        server.enqueue(json(500, "{\"message\":\"Internal error\"}"));
+        server.enqueue(json(500, "{\"message\":\"Internal error\"}"));
+        List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+        Rynko client = new Rynko(config()
+                .circuitBreaker(true)
+                .circuitBreakerMinimumCalls(2)
+                .circuitBreakerListener((group, from, to) -> transitions.add(group + ":" + from + "->" + to))
+                .build());
+
+        assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+        assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+        CircuitBreakerOpenException e = assertThrows(CircuitBreakerOpenException.class,
+                () -> client.flow().getRun("run_1"));
+
+        assertEquals(EndpointGroup.FLOW, e.getGroup());
+        assertEquals("ERR_CIRCUIT_OPEN", e.getCode());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(CircuitState.OPEN, client.circuitState(EndpointGroup.FLOW));
+        assertEquals(CircuitState.CLOSED, client.circuitState(EndpointGroup.DOCUMENTS));
+        assertEquals(Collections.singletonList("FLOW:CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void testCircuitBreakerClosesAfterSuccessfulProbe() throws Exception {
+        server.enqueue(json(500, "{\"message\":\"Internal error\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        Rynko client = new Rynko(config()
+                .circuitBreaker(true)
+                .circuitBreakerMinimumCalls(1)
+                .circuitBreakerOpenDurationMs(50)
+                .build());
+
+        assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+        assertEquals(CircuitState.OPEN, client.circuitState(EndpointGroup.FLOW));
+        Thread.sleep(100);
+
+        FlowRun run = client.async().flow().getRun("run_1").get(5, TimeUnit.SECONDS);
+
+        assertEquals("run_1", run.getId());
+        assertEquals(CircuitState.CLOSED, client.circuitState(EndpointGroup.FLOW));
+    }
+
+    @Test
+    void testHalfOpenProbeIsGivenBackWhenAttemptIsNotSent() throws Exception {
+        server.enqueue(json(500, "{\"message\":\"Internal error\"}")
+                .setHeader("RateLimit-Remaining", "0")
+                .setHeader("RateLimit-Reset", "30"));
+        Rynko client = new Rynko(config()
+                .retryEnabled(false)
+                .rateLimit(1000)
+                .deadlineMs(2000)
+                .circuitBreaker(true)
+                .circuitBreakerMinimumCalls(1)
+                .circuitBreakerOpenDurationMs(300)
+                .build());
+        assertThrows(RynkoException.class, () -> client.flow().getRun("run_1"));
+        Thread.sleep(350);
+
+        // Each call takes the single probe, then fails fast on the rate limit without sending
+        assertThrows(DeadlineExceededException.class, () -> client.flow().getRun("run_1"));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.async().flow().getRun("run_1").get(5, TimeUnit.SECONDS));
+        assertThrows(DeadlineExceededException.class, () -> client.flow().getRun("run_1"));
+
+        assertTrue(e.getCause() instanceof DeadlineExceededException);
+        assertEquals(CircuitState.HALF_OPEN, client.circuitState(EndpointGroup.FLOW));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Hedging Tests
+    // ==========================================
+
+    @Test
+    void testSlowGetIsHedged() throws Exception {
+        for (int i = 0; i < 16; i++) {
+            server.enqueue(json(200, "{\"jobId\":\"job_warm\"}"));
+        }
+        server.enqueue(json(200, "{\"jobId\":\"job_slow\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        server.enqueue(json(200, "{\"jobId\":\"job_hedged\"}"));
+        Rynko client = new Rynko(config().hedging(true).hedgingMaxExtraLoad(0.5).build());
+
+        for (int i = 0; i < 16; i++) {
+            client.documents().get("job_warm");
+        }
+        long start = System.nanoTime();
+        GenerateResult result = client.documents().get("job_slow");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("job_hedged", result.getJobId());
+        assertEquals(18, server.getRequestCount());
+        assertTrue(elapsedMs < 1500, "expected the hedge to win, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testHedgingSkipsNonIdempotentRequests() throws Exception {
+        for (int i = 0; i < 16; i++) {
+            server.enqueue(json(200, "{\"jobId\":\"job_warm\"}"));
+        }
+        server.enqueue(json(200, "{\"jobId\":\"job_slow\"}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        Rynko client = new Rynko(config().hedging(true).hedgingMaxExtraLoad(1.0).build());
+
+        for (int i = 0; i < 16; i++) {
+            client.documents().get("job_warm");
+        }
+        GenerateResult result = client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build());
+
+        assertEquals("job_slow", result.getJobId());
+        assertEquals(17, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Idempotency Tests
+    // ==========================================
+
+    private RynkoConfig.Builder noTransportRetryConfig() {
+        // Keep OkHttp from silently retrying so only the SDK's retries are observed
+        return config().okHttpClient(new OkHttpClient.Builder().retryOnConnectionFailure(false).build());
+    }
+
+    @Test
+    void testPostRetriedOnNetworkErrorWithSameIdempotencyKey() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}"));
+        Rynko client = new Rynko(noTransportRetryConfig().build());
+
+        GenerateResult result = client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build());
+
+        assertEquals("job_1", result.getJobId());
+        String firstKey = server.takeRequest().getHeader("Idempotency-Key");
+        String secondKey = server.takeRequest().getHeader("Idempotency-Key");
+        assertNotNull(firstKey);
+        assertEquals(firstKey, secondKey);
+    }
+
+    @Test
+    void testAsyncPostRetriedOnNetworkErrorWithCallerKey() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"pending\"}"));
+        RynkoAsync client = new Rynko(noTransportRetryConfig().build()).async();
+
+        FlowRun run = client.flow().submitRun("gate_1", SubmitRunRequest.builder().inputField("k", "v").build(), "order-42")
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("run_1", run.getId());
+        assertEquals("order-42", server.takeRequest().getHeader("Idempotency-Key"));
+        assertEquals("order-42", server.takeRequest().getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    void testPostWithoutIdempotencyKeyNotRetriedOnNetworkError() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}"));
+        Rynko client = new Rynko(noTransportRetryConfig().idempotencyKeys(false).build());
+
+        assertThrows(RynkoException.class,
+                () -> client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build()));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Transport Tests
+    // ==========================================
+
+    /**
+     * Creates the JDK transport, which is only in the Java 11 part of the
+     * multi-release output.
+     */
+    private static Transport jdkTransport() throws Exception {
+        Class<?> type = null;
+        try {
+            type = Class.forName("dev.rynko.transport.JdkHttpTransport");
+        } catch (ClassNotFoundException e) {
+            assumeTrue(false, "JdkHttpTransport requires Java 11+");
+        }
+        return (Transport) type.getConstructor().newInstance();
+    }
+
+    @Test
+    void testJdkTransportGetWithQueryAndRetry() throws Exception {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"data\":[],\"meta\":{\"total\":0}}"));
+        Rynko client = new Rynko(config().transport(jdkTransport()).build());
+
+        client.flow().listRuns(null, null, "needs review");
+
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        RecordedRequest request = server.takeRequest();
+        assertEquals("GET", request.getMethod());
+        assertEquals("Bearer test-api-key", request.getHeader("Authorization"));
+        assertEquals("needs review", request.getRequestUrl().queryParameter("status"));
+    }
+
+    @Test
+    void testJdkTransportAsyncPostAndError() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        server.enqueue(json(404, "{\"message\":\"Template not found\",\"code\":\"ERR_TMPL_001\"}"));
+        RynkoAsync client = new Rynko(config().transport(jdkTransport()).build()).async();
+
+        GenerateResult result = client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build())
+                .get(5, TimeUnit.SECONDS);
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.documents().generate(GenerateRequest.builder().templateId("tmpl_missing").build())
+                        .get(5, TimeUnit.SECONDS));
+
+        assertEquals("job_123", result.getJobId());
+        assertEquals("ERR_TMPL_001", ((RynkoException) error.getCause()).getCode());
+        RecordedRequest request = server.takeRequest();
+        assertTrue(request.getHeader("Content-Type").startsWith("application/json"));
+        assertTrue(request.getBody().readUtf8().contains("\"templateId\":\"tmpl_test\""));
+    }
+
+    @Test
+    void testJdkTransportTimesOutBodyThatStalls() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}").throttleBody(8, 2, TimeUnit.SECONDS));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}").throttleBody(8, 2, TimeUnit.SECONDS));
+        Rynko client = new Rynko(config().transport(jdkTransport()).build());
+
+        long start = System.nanoTime();
+        RynkoException error = assertThrows(RynkoException.class, () -> client
+                .withOptions(RequestOptions.builder().readTimeoutMs(200).build())
+                .flow().getRun("run_1"));
+        assertTrue(error.getCause() instanceof SocketTimeoutException);
+        assertThrows(DeadlineExceededException.class, () -> client
+                .withOptions(RequestOptions.builder().deadlineMs(300).build())
+                .flow().getRun("run_1"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+    }
+
+    /**
+     * Makes a call with the default transport. Loaded by
+     * {@link #testDefaultTransportWithoutOkHttp} in a class loader without
+     * OkHttp, so it must not use OkHttp types.
+     */
+    public static final class CallWithoutOkHttp implements Function<String, String> {
+        @Override
+        public String apply(String baseUrl) {
+            Rynko client = new Rynko(RynkoConfig.builder().apiKey("test-api-key").baseUrl(baseUrl).build());
+            return client.flow().getRun("run_1").getId();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDefaultTransportWithoutOkHttp() throws Exception {
+        ClassLoader platform = null;
+        try {
+            platform = (ClassLoader) ClassLoader.class.getMethod("getPlatformClassLoader").invoke(null);
+        } catch (NoSuchMethodException e) {
+            assumeTrue(false, "JdkHttpTransport requires Java 11+");
+        }
+        // The test class path without OkHttp, okio and Kotlin, with the Java 11
+        // classes first, where the JVM finds them in the multi-release jar
+        List<URL> classPath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            URL url = new File(entry).toURI().toURL();
+            if (entry.replace('\\', '/').endsWith("META-INF/versions/11")) {
+                classPath.add(0, url);
+            } else if (!entry.matches(".*(okhttp|okio|kotlin).*")) {
+                classPath.add(url);
+            }
+        }
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+
+        try (URLClassLoader loader = new URLClassLoader(classPath.toArray(new URL[0]), platform)) {
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("okhttp3.OkHttpClient"));
+            Function<String, String> call = (Function<String, String>) loader
+                    .loadClass(CallWithoutOkHttp.class.getName()).getConstructor().newInstance();
+
+            assertEquals("run_1", call.apply(server.url("/api/v1").toString()));
+        }
+        RecordedRequest request = server.takeRequest();
+        assertEquals("Bearer test-api-key", request.getHeader("Authorization"));
+        assertEquals("/api/flow/runs/run_1", request.getPath());
+    }
+
+    @Test
+    void testMultipartUploadStreamsFiles(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("invoice.pdf").toFile();
+        Files.write(file.toPath(), "%PDF-1.4 test".getBytes(StandardCharsets.UTF_8));
+        server.enqueue(json(200, "{\"id\":\"ext_1\"}"));
+        Rynko client = new Rynko(config().build());
+
+        ExtractJob job = client.extract().createJob(ExtractJobRequest.builder()
+                .file(file)
+                .schemaId("schema_1")
+                .build());
+
+        assertEquals("ext_1", job.getId());
+        RecordedRequest request = server.takeRequest();
+        assertTrue(request.getHeader("Content-Type").startsWith("multipart/form-data; boundary="));
+        assertEquals(String.valueOf(request.getBodySize()), request.getHeader("Content-Length"));
+        String body = request.getBody().readUtf8();
+        assertTrue(body.contains("Content-Disposition: form-data; name=\"files\"; filename=\"invoice.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n%PDF-1.4 test\r\n"));
+        assertTrue(body.contains("Content-Disposition: form-data; name=\"schemaId\"\r\n\r\nschema_1\r\n"));
+    }
+
+    @Test
+    void testMultipartUploadKeepsFormFieldsAlongsideOptions(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("invoice.pdf").toFile();
+        Files.write(file.toPath(), "%PDF-1.4 test".getBytes(StandardCharsets.UTF_8));
+        server.enqueue(json(200, "{\"id\":\"ext_1\"}"));
+        server.enqueue(json(200, "{\"id\":\"ext_2\"}"));
+        Rynko client = new Rynko(config().build());
+        ExtractJobRequest request = ExtractJobRequest.builder()
+                .file(file)
+                .schemaId("schema_1")
+                .instructions("totals only")
+                .metadataField("orderId", "order_1")
+                .build();
+
+        client.extract().createJob(request);
+        client.async().extract().createJob(request).get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 2; i++) {
+            String body = server.takeRequest().getBody().readUtf8();
+            assertTrue(body.contains("Content-Disposition: form-data; name=\"schemaId\"\r\n\r\nschema_1\r\n"));
+            assertTrue(body.contains("Content-Disposition: form-data; name=\"instructions\"\r\n\r\ntotals only\r\n"));
+            assertTrue(body.contains("Content-Disposition: form-data; name=\"options\"\r\n\r\n"
+                    + "{\"metadata\":{\"orderId\":\"order_1\"}}\r\n"));
+        }
+    }
+
+    // ==========================================
+    // DNS Tests
+    // ==========================================
+
+    private static InetAddress address(int... bytes) throws UnknownHostException {
+        byte[] raw = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            raw[i] = (byte) bytes[i];
+        }
+        return InetAddress.getByAddress(raw);
+    }
+
+    private static InetAddress ipv6(int last) throws UnknownHostException {
+        return address(0x20, 0x01, 0x0d, 0xb8, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, last);
+    }
+
+    @Test
+    void testCachingDnsReusesLookupsAndInterleavesFamilies() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        List<InetAddress> resolved = Arrays.asList(
+                address(10, 0, 0, 1), address(10, 0, 0, 2), ipv6(1), ipv6(2));
+        CachingDns dns = new CachingDns(hostname -> {
+            lookups.incrementAndGet();
+            return resolved;
+        }, 60_000);
+
+        List<InetAddress> first = dns.lookup("api.rynko.dev");
+        List<InetAddress> second = dns.lookup("api.rynko.dev");
+
+        assertEquals(1, lookups.get());
+        assertEquals(Arrays.asList(address(10, 0, 0, 1), ipv6(1), address(10, 0, 0, 2), ipv6(2)), first);
+        assertEquals(first, second);
+    }
+
+    /**
+     * A cache whose clock only moves when the test moves it.
+     */
+    private static CachingDns cachingDns(Dns delegate, long ttlMs, AtomicLong clock) {
+        return new CachingDns(delegate, ttlMs) {
+            @Override
+            protected long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+
+    private static void awaitLookups(AtomicInteger lookups, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookups.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testCachingDnsRefreshesInBackgroundBeforeExpiry() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicLong clock = new AtomicLong();
+        CachingDns dns = cachingDns(hostname ->
+                Collections.singletonList(address(10, 0, 0, lookups.incrementAndGet())), 400, clock);
+        dns.lookup("api.rynko.dev");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(320));
+        List<InetAddress> stale = dns.lookup("api.rynko.dev");
+        awaitLookups(lookups, 2);
+
+        // The caller got the cached address without waiting; the refresh replaced it
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), stale);
+        assertEquals(2, lookups.get());
+        assertEquals(Collections.singletonList(address(10, 0, 0, 2)), dns.lookup("api.rynko.dev"));
+    }
+
+    @Test
+    void testCachingDnsUsesExpiredAddressesWhenResolverFails() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicLong clock = new AtomicLong();
+        CachingDns dns = cachingDns(hostname -> {
+            if (lookups.incrementAndGet() > 1) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(address(10, 0, 0, 1));
+        }, 100, clock);
+        dns.lookup("api.rynko.dev");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), dns.lookup("api.rynko.dev"));
+        assertThrows(UnknownHostException.class, () -> dns.lookup("other.rynko.dev"));
+    }
+
+    @Test
+    void testCachingDnsRetriesFailedLookupInBackground() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicLong clock = new AtomicLong();
+        CachingDns dns = cachingDns(hostname -> {
+            int lookup = lookups.incrementAndGet();
+            if (lookup == 2 || lookup == 3) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(address(10, 0, 0, lookup));
+        }, 1000, clock);
+        dns.lookup("api.rynko.dev");
+
+        // The first request after expiry waits for the failing lookup; the next ones do not
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), dns.lookup("api.rynko.dev"));
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), dns.lookup("api.rynko.dev"));
+        assertEquals(2, lookups.get());
+
+        // Past the retry backoff, the lookup is retried in the background, failing again
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), dns.lookup("api.rynko.dev"));
+        awaitLookups(lookups, 3);
+        assertEquals(Collections.singletonList(address(10, 0, 0, 1)), dns.lookup("api.rynko.dev"));
+        assertEquals(3, lookups.get());
+
+        // Once the resolver is back, the next retry replaces the addresses
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        dns.lookup("api.rynko.dev");
+        awaitLookups(lookups, 4);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!dns.lookup("api.rynko.dev").equals(Collections.singletonList(address(10, 0, 0, 4)))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Collections.singletonList(address(10, 0, 0, 4)), dns.lookup("api.rynko.dev"));
+    }
+
+    @Test
+    void testConfiguredDnsResolvesRequests() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        List<String> hosts = Collections.synchronizedList(new ArrayList<>());
+        Rynko client = new Rynko(config().dns(new CachingDns(hostname -> {
+            hosts.add(hostname);
+            return Dns.SYSTEM.lookup(hostname);
+        }, 60_000)).build());
+
+        client.flow().getRun("run_1");
+
+        assertEquals(Collections.singletonList(server.getHostName()), hosts);
+    }
+
+    // ==========================================
+    // Warm-up Tests
+    // ==========================================
+
+    @Test
+    void testPrewarmOpensConnectionsThatCallsReuse() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(json(200, "{\"id\":\"user_1\"}"));
+        }
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        ConnectionPool pool = new ConnectionPool();
+        Rynko client = new Rynko(config().connectionPool(pool).prewarmConnections(3).build());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.idleConnectionCount() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(3, pool.idleConnectionCount());
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest warmUp = server.takeRequest();
+            assertEquals("GET", warmUp.getMethod());
+            assertEquals("/api/auth/verify", warmUp.getPath());
+            assertEquals("Bearer test-api-key", warmUp.getHeader("Authorization"));
+        }
+        client.flow().getRun("run_1");
+        assertTrue(server.takeRequest().getSequenceNumber() > 0);
+        assertEquals(3, pool.connectionCount());
+    }
+
+    @Test
+    void testWarmUpOpensOneConnectionByDefault() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"user_1\"}"));
+        ConnectionPool pool = new ConnectionPool();
+        Rynko client = new Rynko(config().connectionPool(pool).build());
+
+        client.warmUp();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, pool.idleConnectionCount());
+    }
+
+    // ==========================================
+    // Request Options Tests
+    // ==========================================
+
+    @Test
+    void testRequestOptionsOverrideReadTimeout() {
+        server.enqueue(json(200, "{\"id\":\"run_1\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        Rynko client = new Rynko(config().build());
+        Rynko polling = client.withOptions(RequestOptions.builder()
+                .readTimeoutMs(100)
+                .retryEnabled(false)
+                .build());
+
+        long start = System.nanoTime();
+        RynkoException e = assertThrows(RynkoException.class, () -> polling.flow().getRun("run_1"));
+
+        assertTrue(e.getCause() instanceof SocketTimeoutException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void testRequestOptionsAddHeadersAndOverrideRetries() throws Exception {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        RynkoAsync client = new Rynko(config().build())
+                .withOptions(RequestOptions.builder()
+                        .header("X-Request-Id", "req_1")
+                        .maxRetries(2)
+                        .build())
+                .async();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.flow().getRun("run_1").get(5, TimeUnit.SECONDS));
+
+        assertEquals(503, ((RynkoException) e.getCause()).getStatusCode());
+        assertEquals(2, server.getRequestCount());
+        assertEquals("req_1", server.takeRequest().getHeader("X-Request-Id"));
+        assertEquals("Bearer test-api-key", server.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    void testDeadlineSkipsRetryWhoseBackoffWouldOverrunIt() {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}").setHeader("Retry-After", "1"));
+        Rynko client = new Rynko(config().deadlineMs(300).maxDelayMs(5000).build());
+
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                () -> client.flow().getRun("run_1"));
+
+        assertEquals(1, e.getAttempts());
+        assertEquals(300, e.getDeadlineMs());
+        assertEquals(503, ((RynkoException) e.getCause()).getStatusCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void testDeadlineCutsAsyncAttemptShort() {
+        server.enqueue(json(200, "{\"id\":\"run_1\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+        RynkoAsync client = new Rynko(config().build())
+                .withOptions(RequestOptions.builder().deadlineMs(200).build())
+                .async();
+
+        long start = System.nanoTime();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.flow().getRun("run_1").get(5, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof DeadlineExceededException);
+        assertEquals(1, ((DeadlineExceededException) e.getCause()).getAttempts());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+    }
+
+    @Test
+    void testDeadlineFailsFastWhenRateLimitWaitWouldOverrunIt() {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}")
+                .setHeader("RateLimit-Remaining", "0")
+                .setHeader("RateLimit-Reset", "30"));
+        Rynko client = new Rynko(config().rateLimit(1000).deadlineMs(2000).build());
+        client.documents().get("job_1");
+
+        long start = System.nanoTime();
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                () -> client.documents().get("job_2"));
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> client.async().documents().get("job_3").get(5, TimeUnit.SECONDS));
+
+        assertEquals(0, e.getAttempts());
+        assertTrue(async.getCause() instanceof DeadlineExceededException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void testDeadlineBoundsWaitForConcurrencySlot() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}").setHeadersDelay(1, TimeUnit.SECONDS));
+        Rynko client = new Rynko(config()
+                .adaptiveConcurrency(true)
+                .initialConcurrencyLimit(1)
+                .maxConcurrencyLimit(1)
+                .build());
+        CompletableFuture<GenerateResult> held = client.async().documents().get("job_1");
+        Rynko bounded = client.withOptions(RequestOptions.builder().deadlineMs(200).build());
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> bounded.documents().get("job_2"));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bounded.async().documents().get("job_3").get(5, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof DeadlineExceededException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 900);
+        assertEquals("job_1", held.get(5, TimeUnit.SECONDS).getJobId());
+        assertEquals(0, client.concurrencyStats(EndpointGroup.DOCUMENTS).getWaiting());
+        assertEquals(0, client.concurrencyStats(EndpointGroup.DOCUMENTS).getInFlight());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void testTimerFailureCompletesOffTheRetryScheduler() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}").setHeadersDelay(1, TimeUnit.SECONDS));
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        Rynko client = new Rynko(config()
+                .adaptiveConcurrency(true)
+                .initialConcurrencyLimit(1)
+                .maxConcurrencyLimit(1)
+                .build());
+        CompletableFuture<GenerateResult> held = client.async().documents().get("job_1");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        // The deadline passes on a timer while the call waits for a slot; the callback then blocks
+        client.withOptions(RequestOptions.builder().deadlineMs(100).build())
+                .async().documents().get("job_2")
+                .whenComplete((value, error) -> {
+                    threads.add(Thread.currentThread().getName());
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // A retry backoff still runs on the scheduler while that callback blocks
+        FlowRun run = client.async().flow().getRun("run_1").get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals("run_1", run.getId());
+        assertTrue(threads.get(0).startsWith("rynko-async-completion"), threads.get(0));
+        assertEquals("job_1", held.get(5, TimeUnit.SECONDS).getJobId());
+    }
+
+    // ==========================================
+    // Multi-tenant Tests
+    // ==========================================
+
+    @Test
+    void testTenantViewsShareOneClientWithTheirOwnKeys() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_2\"}"));
+        Rynko shared = Rynko.multiTenant(config().apiKey(null).build());
+
+        shared.forTenant("key-tenant-a").flow().getRun("run_1");
+        shared.forTenant("key-tenant-b").async().flow().getRun("run_2").get(5, TimeUnit.SECONDS);
+
+        assertThrows(IllegalStateException.class, () -> shared.flow().getRun("run_3"));
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        assertEquals("Bearer key-tenant-a", first.getHeader("Authorization"));
+        assertEquals("Bearer key-tenant-b", second.getHeader("Authorization"));
+        // Both tenants went over the same pooled connection
+        assertEquals(1, second.getSequenceNumber());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testAsyncCallWithoutTenantFailsTheFuture() {
+        Rynko shared = Rynko.multiTenant(config().apiKey(null).build());
+
+        CompletableFuture<FlowRun> run = shared.async().flow().getRun("run_1");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> run.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    void testTenantWorkspaceFillsUnsetWorkspaceId() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_1\"}"));
+        server.enqueue(json(200, "{\"jobId\":\"job_2\"}"));
+        Rynko tenant = new Rynko(config().build())
+                .withOptions(RequestOptions.builder().header("X-Request-Id", "req_1").build())
+                .forTenant("key-tenant-a", "ws_tenant");
+
+        GenerateRequest unset = GenerateRequest.builder().templateId("tmpl_1").variable("name", "Acme").build();
+        tenant.documents().generate(unset);
+        tenant.documents().generate(GenerateRequest.builder().templateId("tmpl_1").workspaceId("ws_other").build());
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("Bearer key-tenant-a", first.getHeader("Authorization"));
+        assertEquals("req_1", first.getHeader("X-Request-Id"));
+        String body = first.getBody().readUtf8();
+        assertTrue(body.contains("\"workspaceId\":\"ws_tenant\""));
+        assertTrue(body.contains("\"variables\":{\"name\":\"Acme\"}"));
+        assertTrue(body.contains("\"source\":\"sdk_java\""));
+        // The caller's request is copied, not changed
+        assertNull(unset.getWorkspaceId());
+        assertTrue(server.takeRequest().getBody().readUtf8().contains("\"workspaceId\":\"ws_other\""));
+    }
+
+    // ==========================================
+    // Coalescing Tests
+    // ==========================================
+
+    @Test
+    void testConcurrentIdenticalGetsShareOneCall() throws Exception {
+        server.enqueue(json(200, "{\"id\":\"run_1\"}").setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        Rynko client = new Rynko(config().coalesceGets(true).build());
+
+        CompletableFuture<FlowRun> leader = client.async().flow().getRun("run_1");
+        server.takeRequest(5, TimeUnit.SECONDS);
+        CompletableFuture<FlowRun> blocking = CompletableFuture.supplyAsync(() -> client.flow().getRun("run_1"));
+        CompletableFuture<FlowRun> follower = client.async().flow().getRun("run_1");
+        // Cancelling one caller leaves the shared call running for the others
+        client.async().flow().getRun("run_1").cancel(true);
+
+        FlowRun run = leader.get(5, TimeUnit.SECONDS);
+        assertSame(run, follower.get(5, TimeUnit.SECONDS));
+        assertSame(run, blocking.get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+
+        // A call that starts after the shared one finished is sent again
+        assertNotSame(run, client.flow().getRun("run_1"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testCoalescingKeepsTenantsAndResponseTypesApart() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(json(200, "{\"id\":\"run_1\"}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        }
+        Rynko shared = Rynko.multiTenant(config().apiKey(null).coalesceGets(true).build());
+
+        CompletableFuture<FlowRun> tenantA = shared.forTenant("key-tenant-a").async().flow().getRun("run_1");
+        CompletableFuture<FlowRun> tenantB = shared.forTenant("key-tenant-b").async().flow().getRun("run_1");
+
+        assertNotSame(tenantA.get(5, TimeUnit.SECONDS), tenantB.get(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testCoalescedCallersShareTheFailure() {
+        server.enqueue(json(404, "{\"message\":\"Not found\"}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        Rynko client = new Rynko(config().coalesceGets(true).build());
+
+        CompletableFuture<FlowRun> first = client.async().flow().getRun("run_missing");
+        CompletableFuture<FlowRun> second = client.async().flow().getRun("run_missing");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof RynkoException);
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    // ==========================================
+    // Metrics Tests
+    // ==========================================
+
+    @Test
+    void testMetricsRecordAttemptsStatusesAndBackoff() {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        MetricsRecorder metrics = new MetricsRecorder();
+        Rynko client = new Rynko(config().metrics(metrics).build());
+
+        client.flow().getRun("run_1");
+
+        RouteMetrics route = metrics.snapshot().getRoute("GET /api/flow/runs/{id}");
+        assertNotNull(route);
+        assertEquals(2, route.getAttempts());
+        assertEquals(1, route.getRetries());
+        assertEquals(Long.valueOf(1), route.getStatusCounts().get(503));
+        assertEquals(Long.valueOf(1), route.getStatusCounts().get(200));
+        assertEquals(2, route.getLatency().getCount());
+        assertTrue(route.getBytesReceived() > 0);
+        assertTrue(route.getBackoffNanos() > 0);
+    }
+
+    @Test
+    void testAsyncMetricsRecordBytesSentAndLatency() throws Exception {
+        server.enqueue(json(200, "{\"jobId\":\"job_123\"}"));
+        MetricsRecorder metrics = new MetricsRecorder();
+        RynkoAsync client = new Rynko(config().metrics(metrics).build()).async();
+
+        client.documents().generate(GenerateRequest.builder().templateId("tmpl_test").build())
+                .get(5, TimeUnit.SECONDS);
+
+        RouteMetrics route = metrics.snapshot().getRoute("POST /api/v1/documents/generate");
+        assertNotNull(route);
+        assertEquals(1, route.getAttempts());
+        assertEquals(server.takeRequest().getBodySize(), route.getBytesSent());
+        assertEquals("{\"jobId\":\"job_123\"}".length(), route.getBytesReceived());
+        HistogramSnapshot latency = route.getLatency();
+        assertEquals(1, latency.getCount());
+        assertTrue(latency.getMaxMicros() > 0);
+        assertEquals(latency.getMaxMicros(), latency.getPercentileMicros(50));
+    }
+
+    @Test
+    void testMetricsRecordPhaseTimingsAndConnectionReuse() {
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        AtomicInteger sharedListenerCalls = new AtomicInteger();
+        OkHttpClient shared = new OkHttpClient.Builder()
+                .eventListener(new EventListener() {
+                    @Override
+                    public void callEnd(Call call) {
+                        sharedListenerCalls.incrementAndGet();
+                    }
+                })
+                .build();
+        MetricsRecorder metrics = new MetricsRecorder();
+        Rynko client = new Rynko(config().okHttpClient(shared).metrics(metrics).build());
+
+        client.flow().getRun("run_1");
+        client.flow().getRun("run_1");
+
+        RouteMetrics route = metrics.snapshot().getRoute("GET /api/flow/runs/{id}");
+        assertEquals(1, route.getNewConnections());
+        assertEquals(1, route.getReusedConnections());
+        assertEquals(0.5, route.getConnectionReuseRatio());
+        assertEquals(1, route.getPhase(CallTimings.Phase.CONNECT).getCount());
+        assertEquals(0, route.getPhase(CallTimings.Phase.TLS).getCount());
+        assertEquals(2, route.getPhase(CallTimings.Phase.TIME_TO_FIRST_BYTE).getCount());
+        assertEquals(2, route.getPhase(CallTimings.Phase.RESPONSE_BODY).getCount());
+        assertEquals(2, sharedListenerCalls.get());
+    }
+
+    // ==========================================
+    // Tracing Tests
+    // ==========================================
+
+    @Test
+    void testTracingCreatesAttemptSpansAndSendsTraceparent() throws Exception {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\",\"status\":\"approved\"}"));
+        RecordingTracer tracer = new RecordingTracer();
+        Rynko client = new Rynko(config().tracer(tracer).build());
+
+        client.flow().getRun("run_1");
+
+        assertEquals(3, tracer.spans.size());
+        RecordingSpan call = tracer.spans.get(0);
+        RecordingSpan first = tracer.spans.get(1);
+        RecordingSpan retry = tracer.spans.get(2);
+        assertNull(call.parent);
+        assertSame(call, first.parent);
+        assertSame(call, retry.parent);
+        assertEquals("GET /api/flow/runs/{id}", call.name);
+        assertEquals("GET", call.attributes.get("http.request.method"));
+        assertEquals(503L, first.attributes.get("http.response.status_code"));
+        assertTrue((Long) first.attributes.get("rynko.retry.delay_ms") > 0);
+        assertEquals(1L, retry.attributes.get("http.request.resend_count"));
+        assertEquals(200L, retry.attributes.get("http.response.status_code"));
+        for (RecordingSpan span : tracer.spans) {
+            assertTrue(span.ended);
+        }
+        // The retried attempt records its error; the call succeeded
+        assertEquals(503, ((RynkoException) first.error).getStatusCode());
+        assertNull(retry.error);
+        assertNull(call.error);
+
+        assertEquals(first.context.toTraceparent(), server.takeRequest().getHeader("traceparent"));
+        RecordedRequest second = server.takeRequest();
+        assertEquals(retry.context.toTraceparent(), second.getHeader("traceparent"));
+        assertEquals("vendor=1", second.getHeader("tracestate"));
+    }
+
+    @Test
+    void testAsyncTracingRecordsErrorOfRetriedAttempt() throws Exception {
+        server.enqueue(json(503, "{\"message\":\"Unavailable\"}"));
+        server.enqueue(json(200, "{\"id\":\"run_1\"}"));
+        RecordingTracer tracer = new RecordingTracer();
+        RynkoAsync client = new Rynko(config().tracer(tracer).build()).async();
+
+        client.flow().getRun("run_1").get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, tracer.spans.size());
+        assertEquals(503, ((RynkoException) tracer.spans.get(1).error).getStatusCode());
+        assertNull(tracer.spans.get(2).error);
+        assertTrue(tracer.spans.get(0).ended);
+        assertNull(tracer.spans.get(0).error);
+    }
+
+    @Test
+    void testAsyncTracingRecordsErrorOnCallSpan() throws Exception {
+        server.enqueue(json(404, "{\"message\":\"Not found\"}"));
+        RecordingTracer tracer = new RecordingTracer();
+        RynkoAsync client = new Rynko(config().tracer(tracer).build()).async();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.flow().getRun("run_missing").get(5, TimeUnit.SECONDS));
+
+        assertEquals(2, tracer.spans.size());
+        RecordingSpan call = tracer.spans.get(0);
+        RecordingSpan attempt = tracer.spans.get(1);
+        assertSame(call, attempt.parent);
+        assertEquals(404L, attempt.attributes.get("http.response.status_code"));
+        assertTrue(attempt.ended);
+        assertTrue(call.ended);
+        assertSame(e.getCause(), call.error);
+    }
+
+    @Test
+    void testTraceContextParsesTraceparent() {
+        TraceContext context = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", "a=b");
+        assertNotNull(context);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+        assertEquals("00f067aa0ba902b7", context.getSpanId());
+        assertTrue(context.isSampled());
+        assertEquals("a=b", context.getTraceState());
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", context.toTraceparent());
+
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01", null));
+        assertNull(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", null));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-x", null));
+    }
+
+    private static final class RecordingTracer implements Tracer {
+        final List<RecordingSpan> spans = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Span startSpan(String name, Span parent) {
+            RecordingSpan span = new RecordingSpan(name, parent, spans.size() + 1);
+            spans.add(span);
+            return span;
+        }
+    }
+
+    private static final class RecordingSpan implements Span {
+        final String name;
+        final Span parent;
+        final TraceContext context;
+        final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        volatile Throwable error;
+        volatile boolean ended;
+
+        RecordingSpan(String name, Span parent, int id) {
+            this.name = name;
+            this.parent = parent;
+            this.context = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736",
+                    String.format("%016x", id), true, "vendor=1");
+        }
+
+        @Override
+        public TraceContext getContext() {
+            return context;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void recordError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void end() {
+            assertFalse(ended, "span ended twice");
+            ended = true;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package dev.rynko;
 
+import dev.rynko.models.CreateGateRequest;
+import dev.rynko.models.CreateWebhookRequest;
 import dev.rynko.models.GenerateRequest;
+import okhttp3.ConnectionPool;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -90,6 +93,28 @@ public class RynkoTest {
         assertEquals("ws_abc123", request.getWorkspaceId());
     }
 
+    @Test
+    void testWorkspaceScopedRequestsCopyWithWorkspaceId() {
+        CreateGateRequest gate = CreateGateRequest.builder().name("Orders").description("Order checks").build();
+        CreateWebhookRequest webhook = CreateWebhookRequest.builder()
+                .url("https://example.com/hook")
+                .event("document.generated")
+                .maxRetries(3)
+                .build();
+
+        CreateGateRequest gateCopy = gate.withWorkspaceId("ws_abc123");
+        CreateWebhookRequest webhookCopy = webhook.withWorkspaceId("ws_abc123");
+
+        assertNull(gate.getWorkspaceId());
+        assertEquals("ws_abc123", gateCopy.getWorkspaceId());
+        assertEquals("Orders", gateCopy.getName());
+        assertEquals("Order checks", gateCopy.getDescription());
+        assertNull(webhook.getWorkspaceId());
+        assertEquals("ws_abc123", webhookCopy.getWorkspaceId());
+        assertEquals(webhook.getEvents(), webhookCopy.getEvents());
+        assertEquals(Integer.valueOf(3), webhookCopy.getMaxRetries());
+    }
+
     @Test
     void testGenerateRequestRequiresTemplateId() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -196,4 +221,58 @@ public class RynkoTest {
         assertEquals("https://custom.com/v2", config.getBaseUrl());
         assertEquals(60000, config.getTimeoutMs());
     }
+
+    @Test
+    void testConfigBuilderConnectionDefaults() {
+        RynkoConfig config = RynkoConfig.builder()
+                .apiKey("test-key")
+                .build();
+
+        assertEquals(5, config.getMaxIdleConnections());
+        assertEquals(300000, config.getKeepAliveMs());
+        assertEquals(64, config.getMaxRequests());
+        assertEquals(64, config.getMaxRequestsPerHost());
+        assertNull(config.getOkHttpClient());
+        assertNull(config.getConnectionPool());
+    }
+
+    @Test
+    void testConfigBuilderConnectionTuning() {
+        RynkoConfig config = RynkoConfig.builder()
+                .apiKey("test-key")
+                .maxIdleConnections(50)
+                .keepAliveMs(60000)
+                .maxRequests(512)
+                .maxRequestsPerHost(256)
+                .build();
+
+        assertEquals(50, config.getMaxIdleConnections());
+        assertEquals(60000, config.getKeepAliveMs());
+        assertEquals(512, config.getMaxRequests());
+        assertEquals(256, config.getMaxRequestsPerHost());
+        assertNotNull(new Rynko(config));
+    }
+
+    @Test
+    void testConfigBuilderRejectsOkHttpSettingsWithVirtualThreads() {
+        assertThrows(IllegalArgumentException.class, () -> RynkoConfig.builder()
+                .apiKey("test-key")
+                .virtualThreads(true)
+                .connectionPool(new ConnectionPool())
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> RynkoConfig.builder()
+                .apiKey("test-key")
+                .virtualThreads(true)
+                .maxRequests(512)
+                .build());
+
+        // The caller's transport is used as is, so the settings do not conflict
+        assertTrue(RynkoConfig.builder()
+                .apiKey("test-key")
+                .virtualThreads(true)
+                .maxRequests(512)
+                .transport(request -> null)
+                .build()
+                .isVirtualThreads());
+    }
 }